@@ -0,0 +1,91 @@
+package com.example.three_kingdom_backend.auth;
+
+import com.example.three_kingdom_backend.config.security.AuthUser;
+import com.example.three_kingdom_backend.config.security.JwtService;
+import com.example.three_kingdom_backend.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Login throughput before and after reusing the authenticated principal. The user lookup parks
+ * for {@code lookupMicros} to stand in for a users-table round trip (0 approximates a warm user
+ * cache); BCrypt runs at cost 4 so the lookups are not drowned out by hashing. Refresh family
+ * persistence is left out as it is the same on both paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class LoginBenchmark {
+
+    private static final String SECRET = "your-256-bit-secret-key-must-be-at-least-32-characters-long-for-hs256-algorithm-please-change-in-production";
+    private static final String PASSWORD = "password123";
+
+    @Param({ "0", "500" })
+    public long lookupMicros;
+
+    private JwtService jwtService;
+    private UserDetailsService userDetailsService;
+    private AuthenticationManager authenticationManager;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("benchuser");
+        user.setPassword(encoder.encode(PASSWORD));
+
+        jwtService = new JwtService(SECRET, 86400000L, 604800000L);
+        userDetailsService = username -> {
+            if (lookupMicros > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(lookupMicros));
+            }
+            return new AuthUser(user, List.of());
+        };
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(encoder);
+        authenticationManager = new ProviderManager(provider);
+    }
+
+    @Benchmark
+    public void reloadUserAfterAuthenticate(Blackhole bh) {
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("benchuser", PASSWORD));
+        AuthUser user = (AuthUser) userDetailsService.loadUserByUsername("benchuser");
+        bh.consume(jwtService.generateToken(user));
+        bh.consume(jwtService.generateRefreshToken(user, UUID.randomUUID().toString(), UUID.randomUUID().toString()));
+    }
+
+    @Benchmark
+    public void reuseAuthenticatedPrincipal(Blackhole bh) {
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken("benchuser", PASSWORD));
+        AuthUser user = (AuthUser) authentication.getPrincipal();
+        Instant issuedAt = Instant.now();
+        bh.consume(jwtService.generateToken(user, issuedAt));
+        bh.consume(jwtService.generateRefreshToken(user, UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                issuedAt));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.three_kingdom_backend.auth.forgotpassword;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OTP request (hash) and verify throughput: the previous bcrypt encoder at its default cost
+ * against {@link HmacOtpHasher}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OtpHashingBenchmark {
+
+    private static final String CODE = "482913";
+
+    private BCryptPasswordEncoder bcrypt;
+    private HmacOtpHasher hmac;
+    private String bcryptHash;
+    private String hmacHash;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder();
+        hmac = new HmacOtpHasher("benchmark-otp-secret", bcrypt);
+        bcryptHash = bcrypt.encode(CODE);
+        hmacHash = hmac.hash(CODE);
+    }
+
+    @Benchmark
+    public String bcryptRequest() {
+        return bcrypt.encode(CODE);
+    }
+
+    @Benchmark
+    public boolean bcryptVerify() {
+        return bcrypt.matches(CODE, bcryptHash);
+    }
+
+    @Benchmark
+    public String hmacRequest() {
+        return hmac.hash(CODE);
+    }
+
+    @Benchmark
+    public boolean hmacVerify() {
+        return hmac.matches(CODE, hmacHash);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.three_kingdom_backend.config.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request token handling of the JWT filter before and after {@link VerifiedToken}.
+ * The legacy path rebuilds the key and parser for every claim lookup and parses the token four
+ * times (extractUsername, validateToken -> extractUsername + isTokenExpired, isRefreshToken).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "your-256-bit-secret-key-must-be-at-least-32-characters-long-for-hs256-algorithm-please-change-in-production";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 86400000L, 604800000L);
+        UserDetails userDetails = User.builder()
+                .username("benchuser")
+                .password("password")
+                .authorities(List.of())
+                .build();
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public void legacyRepeatedParse(Blackhole bh) {
+        String username = legacyClaims(token).getSubject();
+        bh.consume(legacyClaims(token).getSubject().equals(username));
+        bh.consume(legacyClaims(token).getExpiration().before(new Date()));
+        bh.consume("refresh".equals(legacyClaims(token).get("type")));
+    }
+
+    @Benchmark
+    public void verifiedTokenSingleParse(Blackhole bh) {
+        VerifiedToken verified = jwtService.verify(token);
+        bh.consume(verified.getSubject());
+        bh.consume(verified.isRefreshToken());
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.three_kingdom_backend.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game actions per second through per-room {@link Mailbox}es as the shared pool grows from one
+ * thread towards the core count. Each invocation submits {@link #ACTIONS_PER_ROOM} random-bot
+ * actions to each of {@link #ROOMS} games, interleaved across rooms the way concurrent requests
+ * arrive, and waits for all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GameActorBenchmark {
+
+    static final int ROOMS = 2_000;
+    static final int ACTIONS_PER_ROOM = 8;
+
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    private ExecutorService executor;
+    private Mailbox[] mailboxes;
+    private BotGame[] games;
+    private final CompletableFuture<?>[] pending = new CompletableFuture<?>[ROOMS * ACTIONS_PER_ROOM];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(threads);
+        mailboxes = new Mailbox[ROOMS];
+        games = new BotGame[ROOMS];
+        for (int room = 0; room < ROOMS; room++) {
+            mailboxes[room] = new Mailbox(executor, Integer.MAX_VALUE);
+            games[room] = new BotGame(room);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROOMS * ACTIONS_PER_ROOM)
+    public void roomsInParallel() {
+        int n = 0;
+        for (int action = 0; action < ACTIONS_PER_ROOM; action++) {
+            for (int room = 0; room < ROOMS; room++) {
+                pending[n++] = mailboxes[room].submit(games[room]::step);
+            }
+        }
+        CompletableFuture.allOf(pending).join();
+    }
+
+    /** A game driven by a random bot; only ever touched from its own mailbox. */
+    private static final class BotGame {
+        private final int[] moves = new int[Move.MAX_LEGAL];
+        private final SplitMix64 bot;
+        private long seed;
+        private GameState game;
+
+        BotGame(long seed) {
+            this.seed = seed;
+            this.bot = new SplitMix64(seed);
+            this.game = GameEngine.newGame(4, seed);
+        }
+
+        ActionResult step() {
+            if (game.phase() == Phase.FINISHED) {
+                game = GameEngine.newGame(4, seed += ROOMS);
+            }
+            int count = GameEngine.legalMoves(game, moves);
+            return GameEngine.apply(game, game.actingSeat(), moves[bot.nextInt(count)]);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.three_kingdom_backend.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actions per second applied to a game by random bots. {@code singleGame} drives one game on one
+ * thread; {@code perCore} runs one independent game per available core, so its score divided by
+ * the core count shows how well games scale side by side. Finished games are replaced by a new
+ * deal, which is included in the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GameEngineBenchmark {
+
+    @Param({ "4", "8" })
+    public int players;
+
+    private final int[] moves = new int[Move.MAX_LEGAL];
+    private SplitMix64 bot;
+    private GameState game;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        seed = Thread.currentThread().getId();
+        bot = new SplitMix64(seed);
+        game = GameEngine.newGame(players, seed);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ActionResult singleGame() {
+        return step();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ActionResult perCore() {
+        return step();
+    }
+
+    private ActionResult step() {
+        if (game.phase() == Phase.FINISHED) {
+            game = GameEngine.newGame(players, ++seed);
+        }
+        int count = GameEngine.legalMoves(game, moves);
+        return GameEngine.apply(game, game.actingSeat(), moves[bot.nextInt(count)]);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.three_kingdom_backend.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to rebuild an 8-player game that has logged {@code logLength} actions. {@code fromScratch}
+ * deals the game again and replays every action; {@code fromSnapshot} decodes the latest snapshot
+ * and replays the tail after it, in the worst case of {@code snapshotEvery - 1} actions, as
+ * {@link GameLog#load} does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameRecoveryBenchmark {
+
+    private static final int PLAYERS = 8;
+
+    @Param({ "100", "200", "400" })
+    public int logLength;
+
+    @Param({ "50" })
+    public int snapshotEvery;
+
+    private long seed;
+    private int[] seats;
+    private int[] log;
+    private int tailFrom;
+    private byte[] snapshot;
+
+    @Setup
+    public void setUp() {
+        int[] moves = new int[Move.MAX_LEGAL];
+        seats = new int[logLength];
+        log = new int[logLength];
+        tailFrom = logLength - (snapshotEvery - 1);
+        // Random bots until one game runs long enough to fill the log
+        for (seed = 1; ; seed++) {
+            GameState game = GameEngine.newGame(PLAYERS, seed);
+            SplitMix64 bot = new SplitMix64(seed);
+            int recorded = 0;
+            while (recorded < logLength && game.phase() != Phase.FINISHED) {
+                if (recorded == tailFrom) {
+                    snapshot = GameSnapshotCodec.encode(new long[PLAYERS], game);
+                }
+                int count = GameEngine.legalMoves(game, moves);
+                seats[recorded] = game.actingSeat();
+                log[recorded] = moves[bot.nextInt(count)];
+                GameEngine.apply(game, seats[recorded], log[recorded]);
+                recorded++;
+            }
+            if (recorded == logLength) {
+                return;
+            }
+        }
+    }
+
+    @Benchmark
+    public GameState fromScratch() {
+        GameState game = GameEngine.newGame(PLAYERS, seed);
+        return replay(game, 0);
+    }
+
+    @Benchmark
+    public GameState fromSnapshot() {
+        GameState game = GameSnapshotCodec.decode(snapshot).state();
+        return replay(game, tailFrom);
+    }
+
+    private GameState replay(GameState game, int from) {
+        for (int i = from; i < logLength; i++) {
+            GameEngine.apply(game, seats[i], log[i]);
+        }
+        return game;
+    }
+}
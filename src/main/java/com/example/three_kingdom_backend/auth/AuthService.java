@@ -1,31 +1,42 @@
 package com.example.three_kingdom_backend.auth;
 
+import com.example.three_kingdom_backend.auth.refreshtoken.RefreshTokenService;
+import com.example.three_kingdom_backend.config.security.AuthUser;
 import com.example.three_kingdom_backend.config.security.JwtService;
+import com.example.three_kingdom_backend.config.security.PasswordHashingBusyException;
 import com.example.three_kingdom_backend.config.security.CustomUserDetailsService;
+import com.example.three_kingdom_backend.config.security.VerifiedToken;
 import com.example.three_kingdom_backend.user.User;
 import com.example.three_kingdom_backend.user.UserService;
 import com.example.three_kingdom_backend.util.response.StandardResponse;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+
 @Service
 public class AuthService {
     private final UserService userService;
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
 
     public AuthService(
             UserService userService,
             JwtService jwtService,
             CustomUserDetailsService userDetailsService,
-            AuthenticationManager authenticationManager) {
+            AuthenticationManager authenticationManager,
+            RefreshTokenService refreshTokenService) {
         this.userService = userService;
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
         this.authenticationManager = authenticationManager;
+        this.refreshTokenService = refreshTokenService;
     }
 
     public StandardResponse<String> register(RegisterRequest request) {
@@ -38,20 +49,24 @@ public class AuthService {
 
     public StandardResponse<AuthResponse> login(LoginRequest loginRequest) {
         try {
-            authenticationManager.authenticate(
+            Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             loginRequest.getUsername(),
                             loginRequest.getPassword()));
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.getUsername());
+            // The provider already loaded the user to check the password; reuse that principal
+            AuthUser user = (AuthUser) authentication.getPrincipal();
 
-            String accessToken = jwtService.generateToken(userDetails);
-            String refreshToken = jwtService.generateRefreshToken(userDetails);
+            Instant issuedAt = Instant.now();
+            String accessToken = jwtService.generateToken(user, issuedAt);
+            String refreshToken = refreshTokenService.issue(user, issuedAt);
 
             AuthResponse authResponse = new AuthResponse(accessToken, refreshToken, "Bearer");
             return StandardResponse.create("200", authResponse);
         } catch (org.springframework.security.core.AuthenticationException e) {
             return StandardResponse.createMessage("401", "Invalid username or password");
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             return StandardResponse.createMessage("500", "Login failed: " + e.getMessage());
         }
@@ -61,28 +76,37 @@ public class AuthService {
         try {
             String refreshTokenString = request.getRefreshToken();
 
-            if (!jwtService.isRefreshToken(refreshTokenString)) {
+            VerifiedToken token;
+            try {
+                token = jwtService.verify(refreshTokenString);
+            } catch (ExpiredJwtException e) {
+                return StandardResponse.createMessage("401", "Refresh token has expired");
+            } catch (JwtException | IllegalArgumentException e) {
+                return StandardResponse.createMessage("401", "Invalid or expired refresh token");
+            }
+
+            if (!token.isRefreshToken()) {
                 return StandardResponse.createMessage("401", "Invalid refresh token");
             }
 
-            String username = jwtService.extractUsername(refreshTokenString);
+            AuthUser user = (AuthUser) userDetailsService.loadUserByUsername(token.getSubject());
 
-            try {
-                if (jwtService.isTokenExpired(refreshTokenString)) {
-                    return StandardResponse.createMessage("401", "Refresh token has expired");
-                }
-            } catch (Exception e) {
-                return StandardResponse.createMessage("401", "Invalid or expired refresh token");
+            Integer credentialVersion = token.getCredentialVersion();
+            if (credentialVersion != null && user.getCredentialVersion() != credentialVersion) {
+                return StandardResponse.createMessage("401", "Refresh token is no longer valid");
             }
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-            if (!jwtService.validateToken(refreshTokenString, userDetails)) {
-                return StandardResponse.createMessage("401", "Invalid refresh token");
+            Instant issuedAt = Instant.now();
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token, user, issuedAt);
+            if (rotation.outcome() == RefreshTokenService.Outcome.REUSED) {
+                return StandardResponse.createMessage("401", "Refresh token reuse detected, please log in again");
+            }
+            if (rotation.outcome() != RefreshTokenService.Outcome.ROTATED) {
+                return StandardResponse.createMessage("401", "Refresh token is no longer valid");
             }
 
-            String newAccessToken = jwtService.generateToken(userDetails);
-            String newRefreshToken = jwtService.generateRefreshToken(userDetails);
+            String newAccessToken = jwtService.generateToken(user, issuedAt);
+            String newRefreshToken = rotation.refreshToken();
 
             AuthResponse authResponse = new AuthResponse(newAccessToken, newRefreshToken, "Bearer");
             return StandardResponse.create("200", authResponse);
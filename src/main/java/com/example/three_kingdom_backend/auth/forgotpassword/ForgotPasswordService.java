@@ -1,8 +1,9 @@
 package com.example.three_kingdom_backend.auth.forgotpassword;
 
 import com.example.three_kingdom_backend.mail.MailService;
+import com.example.three_kingdom_backend.user.UserChangedEvent;
 import com.example.three_kingdom_backend.user.UserRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +18,9 @@ public class ForgotPasswordService {
     private final UserRepository userRepository;
     private final PasswordResetOTPRepository passwordResetOTPRepository;
     private final MailService mailService;
-    private final PasswordEncoder encoder = new BCryptPasswordEncoder();
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordEncoder encoder;
+    private final OtpHasher otpHasher;
     private final SecureRandom random = new SecureRandom();
 
     private String generateOtp6() {
@@ -39,7 +42,7 @@ public class ForgotPasswordService {
                 .orElseThrow(() -> new IllegalArgumentException("Email does not exist"));
 
         var otp = generateOtp6();
-        var codeHash = encoder.encode(otp);
+        var codeHash = otpHasher.hash(otp);
 
         var entity = new PasswordResetOTP();
         entity.setUser(user);
@@ -65,7 +68,7 @@ public class ForgotPasswordService {
         if (otp.getAttempts() >= otp.getMaxAttempts())
             throw new IllegalStateException("You have exceeded the maximum attempts, please request a new code");
 
-        boolean ok = encoder.matches(codeInput, otp.getCodeHash());
+        boolean ok = otpHasher.matches(codeInput, otp.getCodeHash());
         otp.setAttempts(otp.getAttempts() + 1);
 
         if (!ok) {
@@ -78,7 +81,9 @@ public class ForgotPasswordService {
 
         var tempPwd = generateTempPassword(14);
         user.setPassword(encoder.encode(tempPwd));
+        user.setCredentialVersion(user.getCredentialVersion() + 1);
         userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(user));
 
         mailService.send(user.getEmail(),
                 "Temporary Password",
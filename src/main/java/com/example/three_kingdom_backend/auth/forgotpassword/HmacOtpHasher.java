@@ -0,0 +1,86 @@
+package com.example.three_kingdom_backend.auth.forgotpassword;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * HMAC-SHA256 over a per-code random salt and the code, keyed with {@code security.otp.secret}.
+ * Stored as {@code hmac$<salt>$<mac>}. Without the key the 10^6 possible codes cannot be brute
+ * forced from a leaked row. Hashes in the old bcrypt format are still verified through the
+ * password encoder until those codes expire.
+ */
+@Component
+public class HmacOtpHasher implements OtpHasher {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String PREFIX = "hmac$";
+    private static final int SALT_BYTES = 16;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final PasswordEncoder legacyEncoder;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Mac> macs;
+
+    public HmacOtpHasher(@Value("${security.otp.secret}") String secret, PasswordEncoder legacyEncoder) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.legacyEncoder = legacyEncoder;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    @Override
+    public String hash(String code) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        return PREFIX + ENCODER.encodeToString(salt) + "$" + ENCODER.encodeToString(mac(salt, code));
+    }
+
+    @Override
+    public boolean matches(String code, String storedHash) {
+        if (code == null || storedHash == null) {
+            return false;
+        }
+        if (!storedHash.startsWith(PREFIX)) {
+            // Rows written before the switch from bcrypt
+            return legacyEncoder.matches(code, storedHash);
+        }
+        int separator = storedHash.indexOf('$', PREFIX.length());
+        if (separator < 0) {
+            return false;
+        }
+        try {
+            byte[] salt = DECODER.decode(storedHash.substring(PREFIX.length(), separator));
+            byte[] expected = DECODER.decode(storedHash.substring(separator + 1));
+            return MessageDigest.isEqual(expected, mac(salt, code));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private byte[] mac(byte[] salt, String code) {
+        Mac mac = macs.get();
+        mac.update(salt);
+        return mac.doFinal(code.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.three_kingdom_backend.auth.forgotpassword;
+
+/**
+ * Hashes one-time codes for storage. OTPs are short-lived and attempt-limited, so they do not
+ * need a deliberately slow password hash.
+ */
+public interface OtpHasher {
+
+    String hash(String code);
+
+    /** Compares in constant time with respect to the stored hash. */
+    boolean matches(String code, String storedHash);
+}
@@ -0,0 +1,39 @@
+package com.example.three_kingdom_backend.auth.forgotpassword;
+
+import com.example.three_kingdom_backend.maintenance.RetentionJob;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/** Removes used OTPs and OTPs that expired more than {@code maintenance.otp.retention} ms ago. */
+@Component
+public class PasswordResetOTPRetentionJob implements RetentionJob {
+
+    private final long retentionMillis;
+
+    public PasswordResetOTPRetentionJob(@Value("${maintenance.otp.retention}") long retentionMillis) {
+        this.retentionMillis = retentionMillis;
+    }
+
+    @Override
+    public String name() {
+        return "password_reset_otp";
+    }
+
+    @Override
+    public String table() {
+        return "password_reset_otp";
+    }
+
+    @Override
+    public String predicate() {
+        return "used = TRUE OR expires_at < ?";
+    }
+
+    @Override
+    public Object[] predicateArgs(Instant now) {
+        return new Object[] { Timestamp.from(now.minusMillis(retentionMillis)) };
+    }
+}
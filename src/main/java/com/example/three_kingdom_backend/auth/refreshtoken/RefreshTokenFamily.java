@@ -0,0 +1,36 @@
+package com.example.three_kingdom_backend.auth.refreshtoken;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "refresh_token_families")
+@Data
+public class RefreshTokenFamily {
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "current_jti", nullable = false, length = 36)
+    private String currentJti;
+
+    @Column(name = "revoked", nullable = false)
+    private boolean revoked;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "rotation", nullable = false)
+    private long rotation;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
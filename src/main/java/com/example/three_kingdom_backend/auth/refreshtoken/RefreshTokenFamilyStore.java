@@ -0,0 +1,180 @@
+package com.example.three_kingdom_backend.auth.refreshtoken;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of refresh token families with write-behind persistence. Lookups and rotations
+ * only touch the index; changed families are upserted in one JDBC batch every
+ * {@code jwt.refresh-families.flush-interval}. Families missing from the index (after a restart,
+ * or rotated on another node) are loaded from refresh_token_families on demand. A flush never moves
+ * a family backwards: revocation is sticky and the token only changes to one of a later rotation,
+ * so a node holding a stale copy cannot undo what another node wrote.
+ */
+@Component
+public class RefreshTokenFamilyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenFamilyStore.class);
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO refresh_token_families AS f
+                (id, user_id, current_jti, revoked, expires_at, rotation, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO UPDATE SET
+                current_jti = CASE WHEN EXCLUDED.rotation > f.rotation THEN EXCLUDED.current_jti ELSE f.current_jti END,
+                expires_at = CASE WHEN EXCLUDED.rotation > f.rotation THEN EXCLUDED.expires_at ELSE f.expires_at END,
+                rotation = GREATEST(f.rotation, EXCLUDED.rotation),
+                revoked = f.revoked OR EXCLUDED.revoked,
+                updated_at = EXCLUDED.updated_at
+            WHERE EXCLUDED.rotation > f.rotation OR (EXCLUDED.revoked AND NOT f.revoked)
+            """;
+
+    private final RefreshTokenFamilyRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<String, Family> families = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    public RefreshTokenFamilyStore(RefreshTokenFamilyRepository repository, JdbcTemplate jdbcTemplate) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void create(String familyId, Long userId, String jti, Instant expiresAt) {
+        families.put(familyId, new Family(userId, jti, false, expiresAt, 0));
+        dirty.add(familyId);
+    }
+
+    /** Returns the cached family, loading it from the database on a miss; null if unknown. */
+    public Family find(String familyId) {
+        Family family = families.get(familyId);
+        return family != null ? family : reload(familyId);
+    }
+
+    /** Refreshes the cached copy from the persisted row, e.g. when the cached one may be stale. */
+    public Family reload(String familyId) {
+        RefreshTokenFamily row = repository.findById(familyId).orElse(null);
+        if (row == null) {
+            return families.get(familyId);
+        }
+        Family loaded = new Family(row.getUserId(), row.getCurrentJti(), row.isRevoked(), row.getExpiresAt(),
+                row.getRotation());
+        Family existing = families.putIfAbsent(familyId, loaded);
+        if (existing == null) {
+            return loaded;
+        }
+        // A locally modified copy that has not been flushed yet is newer than the row
+        if (!dirty.contains(familyId)) {
+            synchronized (existing) {
+                existing.copyFrom(loaded);
+            }
+        }
+        return existing;
+    }
+
+    public void markDirty(String familyId) {
+        dirty.add(familyId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-families.flush-interval}")
+    @PreDestroy
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<String> ids = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        Iterator<String> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            String id = iterator.next();
+            iterator.remove();
+            Family family = families.get(id);
+            if (family == null) {
+                continue;
+            }
+            synchronized (family) {
+                batch.add(new Object[] { id, family.userId, family.currentJti, family.revoked,
+                        Timestamp.from(family.expiresAt), family.rotation, Timestamp.from(now) });
+            }
+            ids.add(id);
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        } catch (RuntimeException e) {
+            dirty.addAll(ids);
+            logger.error("Refresh token families - flush of {} families failed, will retry", ids.size(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-families.purge-interval}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        families.entrySet().removeIf(entry -> entry.getValue().isExpired(now) && !dirty.contains(entry.getKey()));
+        int removed = repository.deleteExpired(now);
+        logger.debug("Refresh token families - purged {} expired families", removed);
+    }
+
+    /** Mutable family state; callers synchronize on the instance while reading or changing it. */
+    public static final class Family {
+        private final Long userId;
+        private String currentJti;
+        private boolean revoked;
+        private Instant expiresAt;
+        // Rotations since the family was created; only ever grows
+        private long rotation;
+
+        Family(Long userId, String currentJti, boolean revoked, Instant expiresAt, long rotation) {
+            this.userId = userId;
+            this.currentJti = currentJti;
+            this.revoked = revoked;
+            this.expiresAt = expiresAt;
+            this.rotation = rotation;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getCurrentJti() {
+            return currentJti;
+        }
+
+        public boolean isRevoked() {
+            return revoked;
+        }
+
+        public boolean isExpired(Instant now) {
+            return !expiresAt.isAfter(now);
+        }
+
+        void rotate(String nextJti, Instant nextExpiresAt) {
+            this.currentJti = nextJti;
+            this.expiresAt = nextExpiresAt;
+            this.rotation++;
+        }
+
+        void revoke() {
+            this.revoked = true;
+        }
+
+        private void copyFrom(Family other) {
+            this.currentJti = other.currentJti;
+            this.revoked = other.revoked;
+            this.expiresAt = other.expiresAt;
+            this.rotation = other.rotation;
+        }
+    }
+}
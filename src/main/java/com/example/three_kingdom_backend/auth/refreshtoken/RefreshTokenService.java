@@ -0,0 +1,106 @@
+package com.example.three_kingdom_backend.auth.refreshtoken;
+
+import com.example.three_kingdom_backend.config.security.AuthUser;
+import com.example.three_kingdom_backend.config.security.JwtService;
+import com.example.three_kingdom_backend.config.security.VerifiedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens. Every login starts a family; each refresh replaces the
+ * family's current token id. Presenting a token that has already been rotated means it was
+ * copied, so the whole family is revoked and its holder has to log in again.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    public enum Outcome {
+        ROTATED,
+        REUSED,
+        REJECTED
+    }
+
+    public record Rotation(Outcome outcome, String refreshToken) {
+    }
+
+    private final JwtService jwtService;
+    private final RefreshTokenFamilyStore store;
+
+    public RefreshTokenService(JwtService jwtService, RefreshTokenFamilyStore store) {
+        this.jwtService = jwtService;
+        this.store = store;
+    }
+
+    public String issue(AuthUser user) {
+        return issue(user, Instant.now());
+    }
+
+    /** Starts a family whose first token is issued at {@code issuedAt}, e.g. with its access token. */
+    public String issue(AuthUser user, Instant issuedAt) {
+        String familyId = UUID.randomUUID().toString();
+        String jti = UUID.randomUUID().toString();
+        store.create(familyId, user.getId(), jti, issuedAt.plusMillis(jwtService.getRefreshExpiration()));
+        return jwtService.generateRefreshToken(user, familyId, jti, issuedAt);
+    }
+
+    public Rotation rotate(VerifiedToken token, AuthUser user) {
+        return rotate(token, user, Instant.now());
+    }
+
+    public Rotation rotate(VerifiedToken token, AuthUser user, Instant issuedAt) {
+        String familyId = token.getFamilyId();
+        String jti = token.getId();
+        if (familyId == null || jti == null) {
+            return new Rotation(Outcome.REJECTED, null);
+        }
+
+        RefreshTokenFamilyStore.Family family = store.find(familyId);
+        if (family == null || !family.getUserId().equals(user.getId())) {
+            return new Rotation(Outcome.REJECTED, null);
+        }
+
+        String nextJti = UUID.randomUUID().toString();
+        Instant nextExpiresAt = issuedAt.plusMillis(jwtService.getRefreshExpiration());
+        Outcome outcome = tryRotate(familyId, family, jti, nextJti, nextExpiresAt);
+        if (outcome == Outcome.REUSED) {
+            // The cached copy may lag behind a rotation persisted by another node
+            family = store.reload(familyId);
+            outcome = family != null ? tryRotate(familyId, family, jti, nextJti, nextExpiresAt)
+                    : Outcome.REJECTED;
+        }
+        if (outcome == Outcome.REUSED) {
+            synchronized (family) {
+                family.revoke();
+            }
+            store.markDirty(familyId);
+            logger.warn("Refresh token reuse detected for user {}, family {} revoked", user.getId(), familyId);
+            return new Rotation(Outcome.REUSED, null);
+        }
+        if (outcome == Outcome.REJECTED) {
+            return new Rotation(Outcome.REJECTED, null);
+        }
+        return new Rotation(Outcome.ROTATED, jwtService.generateRefreshToken(user, familyId, nextJti, issuedAt));
+    }
+
+    private Outcome tryRotate(String familyId, RefreshTokenFamilyStore.Family family, String jti, String nextJti,
+            Instant nextExpiresAt) {
+        Instant now = Instant.now();
+        synchronized (family) {
+            if (family.isRevoked() || family.isExpired(now)) {
+                return Outcome.REJECTED;
+            }
+            if (!jti.equals(family.getCurrentJti())) {
+                return Outcome.REUSED;
+            }
+            family.rotate(nextJti, nextExpiresAt);
+        }
+        store.markDirty(familyId);
+        return Outcome.ROTATED;
+    }
+}
@@ -2,6 +2,12 @@ package com.example.three_kingdom_backend.config;
 
 import com.example.three_kingdom_backend.config.security.JwtAuthenticationFilter;
 import com.example.three_kingdom_backend.config.security.LogoutService;
+import com.example.three_kingdom_backend.config.security.AuthRateLimitFilter;
+import com.example.three_kingdom_backend.config.security.BCryptCostCalibrator;
+import com.example.three_kingdom_backend.config.security.BoundedPasswordEncoder;
+import com.example.three_kingdom_backend.config.security.CostAwareBCryptPasswordEncoder;
+import com.example.three_kingdom_backend.config.security.PasswordHashingExecutor;
+import com.example.three_kingdom_backend.config.security.PublicRoutes;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,13 +20,14 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
 import org.springframework.security.web.AuthenticationEntryPoint;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.core.AuthenticationException;
@@ -32,12 +39,18 @@ import java.io.IOException;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
     private final LogoutHandler logoutHandler;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final BCryptCostCalibrator bcryptCostCalibrator;
+    private final PublicRoutes publicRoutes;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(
+                new CostAwareBCryptPasswordEncoder(bcryptCostCalibrator.getCost()), passwordHashingExecutor);
     }
 
     @Bean
@@ -45,6 +58,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes the stored password on a successful login when its cost differs from ours
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -60,12 +75,12 @@ public class SecurityConfig {
                 .sessionManagement(
                         (sessionManagement) -> sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests((authorizeHttpRequests) -> authorizeHttpRequests
-                        .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/refresh",
-                                "/api/auth/logout", "/api/auth/forgot-password/**")
-                        .permitAll()
-                        .requestMatchers("/api/hello").permitAll()
+                        .requestMatchers(publicRoutes).permitAll()
+                        // Lobby stream writes are async dispatches of a request already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated())
                 .authenticationProvider(authenticationProvider())
+                .addFilterBefore(authRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling((exceptionHandling) -> exceptionHandling
                         .authenticationEntryPoint(new AuthenticationEntryPoint() {
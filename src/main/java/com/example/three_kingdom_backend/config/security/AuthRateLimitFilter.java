@@ -0,0 +1,243 @@
+package com.example.three_kingdom_backend.config.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Throttles the unauthenticated auth endpoints (login, register, forgot-password) per client IP
+ * and per submitted username or email, before the request reaches the AuthenticationManager or
+ * MailService. Rejected requests get 429 with Retry-After.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+    private static final String REGISTER_PATH = "/api/auth/register";
+    private static final String FORGOT_PASSWORD_PATH = "/api/auth/forgot-password/";
+
+    // Credentials bodies are tiny; anything larger is not inspected for a username
+    private static final int MAX_INSPECTED_BODY = 4096;
+
+    private final SlidingWindowRateLimiter ipLimiter;
+    private final SlidingWindowRateLimiter accountLimiter;
+    private final ObjectMapper objectMapper;
+    private final Counter ipRejections;
+    private final Counter accountRejections;
+
+    public AuthRateLimitFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${security.rate-limit.window}") long windowMillis,
+            @Value("${security.rate-limit.ip-limit}") int ipLimit,
+            @Value("${security.rate-limit.account-limit}") int accountLimit,
+            @Value("${security.rate-limit.max-keys}") int maxKeys) {
+        this.objectMapper = objectMapper;
+        this.ipLimiter = new SlidingWindowRateLimiter(ipLimit, windowMillis, maxKeys);
+        this.accountLimiter = new SlidingWindowRateLimiter(accountLimit, windowMillis, maxKeys);
+        this.ipRejections = Counter.builder("auth.rate_limit.rejected").tag("key", "ip").register(meterRegistry);
+        this.accountRejections = Counter.builder("auth.rate_limit.rejected").tag("key", "account")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !path.equals(LOGIN_PATH) && !path.equals(REGISTER_PATH) && !path.startsWith(FORGOT_PASSWORD_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+
+        long retryAfter = ipLimiter.tryAcquire(request.getRemoteAddr(), now);
+        if (retryAfter > 0) {
+            ipRejections.increment();
+            reject(response, retryAfter);
+            return;
+        }
+
+        byte[] head = request.getInputStream().readNBytes(MAX_INSPECTED_BODY + 1);
+        HttpServletRequest replay = new ReplayingRequest(request, head);
+        String account = head.length <= MAX_INSPECTED_BODY ? accountKey(request.getRequestURI(), head) : null;
+        if (account != null) {
+            retryAfter = accountLimiter.tryAcquire(account, now);
+            if (retryAfter > 0) {
+                accountRejections.increment();
+                reject(response, retryAfter);
+                return;
+            }
+        }
+
+        filterChain.doFilter(replay, response);
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.window}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        ipLimiter.evictExpired(now);
+        accountLimiter.evictExpired(now);
+    }
+
+    // Login and register are keyed by username, the OTP endpoints by email; each endpoint group
+    // gets its own budget
+    private String accountKey(String path, byte[] body) {
+        String field = path.startsWith(FORGOT_PASSWORD_PATH) ? "email" : "username";
+        String group = path.startsWith(FORGOT_PASSWORD_PATH) ? "otp" : path.substring(path.lastIndexOf('/') + 1);
+        try {
+            JsonNode value = objectMapper.readTree(body).get(field);
+            if (value == null || !value.isTextual() || value.asText().isBlank()) {
+                return null;
+            }
+            return group + ":" + value.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException | RuntimeException e) {
+            // Malformed bodies are rejected by the controller; only the IP limit applies
+            return null;
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterMillis) throws IOException {
+        long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"code\":\"429\",\"message\":\"Too many requests, please retry later\"}");
+    }
+
+    /** Serves the bytes already consumed for inspection, then the rest of the original body. */
+    private static final class ReplayingRequest extends HttpServletRequestWrapper {
+        private final byte[] head;
+        private ServletInputStream stream;
+
+        ReplayingRequest(HttpServletRequest request, byte[] head) {
+            super(request);
+            this.head = head;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                // A head shorter than the inspection limit means the original body was read to the end
+                stream = new ReplayStream(head, head.length <= MAX_INSPECTED_BODY ? null : super.getInputStream());
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Replays the inspected head, then reads on from the container's stream. Non-blocking readers
+     * get the head straight away; callbacks for the rest are forwarded from the container.
+     */
+    private static final class ReplayStream extends ServletInputStream {
+        private final byte[] head;
+        // Null when the head is the whole body
+        private final ServletInputStream rest;
+        private int position;
+
+        ReplayStream(byte[] head, ServletInputStream rest) {
+            this.head = head;
+            this.rest = rest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position < head.length) {
+                return head[position++] & 0xff;
+            }
+            return rest != null ? rest.read() : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position < head.length) {
+                int n = Math.min(length, head.length - position);
+                System.arraycopy(head, position, buffer, offset, n);
+                position += n;
+                return n;
+            }
+            return rest != null ? rest.read(buffer, offset, length) : -1;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return position >= head.length && (rest == null || rest.isFinished());
+        }
+
+        @Override
+        public boolean isReady() {
+            return position < head.length || rest == null || rest.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            if (rest == null) {
+                try {
+                    if (position < head.length) {
+                        readListener.onDataAvailable();
+                    }
+                    readListener.onAllDataRead();
+                } catch (IOException | RuntimeException e) {
+                    readListener.onError(e);
+                }
+                return;
+            }
+            rest.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    readListener.onDataAvailable();
+                }
+
+                @Override
+                public void onAllDataRead() throws IOException {
+                    // The container may report the end without new data while the head is still unread
+                    if (position < head.length) {
+                        readListener.onDataAvailable();
+                    }
+                    readListener.onAllDataRead();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    readListener.onError(t);
+                }
+            });
+        }
+    }
+}
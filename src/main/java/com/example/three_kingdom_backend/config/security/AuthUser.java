@@ -11,6 +11,7 @@ public class AuthUser implements UserDetails {
     private final String password;
     private final Collection<? extends GrantedAuthority> authorities;
     private final boolean enabled;
+    private final int credentialVersion;
 
     public AuthUser(User user, Collection<? extends GrantedAuthority> authorities) {
         this.id = user.getId();
@@ -18,12 +19,38 @@ public class AuthUser implements UserDetails {
         this.password = user.getPassword();
         this.authorities = authorities;
         this.enabled = true; // Default to enabled, can be extended later if needed
+        this.credentialVersion = user.getCredentialVersion();
+    }
+
+    // Rebuilt from verified access token claims, so there is no password hash to carry
+    public AuthUser(Long id, String username, int credentialVersion,
+            Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.username = username;
+        this.password = null;
+        this.authorities = authorities;
+        this.enabled = true;
+        this.credentialVersion = credentialVersion;
+    }
+
+    // Same user with a rehashed password
+    public AuthUser(AuthUser user, String password) {
+        this.id = user.id;
+        this.username = user.username;
+        this.password = password;
+        this.authorities = user.authorities;
+        this.enabled = user.enabled;
+        this.credentialVersion = user.credentialVersion;
     }
 
     public Long getId() {
         return id;
     }
 
+    public int getCredentialVersion() {
+        return credentialVersion;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
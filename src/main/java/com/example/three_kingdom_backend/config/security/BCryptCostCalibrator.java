@@ -0,0 +1,73 @@
+package com.example.three_kingdom_backend.config.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Picks the BCrypt work factor once at startup: the highest cost whose hash time on this host
+ * stays within {@code security.bcrypt.target-hash-time} ms, clamped to [min-cost, max-cost].
+ * Setting {@code security.bcrypt.cost} skips calibration, which keeps every node of a mixed
+ * cluster on the same cost instead of rehashing passwords back and forth.
+ */
+@Component
+public class BCryptCostCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+    private static final int SAMPLES = 3;
+
+    private final int cost;
+
+    public BCryptCostCalibrator(
+            @Value("${security.bcrypt.cost}") int fixedCost,
+            @Value("${security.bcrypt.target-hash-time}") long targetMillis,
+            @Value("${security.bcrypt.min-cost}") int minCost,
+            @Value("${security.bcrypt.max-cost}") int maxCost) {
+        if (fixedCost > 0) {
+            this.cost = fixedCost;
+            logger.info("BCrypt - using configured cost {}", cost);
+        } else {
+            this.cost = calibrate(TimeUnit.MILLISECONDS.toNanos(targetMillis), minCost, maxCost,
+                    BCryptCostCalibrator::timeHash);
+            logger.info("BCrypt - calibrated cost {} for a target of {} ms", cost, targetMillis);
+        }
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Each cost step doubles the work, so one measurement at the minimum cost predicts the rest;
+     * the prediction is then checked at the chosen cost and stepped down while it is too slow.
+     */
+    static int calibrate(long targetNanos, int minCost, int maxCost, IntToLongFunction hashNanos) {
+        long baseline = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            baseline = Math.min(baseline, hashNanos.applyAsLong(minCost));
+        }
+        int cost = minCost;
+        long predicted = baseline;
+        while (cost < maxCost && predicted * 2 <= targetNanos) {
+            cost++;
+            predicted *= 2;
+        }
+        while (cost > minCost && hashNanos.applyAsLong(cost) > targetNanos) {
+            cost--;
+        }
+        return cost;
+    }
+
+    private static long timeHash(int cost) {
+        String salt = BCrypt.gensalt(cost);
+        long start = System.nanoTime();
+        BCrypt.hashpw("calibration-password", salt);
+        return System.nanoTime() - start;
+    }
+}
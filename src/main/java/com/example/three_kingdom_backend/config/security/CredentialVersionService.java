@@ -0,0 +1,67 @@
+package com.example.three_kingdom_backend.config.security;
+
+import com.example.three_kingdom_backend.user.UserChangedEvent;
+import com.example.three_kingdom_backend.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the current credential version per user id so the JWT filter can reject access tokens
+ * minted before a password change without reading the users table. Versions only ever grow, so
+ * concurrent loads and updates are merged with {@code max}. Changes made on this node apply at
+ * once; entries expire after {@code auth.credential-versions.ttl} ms, which bounds how long another
+ * node keeps accepting tokens from before a password change there.
+ */
+@Service
+public class CredentialVersionService {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> versions;
+
+    @Autowired
+    public CredentialVersionService(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${auth.credential-versions.max-size}") long maxSize,
+            @Value("${auth.credential-versions.ttl}") long ttlMillis) {
+        this(userRepository, maxSize, ttlMillis, Ticker.systemTicker());
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "auth.credential_versions");
+    }
+
+    CredentialVersionService(UserRepository userRepository, long maxSize, long ttlMillis, Ticker ticker) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public boolean isCurrent(Long userId, int credentialVersion) {
+        Integer current = versions.getIfPresent(userId);
+        if (current == null) {
+            Integer loaded = userRepository.findCredentialVersionById(userId).orElse(null);
+            if (loaded == null) {
+                return false;
+            }
+            current = versions.asMap().merge(userId, loaded, Math::max);
+        }
+        return current == credentialVersion;
+    }
+
+    // Runs after commit so a rolled-back password reset never advances the cached version
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        versions.asMap().merge(event.userId(), event.credentialVersion(), Math::max);
+    }
+}
@@ -1,28 +1,112 @@
 package com.example.three_kingdom_backend.config.security;
 
 import com.example.three_kingdom_backend.user.User;
+import com.example.three_kingdom_backend.user.UserChangedEvent;
 import com.example.three_kingdom_backend.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    // Empty values are negative entries for unknown usernames and expire on a shorter TTL
+    private final Cache<String, Optional<AuthUser>> cache;
+
+    public CustomUserDetailsService(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${auth.user-cache.max-size}") long maxSize,
+            @Value("${auth.user-cache.ttl}") long ttlMillis,
+            @Value("${auth.user-cache.negative-ttl}") long negativeTtlMillis) {
         this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new PresenceAwareExpiry(ttlMillis, negativeTtlMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.users");
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        return cache.get(username, this::findAuthUser)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    /**
+     * Stores a rehash of the password the user just logged in with. Skipped if the stored hash
+     * changed since it was loaded, e.g. by a concurrent password reset.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (!(user instanceof AuthUser authUser)) {
+            return user;
+        }
+        int updated = userRepository.updatePasswordIfUnchanged(authUser.getId(), authUser.getPassword(), newPassword);
+        evict(authUser.getUsername());
+        if (updated == 0) {
+            return user;
+        }
+        return new AuthUser(authUser, newPassword);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.username());
+    }
 
+    private Optional<AuthUser> findAuthUser(String username) {
+        return userRepository.findByUsername(username).map(this::toAuthUser);
+    }
+
+    private AuthUser toAuthUser(User user) {
         return new AuthUser(user, List.of());
     }
+
+    private static final class PresenceAwareExpiry implements Expiry<String, Optional<AuthUser>> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        PresenceAwareExpiry(long ttlMillis, long negativeTtlMillis) {
+            this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+            this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis);
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Optional<AuthUser> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<AuthUser> value, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<AuthUser> value, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
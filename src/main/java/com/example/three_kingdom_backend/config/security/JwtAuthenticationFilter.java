@@ -1,30 +1,100 @@
 package com.example.three_kingdom_backend.config.security;
 
-import com.example.three_kingdom_backend.config.security.JwtService;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticates requests carrying a Bearer access token. Every request is counted under
+ * {@code auth.jwt.requests} by outcome, with token parse and user load times as timers; failures
+ * are additionally logged, at most {@code security.jwt-filter.max-logs-per-second} lines per
+ * outcome per second.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    enum Outcome {
+        AUTHENTICATED,
+        ALREADY_AUTHENTICATED,
+        NO_TOKEN,
+        MALFORMED,
+        EXPIRED,
+        REFRESH_TOKEN,
+        REVOKED,
+        STALE_CREDENTIALS,
+        UNKNOWN_USER,
+        ERROR;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
-
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    private final CredentialVersionService credentialVersionService;
+    private final TokenRevocationService tokenRevocationService;
+    private final PublicRoutes publicRoutes;
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
+
+    private final Counter[] outcomeCounters = new Counter[Outcome.values().length];
+    private final LogRateLimiter[] logLimiters = new LogRateLimiter[Outcome.values().length];
+    private final Timer parseTimer;
+    private final Timer userLoadTimer;
+
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+            CredentialVersionService credentialVersionService, TokenRevocationService tokenRevocationService,
+            PublicRoutes publicRoutes, MeterRegistry meterRegistry,
+            @Value("${security.jwt-filter.max-logs-per-second}") int maxLogsPerSecond) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.credentialVersionService = credentialVersionService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.publicRoutes = publicRoutes;
+        for (Outcome outcome : Outcome.values()) {
+            outcomeCounters[outcome.ordinal()] = Counter.builder("auth.jwt.requests")
+                    .description("Requests seen by the JWT filter, by outcome")
+                    .tag("outcome", outcome.tag)
+                    .register(meterRegistry);
+            logLimiters[outcome.ordinal()] = new LogRateLimiter(maxLogsPerSecond);
+        }
+        this.parseTimer = Timer.builder("auth.jwt.parse")
+                .description("Time spent verifying and parsing the access token")
+                .register(meterRegistry);
+        this.userLoadTimer = Timer.builder("auth.jwt.user_load")
+                .description("Time spent loading the user for tokens without embedded principal claims")
+                .register(meterRegistry);
+    }
+
+    // Public endpoints never reach doFilterInternal, so no header parsing or logging for them
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return publicRoutes.matches(request);
     }
 
     @Override
@@ -32,75 +102,102 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletRequest request,
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
-        String requestPath = request.getRequestURI();
-        String requestMethod = request.getMethod();
-
-        logger.info("JWT Filter - Request: " + requestMethod + " " + requestPath);
-
-        if (requestPath.startsWith("/api/auth/forgot-password") ||
-                requestPath.startsWith("/api/auth/register") ||
-                requestPath.startsWith("/api/auth/login") ||
-                requestPath.startsWith("/api/auth/refresh")) {
-            logger.debug("JWT Filter - Skipping auth endpoints");
-            filterChain.doFilter(request, response);
-            return;
+        Outcome outcome;
+        try {
+            outcome = authenticate(request);
+        } catch (ExpiredJwtException e) {
+            outcome = Outcome.EXPIRED;
+        } catch (JwtException | IllegalArgumentException e) {
+            outcome = Outcome.MALFORMED;
+            if (shouldLog(outcome)) {
+                log.warn("JWT Filter - Token rejected on {}: {}", request.getRequestURI(), e.getMessage());
+            }
+        } catch (UsernameNotFoundException e) {
+            outcome = Outcome.UNKNOWN_USER;
+        } catch (RuntimeException e) {
+            outcome = Outcome.ERROR;
+            if (shouldLog(outcome)) {
+                log.error("JWT Filter - Authentication failed on {}", request.getRequestURI(), e);
+            }
         }
+        outcomeCounters[outcome.ordinal()].increment();
 
-        final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
+        // Outside the try: errors from further down the chain are not ours to swallow
+        filterChain.doFilter(request, response);
+    }
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.warn("JWT Filter - No Authorization header or invalid format. Header: " +
-                    (authHeader != null ? authHeader.substring(0, Math.min(20, authHeader.length())) + "..." : "null"));
-            filterChain.doFilter(request, response);
-            return;
+    private Outcome authenticate(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return Outcome.NO_TOKEN;
         }
 
-        jwt = authHeader.substring(7);
-        logger.debug("JWT Filter - Token received (length: " + jwt.length() + ")");
-
+        long parseStart = System.nanoTime();
+        VerifiedToken token;
         try {
-            username = jwtService.extractUsername(jwt);
-            logger.info("JWT Filter - Extracted username: " + username);
+            token = jwtService.verify(authHeader.substring(BEARER_PREFIX.length()));
+        } finally {
+            parseTimer.record(System.nanoTime() - parseStart, TimeUnit.NANOSECONDS);
+        }
 
-            if (username == null) {
-                logger.warn("JWT Filter - Username is null after extraction");
-                filterChain.doFilter(request, response);
-                return;
+        String username = token.getSubject();
+        if (username == null) {
+            return Outcome.MALFORMED;
+        }
+        if (token.isRefreshToken()) {
+            if (shouldLog(Outcome.REFRESH_TOKEN)) {
+                log.warn("JWT Filter - Refresh token presented as access token for user {}", username);
             }
-
-            if (SecurityContextHolder.getContext().getAuthentication() != null) {
-                logger.debug("JWT Filter - Authentication already set, skipping");
-                filterChain.doFilter(request, response);
-                return;
+            return Outcome.REFRESH_TOKEN;
+        }
+        if (tokenRevocationService.isRevoked(token.getId())) {
+            if (shouldLog(Outcome.REVOKED)) {
+                log.info("JWT Filter - Revoked token presented for user {}", username);
             }
+            return Outcome.REVOKED;
+        }
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return Outcome.ALREADY_AUTHENTICATED;
+        }
 
-            logger.debug("JWT Filter - Loading user details for: " + username);
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            logger.debug("JWT Filter - User details loaded: " + userDetails.getUsername());
-
-            boolean isValidToken = jwtService.validateToken(jwt, userDetails);
-            boolean isRefresh = jwtService.isRefreshToken(jwt);
-
-            logger.info("JWT Filter - Token validation - isValid: " + isValidToken + ", isRefresh: " + isRefresh);
-
-            if (isValidToken && !isRefresh) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-                logger.info("JWT Filter - Authentication set successfully for user: " + username);
-            } else {
-                logger.warn("JWT Filter - Token validation failed for user: " + username +
-                        " - isValidToken: " + isValidToken + ", isRefresh: " + isRefresh);
+        UserDetails userDetails;
+        Long userId = token.getUserId();
+        Integer credentialVersion = token.getCredentialVersion();
+        if (userId != null && credentialVersion != null) {
+            if (!credentialVersionService.isCurrent(userId, credentialVersion)) {
+                if (shouldLog(Outcome.STALE_CREDENTIALS)) {
+                    log.info("JWT Filter - Token credentials are stale for user {}", username);
+                }
+                return Outcome.STALE_CREDENTIALS;
+            }
+            userDetails = new AuthUser(userId, username, credentialVersion, List.of());
+        } else {
+            long loadStart = System.nanoTime();
+            try {
+                userDetails = userDetailsService.loadUserByUsername(username);
+            } finally {
+                userLoadTimer.record(System.nanoTime() - loadStart, TimeUnit.NANOSECONDS);
             }
-        } catch (Exception e) {
-            logger.error("JWT Filter - Exception during JWT validation: " + e.getMessage(), e);
         }
 
-        filterChain.doFilter(request, response);
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities());
+        authToken.setDetails(authenticationDetailsSource.buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        return Outcome.AUTHENTICATED;
+    }
+
+    private boolean shouldLog(Outcome outcome) {
+        LogRateLimiter limiter = logLimiters[outcome.ordinal()];
+        if (!limiter.tryAcquire(System.currentTimeMillis())) {
+            return false;
+        }
+        long suppressed = limiter.drainSuppressed();
+        if (suppressed > 0) {
+            log.warn("JWT Filter - {} similar {} messages suppressed", suppressed, outcome.tag);
+        }
+        return true;
     }
 }
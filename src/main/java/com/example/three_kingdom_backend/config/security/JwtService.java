@@ -1,6 +1,7 @@
 package com.example.three_kingdom_backend.config.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
@@ -11,9 +12,11 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -21,14 +24,28 @@ public class JwtService {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final Long expiration;
+    private final Long refreshExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public JwtService(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration}") Long expiration,
+            @Value("${jwt.refresh-expiration}") Long refreshExpiration) {
+        this.expiration = expiration;
+        this.refreshExpiration = refreshExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+    }
 
-    @Value("${jwt.refresh-expiration}")
-    private Long refreshExpiration;
+    /**
+     * Parses and verifies the token once. Throws {@link io.jsonwebtoken.JwtException} when the
+     * signature is invalid, the token is malformed or it has expired.
+     */
+    public VerifiedToken verify(String token) {
+        return new VerifiedToken(parser.parseSignedClaims(token).getPayload());
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -45,56 +62,78 @@ public class JwtService {
 
     private Claims extractAllClaims(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = parser.parseSignedClaims(token).getPayload();
             logger.debug("JWT Service - Successfully extracted claims from token");
             return claims;
         } catch (Exception e) {
-            logger.error("JWT Service - Failed to extract claims from token: " + e.getMessage(), e);
+            logger.debug("JWT Service - Failed to extract claims from token: {}", e.getMessage());
             throw e;
         }
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     public Boolean isTokenExpired(String token) {
         try {
             Date expiration = extractExpiration(token);
             Date now = new Date();
             boolean expired = expiration.before(now);
-            logger.debug("JWT Service - Token expiration check - expiration: " + expiration + ", now: " + now
-                    + ", expired: " + expired);
+            logger.debug("JWT Service - Token expiration check - expiration: {}, now: {}, expired: {}",
+                    expiration, now, expired);
             return expired;
         } catch (Exception e) {
-            logger.warn("JWT Service - Error checking token expiration: " + e.getMessage());
+            logger.debug("JWT Service - Error checking token expiration: {}", e.getMessage());
             return true;
         }
     }
 
     public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername(), expiration);
+        return generateToken(userDetails, Instant.now());
+    }
+
+    /** Access token issued at {@code issuedAt}, so it can share one timestamp with a refresh token. */
+    public String generateToken(UserDetails userDetails, Instant issuedAt) {
+        Map<String, Object> claims = principalClaims(userDetails);
+        return createToken(claims, userDetails.getUsername(), UUID.randomUUID().toString(), issuedAt, expiration);
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
+    public String generateRefreshToken(UserDetails userDetails, String familyId, String tokenId) {
+        return generateRefreshToken(userDetails, familyId, tokenId, Instant.now());
+    }
+
+    /**
+     * Refresh tokens belong to a family (one per login) and carry their own id so a rotated
+     * token can be told apart from the family's current one.
+     */
+    public String generateRefreshToken(UserDetails userDetails, String familyId, String tokenId, Instant issuedAt) {
+        Map<String, Object> claims = principalClaims(userDetails);
+        claims.put(VerifiedToken.TYPE_CLAIM, VerifiedToken.REFRESH_TYPE);
+        claims.put(VerifiedToken.FAMILY_CLAIM, familyId);
+        return createToken(claims, userDetails.getUsername(), tokenId, issuedAt, refreshExpiration);
+    }
+
+    public Long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    // Lets the filter rebuild an AuthUser from the token alone instead of loading it per request
+    private Map<String, Object> principalClaims(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("type", "refresh");
-        return createToken(claims, userDetails.getUsername(), refreshExpiration);
+        if (userDetails instanceof AuthUser authUser) {
+            claims.put(VerifiedToken.USER_ID_CLAIM, authUser.getId());
+            claims.put(VerifiedToken.CREDENTIAL_VERSION_CLAIM, authUser.getCredentialVersion());
+        }
+        return claims;
     }
 
-    private String createToken(Map<String, Object> claims, String subject, Long expirationTime) {
+    private String createToken(Map<String, Object> claims, String subject, String tokenId, Instant issuedAt,
+            Long expirationTime) {
+        long issuedAtMillis = issuedAt.toEpochMilli();
         return Jwts.builder()
                 .claims(claims)
+                .id(tokenId)
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(issuedAtMillis))
+                .expiration(new Date(issuedAtMillis + expirationTime))
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -104,14 +143,12 @@ public class JwtService {
             boolean usernameMatches = username.equals(userDetails.getUsername());
             boolean notExpired = !isTokenExpired(token);
             boolean isValid = usernameMatches && notExpired;
-            logger.debug("JWT Service - Token validation - tokenUsername: " + username +
-                    ", userDetailsUsername: " + userDetails.getUsername() +
-                    ", usernameMatches: " + usernameMatches +
-                    ", notExpired: " + notExpired +
-                    ", isValid: " + isValid);
+            logger.debug("JWT Service - Token validation - tokenUsername: {}, userDetailsUsername: {}, "
+                    + "usernameMatches: {}, notExpired: {}, isValid: {}",
+                    username, userDetails.getUsername(), usernameMatches, notExpired, isValid);
             return isValid;
         } catch (Exception e) {
-            logger.error("JWT Service - Error validating token: " + e.getMessage(), e);
+            logger.debug("JWT Service - Error validating token: {}", e.getMessage());
             return false;
         }
     }
@@ -119,12 +156,12 @@ public class JwtService {
     public Boolean isRefreshToken(String token) {
         try {
             Claims claims = extractAllClaims(token);
-            Object type = claims.get("type");
-            boolean isRefresh = "refresh".equals(type);
-            logger.debug("JWT Service - isRefreshToken check - type: " + type + ", isRefresh: " + isRefresh);
+            Object type = claims.get(VerifiedToken.TYPE_CLAIM);
+            boolean isRefresh = VerifiedToken.REFRESH_TYPE.equals(type);
+            logger.debug("JWT Service - isRefreshToken check - type: {}, isRefresh: {}", type, isRefresh);
             return isRefresh;
         } catch (Exception e) {
-            logger.warn("JWT Service - Error checking if token is refresh token: " + e.getMessage());
+            logger.debug("JWT Service - Error checking if token is refresh token: {}", e.getMessage());
             return false;
         }
     }
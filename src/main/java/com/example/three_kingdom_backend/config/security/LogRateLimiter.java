@@ -0,0 +1,40 @@
+package com.example.three_kingdom_backend.config.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most {@code permitsPerSecond} log lines through per wall-clock second and counts the
+ * rest, so a flood of identical failures produces a few lines plus a suppressed count rather than
+ * one line per request. Lock-free and allocation-free.
+ */
+final class LogRateLimiter {
+
+    private final int permitsPerSecond;
+    // Second index in the high 32 bits, lines granted in that second in the low 32 bits
+    private final AtomicLong state = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    LogRateLimiter(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    boolean tryAcquire(long nowMillis) {
+        long second = nowMillis / 1000;
+        while (true) {
+            long current = state.get();
+            long granted = (current >>> 32) == second ? current & 0xFFFFFFFFL : 0;
+            if (granted >= permitsPerSecond) {
+                suppressed.incrementAndGet();
+                return false;
+            }
+            if (state.compareAndSet(current, (second << 32) | (granted + 1))) {
+                return true;
+            }
+        }
+    }
+
+    /** Number of lines dropped since the last call; reported with the next line that gets through. */
+    long drainSuppressed() {
+        return suppressed.getAndSet(0);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.three_kingdom_backend.config.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.core.Authentication;
@@ -10,11 +11,28 @@ import org.springframework.stereotype.Service;
 @Service
 public class LogoutService implements LogoutHandler {
 
+    private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+
+    public LogoutService(JwtService jwtService, TokenRevocationService tokenRevocationService) {
+        this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
     @Override
     public void logout(
             HttpServletRequest request,
             HttpServletResponse response,
             Authentication authentication) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                VerifiedToken token = jwtService.verify(authHeader.substring(7));
+                tokenRevocationService.revoke(token.getId(), token.getExpiration().toInstant());
+            } catch (JwtException | IllegalArgumentException e) {
+                // Nothing to revoke: the token is already unusable
+            }
+        }
         SecurityContextHolder.clearContext();
     }
 }
@@ -0,0 +1,11 @@
+package com.example.three_kingdom_backend.config.security;
+
+/**
+ * Thrown when the password hashing pool cannot take more work; mapped to 503 with Retry-After.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Server is busy, please retry shortly");
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.three_kingdom_backend.config.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The endpoints reachable without an access token. SecurityConfig permits them and
+ * JwtAuthenticationFilter skips them, both through this matcher, so the two cannot drift apart.
+ *
+ * <p>Routes are exact paths, or a prefix ending in {@code /**} that also matches the prefix
+ * itself. They are compiled into a character trie once; matching walks the request URI in place
+ * without allocating.
+ */
+@Component
+public class PublicRoutes implements RequestMatcher {
+
+    public static final List<String> ROUTES = List.of(
+            "/api/auth/register",
+            "/api/auth/login",
+            "/api/auth/refresh",
+            "/api/auth/logout",
+            "/api/auth/forgot-password/**",
+            "/api/hello");
+
+    private static final String WILDCARD_SUFFIX = "/**";
+
+    private final Node root = new Node();
+
+    public PublicRoutes() {
+        ROUTES.forEach(this::add);
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return matches(request.getRequestURI(), request.getContextPath().length());
+    }
+
+    /** Matches {@code uri} starting at {@code offset}, i.e. just past the context path. */
+    boolean matches(String uri, int offset) {
+        Node node = root;
+        for (int i = offset; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            if (node.wildcard && c == '/') {
+                return true;
+            }
+            node = node.child(c);
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.exact || node.wildcard;
+    }
+
+    private void add(String route) {
+        boolean wildcard = route.endsWith(WILDCARD_SUFFIX);
+        String path = wildcard ? route.substring(0, route.length() - WILDCARD_SUFFIX.length()) : route;
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.childOrCreate(path.charAt(i));
+        }
+        if (wildcard) {
+            node.wildcard = true;
+        } else {
+            node.exact = true;
+        }
+    }
+
+    // Children kept in parallel sorted arrays; fan-out is tiny for URL paths
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean exact;
+        private boolean wildcard;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            Node created = new Node();
+            char[] nextKeys = new char[keys.length + 1];
+            Node[] nextChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, nextKeys, 0, insertAt);
+            System.arraycopy(children, 0, nextChildren, 0, insertAt);
+            nextKeys[insertAt] = c;
+            nextChildren[insertAt] = created;
+            System.arraycopy(keys, insertAt, nextKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, nextChildren, insertAt + 1, children.length - insertAt);
+            keys = nextKeys;
+            children = nextChildren;
+            return created;
+        }
+    }
+}
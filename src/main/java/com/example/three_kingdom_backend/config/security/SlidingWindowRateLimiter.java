@@ -0,0 +1,137 @@
+package com.example.three_kingdom_backend.config.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding-window counter per key: the previous fixed window's count is weighted by how much of it
+ * still overlaps the sliding window, plus the current window's count. Each key's state is one
+ * AtomicLong updated by CAS, so there are no locks on the request path.
+ *
+ * <p>Keys are spread over independent stripes, each capped at {@code maxKeys / stripes} entries.
+ * {@link #evictExpired(long)} drops every key whose last window is older than the previous one,
+ * as those no longer affect any decision. A full stripe first drops its own expired keys and,
+ * if still full, rejects new keys until one expires: spraying fresh keys must not bypass the limit.
+ */
+class SlidingWindowRateLimiter {
+
+    private static final int STRIPES = 16;
+    private static final long COUNT_MASK = 0xFFFFL;
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private final int limit;
+    private final long windowMillis;
+    private final int maxKeysPerStripe;
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes = new ConcurrentHashMap[STRIPES];
+    // Keys only expire when the window rolls, so a full stripe is swept at most once per window
+    private final AtomicLongArray sweptWindow = new AtomicLongArray(STRIPES);
+
+    SlidingWindowRateLimiter(int limit, long windowMillis, int maxKeys) {
+        this.limit = Math.min(limit, MAX_COUNT);
+        this.windowMillis = windowMillis;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Counts one request for {@code key}.
+     *
+     * @return 0 if the request is allowed, otherwise the milliseconds until it is worth retrying
+     */
+    long tryAcquire(String key, long nowMillis) {
+        long window = nowMillis / windowMillis;
+        long elapsed = nowMillis - window * windowMillis;
+        AtomicLong state = stateFor(key, window);
+        if (state == null) {
+            // Stripe is full of live keys; fail closed until the window rolls and some expire
+            return windowMillis - elapsed;
+        }
+        while (true) {
+            long current = state.get();
+            long storedWindow = window(current);
+            long previousCount;
+            long currentCount;
+            if (storedWindow == window) {
+                previousCount = previousCount(current);
+                currentCount = currentCount(current);
+            } else if (storedWindow == window - 1) {
+                previousCount = currentCount(current);
+                currentCount = 0;
+            } else {
+                previousCount = 0;
+                currentCount = 0;
+            }
+            long weightedPrevious = previousCount * (windowMillis - elapsed) / windowMillis;
+            if (weightedPrevious + currentCount >= limit) {
+                return windowMillis - elapsed;
+            }
+            long next = pack(window, previousCount, currentCount + 1);
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    void evictExpired(long nowMillis) {
+        long window = nowMillis / windowMillis;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            evictExpired(stripe, window);
+        }
+    }
+
+    private static void evictExpired(ConcurrentHashMap<String, AtomicLong> stripe, long window) {
+        stripe.values().removeIf(state -> window(state.get()) < window - 1);
+    }
+
+    int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private AtomicLong stateFor(String key, long window) {
+        int index = spread(key.hashCode()) & (STRIPES - 1);
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[index];
+        AtomicLong state = stripe.get(key);
+        if (state != null) {
+            return state;
+        }
+        if (stripe.size() >= maxKeysPerStripe) {
+            long swept = sweptWindow.get(index);
+            if (swept != window && sweptWindow.compareAndSet(index, swept, window)) {
+                evictExpired(stripe, window);
+            }
+            if (stripe.size() >= maxKeysPerStripe) {
+                return null;
+            }
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    // Layout: window index in the high 32 bits, previous count in 16 bits, current count in 16 bits
+    private static long pack(long window, long previousCount, long currentCount) {
+        return (window << 32) | (Math.min(previousCount, MAX_COUNT) << 16) | Math.min(currentCount, MAX_COUNT);
+    }
+
+    private static long window(long state) {
+        return state >>> 32;
+    }
+
+    private static long previousCount(long state) {
+        return (state >>> 16) & COUNT_MASK;
+    }
+
+    private static long currentCount(long state) {
+        return state & COUNT_MASK;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.three_kingdom_backend.config.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation list for JWTs keyed by their {@code jti}. The revoked_tokens table is authoritative;
+ * each node keeps a Bloom filter and a map rebuilt from it, so the common "not revoked" answer
+ * is a few bit reads with no allocation and no database access. Rows expire together with the
+ * token they revoke.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final RevokedTokenRepository repository;
+
+    private volatile BloomFilter filter = new BloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+    private volatile Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(RevokedTokenRepository repository) {
+        this.repository = repository;
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        if (revoked.containsKey(jti)) {
+            return true;
+        }
+        // Filter hit we cannot confirm locally: a false positive or a revocation made on another
+        // node since the last rebuild
+        return repository.existsByJtiAndExpiresAtAfter(jti, Instant.now());
+    }
+
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        repository.save(new RevokedToken(jti, expiresAt));
+        synchronized (this) {
+            revoked.put(jti, expiresAt);
+            filter.put(jti);
+            if (revoked.size() > filter.capacity()) {
+                swap(resize(revoked.size() * 2), revoked);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval}", initialDelayString = "${jwt.revocation.rebuild-interval}")
+    public void rebuild() {
+        Instant now = Instant.now();
+        int purged = repository.deleteExpired(now);
+        List<RevokedToken> active = repository.findByExpiresAtAfter(now);
+
+        Map<String, Instant> next = new ConcurrentHashMap<>(Math.max(16, active.size() * 2));
+        for (RevokedToken token : active) {
+            next.put(token.getJti(), token.getExpiresAt());
+        }
+        synchronized (this) {
+            // Keep local revocations that landed after the table was read
+            revoked.forEach((jti, expiresAt) -> {
+                if (expiresAt.isAfter(now)) {
+                    next.putIfAbsent(jti, expiresAt);
+                }
+            });
+            swap(resize(next.size() * 2), next);
+        }
+        logger.debug("Token revocation - rebuilt filter with {} entries, purged {}", next.size(), purged);
+    }
+
+    private BloomFilter resize(int expectedInsertions) {
+        return new BloomFilter(Math.max(MIN_CAPACITY, expectedInsertions), FALSE_POSITIVE_RATE);
+    }
+
+    private void swap(BloomFilter nextFilter, Map<String, Instant> nextRevoked) {
+        nextRevoked.keySet().forEach(nextFilter::put);
+        this.revoked = nextRevoked;
+        this.filter = nextFilter;
+    }
+}
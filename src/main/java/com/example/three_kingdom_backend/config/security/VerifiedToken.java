@@ -0,0 +1,68 @@
+package com.example.three_kingdom_backend.config.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * A JWT whose signature and expiry have already been checked by {@link JwtService#verify(String)}.
+ * Holding one of these means the token was parsed exactly once; callers read claims from it
+ * instead of re-parsing the raw string.
+ */
+public final class VerifiedToken {
+
+    static final String TYPE_CLAIM = "type";
+    static final String REFRESH_TYPE = "refresh";
+    static final String USER_ID_CLAIM = "uid";
+    static final String CREDENTIAL_VERSION_CLAIM = "cv";
+    static final String FAMILY_CLAIM = "fid";
+
+    private final Claims claims;
+
+    VerifiedToken(Claims claims) {
+        this.claims = claims;
+    }
+
+    /** The token's {@code jti}; null for tokens issued before ids were assigned. */
+    public String getId() {
+        return claims.getId();
+    }
+
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    public Date getIssuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    public String getType() {
+        return claims.get(TYPE_CLAIM, String.class);
+    }
+
+    public boolean isRefreshToken() {
+        return REFRESH_TYPE.equals(claims.get(TYPE_CLAIM));
+    }
+
+    /** Null for tokens issued before user ids were embedded. */
+    public Long getUserId() {
+        return claims.get(USER_ID_CLAIM, Long.class);
+    }
+
+    public Integer getCredentialVersion() {
+        return claims.get(CREDENTIAL_VERSION_CLAIM, Integer.class);
+    }
+
+    /** Refresh token family id; only present on refresh tokens. */
+    public String getFamilyId() {
+        return claims.get(FAMILY_CLAIM, String.class);
+    }
+
+    public <T> T getClaim(String name, Class<T> requiredType) {
+        return claims.get(name, requiredType);
+    }
+}
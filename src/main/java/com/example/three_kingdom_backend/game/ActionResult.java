@@ -0,0 +1,14 @@
+package com.example.three_kingdom_backend.game;
+
+public enum ActionResult {
+    OK,
+    GAME_OVER,
+    NOT_YOUR_TURN,
+    WRONG_PHASE,
+    NOT_IN_HAND,
+    WRONG_CARD,
+    INVALID_TARGET,
+    STRIKE_LIMIT,
+    FULL_HEALTH,
+    NO_CARDS_TO_TAKE
+}
@@ -0,0 +1,9 @@
+package com.example.three_kingdom_backend.game;
+
+public enum ActionType {
+    PLAY,
+    RESPOND,
+    PASS,
+    DISCARD,
+    END
+}
@@ -0,0 +1,19 @@
+package com.example.three_kingdom_backend.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardDTO {
+    private int id;
+    private CardKind kind;
+    private int suit;
+    private int rank;
+
+    public static CardDTO of(int card) {
+        return new CardDTO(card, Cards.kind(card), Cards.suit(card), Cards.rank(card));
+    }
+}
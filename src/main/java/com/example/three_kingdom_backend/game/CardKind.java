@@ -0,0 +1,21 @@
+package com.example.three_kingdom_backend.game;
+
+/** Card kinds in the deck and how many copies of each it holds. */
+public enum CardKind {
+    STRIKE(46),
+    DODGE(24),
+    PEACH(12),
+    DRAW_TWO(8),
+    DISMANTLE(9),
+    SNATCH(9);
+
+    private final int copies;
+
+    CardKind(int copies) {
+        this.copies = copies;
+    }
+
+    public int copies() {
+        return copies;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.three_kingdom_backend.game;
+
+/**
+ * The fixed 108-card deck. A card is its index into the deck; kind, suit and rank are looked up
+ * from tables, so game state only ever stores ints and bitsets of card ids.
+ */
+public final class Cards {
+
+    public static final int DECK_SIZE = 108;
+
+    private static final CardKind[] KINDS = new CardKind[DECK_SIZE];
+
+    static {
+        int card = 0;
+        for (CardKind kind : CardKind.values()) {
+            for (int i = 0; i < kind.copies(); i++) {
+                KINDS[card++] = kind;
+            }
+        }
+        if (card != DECK_SIZE) {
+            throw new IllegalStateException("Deck has " + card + " cards, expected " + DECK_SIZE);
+        }
+    }
+
+    private Cards() {
+    }
+
+    public static CardKind kind(int card) {
+        return KINDS[card];
+    }
+
+    /** 0-3: spades, hearts, clubs, diamonds. */
+    public static int suit(int card) {
+        return card & 3;
+    }
+
+    /** 1-13, ace to king. */
+    public static int rank(int card) {
+        return 1 + (card >>> 2) % 13;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.three_kingdom_backend.game;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class GameActionRequest {
+    @NotNull(message = "Action type is required")
+    private ActionType type;
+
+    @Min(value = 0, message = "Unknown card")
+    @Max(value = Cards.DECK_SIZE - 1, message = "Unknown card")
+    private Integer card;
+
+    @Min(value = 0, message = "Unknown seat")
+    @Max(value = GameState.MAX_PLAYERS - 1, message = "Unknown seat")
+    private Integer target;
+
+    int toMove() {
+        return Move.of(type, card != null ? card : Move.NONE, target != null ? target : Move.NONE);
+    }
+}
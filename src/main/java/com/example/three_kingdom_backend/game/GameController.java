@@ -0,0 +1,38 @@
+package com.example.three_kingdom_backend.game;
+
+import com.example.three_kingdom_backend.config.security.AuthUser;
+import com.example.three_kingdom_backend.util.response.StandardResponse;
+import jakarta.validation.Valid;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/games")
+public class GameController {
+
+    private final GameService gameService;
+
+    public GameController(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    @GetMapping("/{roomId}")
+    public CompletableFuture<StandardResponse<GameViewDTO>> getGame(@PathVariable Long roomId,
+            @AuthenticationPrincipal AuthUser me) {
+        return gameService.getGame(roomId, me.getId());
+    }
+
+    @PostMapping("/{roomId}/actions")
+    public CompletableFuture<StandardResponse<GameViewDTO>> act(@PathVariable Long roomId,
+            @Valid @RequestBody GameActionRequest request,
+            @AuthenticationPrincipal AuthUser me) {
+        return gameService.act(roomId, me.getId(), request);
+    }
+}
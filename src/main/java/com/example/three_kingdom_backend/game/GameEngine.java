@@ -0,0 +1,455 @@
+package com.example.three_kingdom_backend.game;
+
+/**
+ * Rules of the game: setup, turn flow and action validation over a {@link GameState}. Stateless;
+ * everything a game needs, including its random generator, lives in the state, so applying the
+ * same moves to games built from the same seed always gives the same result.
+ *
+ * <p>Covers roles, heroes (health only), the draw/play/discard turn, Strike and Dodge, Peach,
+ * Draw Two, Dismantle and Snatch. Distance, equipment and hero skills are not modelled yet.
+ */
+public final class GameEngine {
+
+    static final int INITIAL_HAND = 4;
+    static final int DRAW_PER_TURN = 2;
+    static final int STRIKES_PER_TURN = 1;
+    static final int REBEL_BOUNTY = 3;
+
+    // {loyalists, rebels, traitors} for 2 to 10 players; larger games keep adding rebels and loyalists
+    private static final int[][] ROLE_TABLE = {
+            { 0, 1, 0 }, { 0, 1, 1 }, { 1, 1, 1 }, { 1, 2, 1 }, { 1, 3, 1 },
+            { 2, 3, 1 }, { 2, 4, 1 }, { 3, 4, 1 }, { 3, 4, 2 }
+    };
+
+    private static final Hero[] HEROES = Hero.values();
+
+    private GameEngine() {
+    }
+
+    /** Deals roles, heroes and starting hands, and starts the lord's first turn. */
+    public static GameState newGame(int players, long seed) {
+        if (players < GameState.MIN_PLAYERS || players > GameState.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Unsupported number of players: " + players);
+        }
+        GameState s = new GameState(players, seed);
+
+        for (int card = 0; card < Cards.DECK_SIZE; card++) {
+            s.drawPile[card] = card;
+        }
+        s.drawSize = Cards.DECK_SIZE;
+        shuffle(s.drawPile, s.drawSize, s.rng);
+
+        Role[] roles = roles(players);
+        shuffle(roles, s.rng);
+        Hero[] heroes = HEROES.clone();
+        shuffle(heroes, s.rng);
+        for (int seat = 0; seat < players; seat++) {
+            s.roles[seat] = roles[seat];
+            s.heroes[seat] = heroes[seat];
+            // The lord gets an extra point of health once there is more than one opponent to face
+            s.maxHealth[seat] = heroes[seat].health() + (roles[seat] == Role.LORD && players > 4 ? 1 : 0);
+            s.health[seat] = s.maxHealth[seat];
+            if (roles[seat] == Role.LORD) {
+                s.lord = seat;
+            }
+        }
+        s.alive = (1 << players) - 1;
+        s.revealed = 1 << s.lord;
+
+        for (int seat = 0; seat < players; seat++) {
+            draw(s, seat, INITIAL_HAND);
+        }
+        s.current = s.lord;
+        startTurn(s);
+        return s;
+    }
+
+    /** Validates and applies one move by {@code seat}; the state is unchanged unless the result is OK. */
+    public static ActionResult apply(GameState s, int seat, int move) {
+        if (s.phase == Phase.FINISHED) {
+            return ActionResult.GAME_OVER;
+        }
+        if (seat != s.actingSeat()) {
+            return ActionResult.NOT_YOUR_TURN;
+        }
+        ActionType type = Move.type(move);
+        int card = Move.card(move);
+        int target = Move.target(move);
+        ActionResult result = switch (s.phase) {
+            case PLAY -> play(s, seat, type, card, target);
+            case RESPOND -> respond(s, seat, type, card);
+            case DYING -> dying(s, seat, type, card);
+            case DISCARD -> discard(s, seat, type, card);
+            case FINISHED -> ActionResult.GAME_OVER;
+        };
+        if (result == ActionResult.OK) {
+            s.actionCount++;
+        }
+        return result;
+    }
+
+    /**
+     * Writes every move {@link #apply} would accept from the acting seat into {@code out}, which
+     * must hold {@link Move#MAX_LEGAL} entries; returns how many.
+     */
+    public static int legalMoves(GameState s, int[] out) {
+        int seat = s.actingSeat();
+        if (seat == Move.NONE) {
+            return 0;
+        }
+        int n = 0;
+        if (s.phase == Phase.PLAY) {
+            out[n++] = Move.of(ActionType.END, Move.NONE, Move.NONE);
+        } else if (s.phase == Phase.RESPOND || s.phase == Phase.DYING) {
+            out[n++] = Move.of(ActionType.PASS, Move.NONE, Move.NONE);
+        }
+        for (int w = 0; w < GameState.HAND_WORDS; w++) {
+            long word = s.hands[seat * GameState.HAND_WORDS + w];
+            while (word != 0) {
+                int card = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                n = addMoves(s, seat, card, out, n);
+            }
+        }
+        return n;
+    }
+
+    private static int addMoves(GameState s, int seat, int card, int[] out, int n) {
+        CardKind kind = Cards.kind(card);
+        switch (s.phase) {
+            case PLAY -> {
+                switch (kind) {
+                    case STRIKE -> {
+                        if (s.strikesPlayed < STRIKES_PER_TURN) {
+                            n = addTargets(s, seat, card, false, out, n);
+                        }
+                    }
+                    case PEACH -> {
+                        if (s.health[seat] < s.maxHealth[seat]) {
+                            out[n++] = Move.of(ActionType.PLAY, card, Move.NONE);
+                        }
+                    }
+                    case DRAW_TWO -> out[n++] = Move.of(ActionType.PLAY, card, Move.NONE);
+                    case DISMANTLE, SNATCH -> n = addTargets(s, seat, card, true, out, n);
+                    case DODGE -> {
+                    }
+                }
+            }
+            case RESPOND -> {
+                if (kind == CardKind.DODGE) {
+                    out[n++] = Move.of(ActionType.RESPOND, card, Move.NONE);
+                }
+            }
+            case DYING -> {
+                if (kind == CardKind.PEACH) {
+                    out[n++] = Move.of(ActionType.RESPOND, card, Move.NONE);
+                }
+            }
+            case DISCARD -> out[n++] = Move.of(ActionType.DISCARD, card, Move.NONE);
+            case FINISHED -> {
+            }
+        }
+        return n;
+    }
+
+    private static int addTargets(GameState s, int seat, int card, boolean needsCards, int[] out, int n) {
+        for (int target = 0; target < s.players; target++) {
+            if (isTarget(s, seat, target) && (!needsCards || s.handSize(target) > 0)) {
+                out[n++] = Move.of(ActionType.PLAY, card, target);
+            }
+        }
+        return n;
+    }
+
+    private static ActionResult play(GameState s, int seat, ActionType type, int card, int target) {
+        if (type == ActionType.END) {
+            endPlay(s);
+            return ActionResult.OK;
+        }
+        if (type != ActionType.PLAY) {
+            return ActionResult.WRONG_PHASE;
+        }
+        if (!inHand(s, seat, card)) {
+            return ActionResult.NOT_IN_HAND;
+        }
+        switch (Cards.kind(card)) {
+            case STRIKE -> {
+                if (!isTarget(s, seat, target)) {
+                    return ActionResult.INVALID_TARGET;
+                }
+                if (s.strikesPlayed >= STRIKES_PER_TURN) {
+                    return ActionResult.STRIKE_LIMIT;
+                }
+                use(s, seat, card);
+                s.strikesPlayed++;
+                s.phase = Phase.RESPOND;
+                s.pendingSeat = target;
+                s.pendingSource = seat;
+            }
+            case PEACH -> {
+                if (s.health[seat] >= s.maxHealth[seat]) {
+                    return ActionResult.FULL_HEALTH;
+                }
+                use(s, seat, card);
+                s.health[seat]++;
+            }
+            case DRAW_TWO -> {
+                use(s, seat, card);
+                draw(s, seat, 2);
+            }
+            case DISMANTLE, SNATCH -> {
+                if (!isTarget(s, seat, target)) {
+                    return ActionResult.INVALID_TARGET;
+                }
+                int targetHand = s.handSize(target);
+                if (targetHand == 0) {
+                    return ActionResult.NO_CARDS_TO_TAKE;
+                }
+                use(s, seat, card);
+                // Taken blind, like picking a face-down card
+                int taken = s.cardAt(target, s.rng.nextInt(targetHand));
+                s.take(target, taken);
+                if (Cards.kind(card) == CardKind.DISMANTLE) {
+                    toDiscard(s, taken);
+                } else {
+                    s.give(seat, taken);
+                    s.seenBy[taken] = (1 << seat) | (1 << target);
+                }
+            }
+            case DODGE -> {
+                return ActionResult.WRONG_CARD;
+            }
+        }
+        return ActionResult.OK;
+    }
+
+    private static ActionResult respond(GameState s, int seat, ActionType type, int card) {
+        if (type == ActionType.PASS) {
+            int source = s.pendingSource;
+            s.phase = Phase.PLAY;
+            clearPending(s);
+            damage(s, seat, source);
+            return ActionResult.OK;
+        }
+        if (type != ActionType.RESPOND) {
+            return ActionResult.WRONG_PHASE;
+        }
+        if (!inHand(s, seat, card)) {
+            return ActionResult.NOT_IN_HAND;
+        }
+        if (Cards.kind(card) != CardKind.DODGE) {
+            return ActionResult.WRONG_CARD;
+        }
+        use(s, seat, card);
+        s.phase = Phase.PLAY;
+        clearPending(s);
+        return ActionResult.OK;
+    }
+
+    // Only the dying player may save themselves with a Peach; rescue by others is not modelled
+    private static ActionResult dying(GameState s, int seat, ActionType type, int card) {
+        if (type == ActionType.PASS) {
+            kill(s, seat, s.pendingSource);
+            return ActionResult.OK;
+        }
+        if (type != ActionType.RESPOND) {
+            return ActionResult.WRONG_PHASE;
+        }
+        if (!inHand(s, seat, card)) {
+            return ActionResult.NOT_IN_HAND;
+        }
+        if (Cards.kind(card) != CardKind.PEACH) {
+            return ActionResult.WRONG_CARD;
+        }
+        use(s, seat, card);
+        if (++s.health[seat] > 0) {
+            s.phase = Phase.PLAY;
+            clearPending(s);
+        }
+        return ActionResult.OK;
+    }
+
+    private static ActionResult discard(GameState s, int seat, ActionType type, int card) {
+        if (type != ActionType.DISCARD) {
+            return ActionResult.WRONG_PHASE;
+        }
+        if (!inHand(s, seat, card)) {
+            return ActionResult.NOT_IN_HAND;
+        }
+        use(s, seat, card);
+        if (s.handSize(seat) <= s.health[seat]) {
+            nextTurn(s);
+        }
+        return ActionResult.OK;
+    }
+
+    private static void endPlay(GameState s) {
+        if (s.handSize(s.current) > s.health[s.current]) {
+            s.phase = Phase.DISCARD;
+        } else {
+            nextTurn(s);
+        }
+    }
+
+    private static void nextTurn(GameState s) {
+        int seat = s.current;
+        do {
+            seat = (seat + 1) % s.players;
+        } while (!s.isAlive(seat));
+        s.current = seat;
+        startTurn(s);
+    }
+
+    private static void startTurn(GameState s) {
+        s.strikesPlayed = 0;
+        s.phase = Phase.PLAY;
+        draw(s, s.current, DRAW_PER_TURN);
+    }
+
+    // Damage only comes from a Strike played by the current player, so the game returns to PLAY
+    private static void damage(GameState s, int victim, int source) {
+        if (--s.health[victim] <= 0) {
+            s.phase = Phase.DYING;
+            s.pendingSeat = victim;
+            s.pendingSource = source;
+        }
+    }
+
+    private static void kill(GameState s, int seat, int killer) {
+        s.alive &= ~(1 << seat);
+        s.revealed |= 1 << seat;
+        clearPending(s);
+        discardHand(s, seat);
+        if (decideWinner(s)) {
+            s.phase = Phase.FINISHED;
+            return;
+        }
+        s.phase = Phase.PLAY;
+        if (killer != Move.NONE && s.isAlive(killer)) {
+            if (s.roles[seat] == Role.REBEL) {
+                draw(s, killer, REBEL_BOUNTY);
+            } else if (s.roles[seat] == Role.LOYALIST && s.roles[killer] == Role.LORD) {
+                discardHand(s, killer);
+            }
+        }
+    }
+
+    private static boolean decideWinner(GameState s) {
+        if (!s.isAlive(s.lord)) {
+            boolean loneTraitor = Integer.bitCount(s.alive) == 1
+                    && s.roles[Integer.numberOfTrailingZeros(s.alive)] == Role.TRAITOR;
+            s.winner = loneTraitor ? Role.TRAITOR : Role.REBEL;
+            return true;
+        }
+        for (int seat = 0; seat < s.players; seat++) {
+            if (s.isAlive(seat) && (s.roles[seat] == Role.REBEL || s.roles[seat] == Role.TRAITOR)) {
+                return false;
+            }
+        }
+        s.winner = Role.LORD;
+        return true;
+    }
+
+    private static boolean isTarget(GameState s, int seat, int target) {
+        return target >= 0 && target < s.players && target != seat && s.isAlive(target);
+    }
+
+    private static boolean inHand(GameState s, int seat, int card) {
+        return card >= 0 && card < Cards.DECK_SIZE && s.holds(seat, card);
+    }
+
+    private static void clearPending(GameState s) {
+        s.pendingSeat = Move.NONE;
+        s.pendingSource = Move.NONE;
+    }
+
+    private static void use(GameState s, int seat, int card) {
+        s.take(seat, card);
+        toDiscard(s, card);
+    }
+
+    private static void discardHand(GameState s, int seat) {
+        for (int w = 0; w < GameState.HAND_WORDS; w++) {
+            long word = s.hands[seat * GameState.HAND_WORDS + w];
+            s.hands[seat * GameState.HAND_WORDS + w] = 0;
+            while (word != 0) {
+                toDiscard(s, (w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    private static void toDiscard(GameState s, int card) {
+        s.discardPile[s.discardSize++] = card;
+        s.seenBy[card] = GameState.ALL_SEATS;
+    }
+
+    private static void draw(GameState s, int seat, int count) {
+        for (int i = 0; i < count; i++) {
+            if (s.drawSize == 0 && !reshuffle(s)) {
+                return;
+            }
+            int card = s.drawPile[--s.drawSize];
+            s.give(seat, card);
+            s.seenBy[card] = 1 << seat;
+        }
+    }
+
+    private static boolean reshuffle(GameState s) {
+        if (s.discardSize == 0) {
+            return false;
+        }
+        System.arraycopy(s.discardPile, 0, s.drawPile, 0, s.discardSize);
+        s.drawSize = s.discardSize;
+        s.discardSize = 0;
+        shuffle(s.drawPile, s.drawSize, s.rng);
+        return true;
+    }
+
+    private static Role[] roles(int players) {
+        int loyalists;
+        int rebels;
+        int traitors;
+        if (players - 2 < ROLE_TABLE.length) {
+            int[] row = ROLE_TABLE[players - 2];
+            loyalists = row[0];
+            rebels = row[1];
+            traitors = row[2];
+        } else {
+            traitors = 2;
+            rebels = 4 + (players - 10) / 2;
+            loyalists = players - 1 - rebels - traitors;
+        }
+        Role[] roles = new Role[players];
+        int i = 0;
+        roles[i++] = Role.LORD;
+        for (int j = 0; j < loyalists; j++) {
+            roles[i++] = Role.LOYALIST;
+        }
+        for (int j = 0; j < rebels; j++) {
+            roles[i++] = Role.REBEL;
+        }
+        for (int j = 0; j < traitors; j++) {
+            roles[i++] = Role.TRAITOR;
+        }
+        return roles;
+    }
+
+    private static void shuffle(int[] values, int size, SplitMix64 rng) {
+        for (int i = size - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+
+    private static <T> void shuffle(T[] values, SplitMix64 rng) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            T swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+}
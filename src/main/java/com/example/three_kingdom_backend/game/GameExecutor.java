@@ -0,0 +1,60 @@
+package com.example.three_kingdom_backend.game;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CPU-sized pool shared by the {@link Mailbox} of every game. Game actions never block, so one
+ * thread per core keeps every core busy; the queue holds at most one entry per game with work
+ * waiting, which is what {@code games.executor.queued} reports.
+ */
+@Component
+public class GameExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final int maxPending;
+
+    public GameExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${games.executor.threads}") int threads,
+            @Value("${games.executor.max-pending}") int maxPending) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new GameThreadFactory());
+        this.maxPending = maxPending;
+        Gauge.builder("games.executor.queued", executor, e -> e.getQueue().size())
+                .description("Games with actions waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("games.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    Mailbox newMailbox() {
+        return new Mailbox(executor, maxPending);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class GameThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "game-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
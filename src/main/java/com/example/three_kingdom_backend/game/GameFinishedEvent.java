@@ -0,0 +1,5 @@
+package com.example.three_kingdom_backend.game;
+
+/** Published by {@link GameService} when a game in a PLAYING room has a winner. */
+public record GameFinishedEvent(long roomId, Role winner) {
+}
@@ -0,0 +1,199 @@
+package com.example.three_kingdom_backend.game;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append-only log of accepted game actions plus a snapshot of each game every
+ * {@code games.log.snapshot-every} actions. Entries are queued by the game's mailbox and written
+ * in JDBC batches every {@code games.log.flush-interval}, so persistence never adds to action
+ * latency. A game is recovered from its latest snapshot and the few actions logged after it.
+ */
+@Component
+public class GameLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameLog.class);
+
+    private static final String INSERT_EVENT_SQL = """
+            INSERT INTO game_events (room_id, seq, seat, move, created_at) VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (room_id, seq) DO NOTHING
+            """;
+
+    // Never replaces a snapshot with an older one, so retried batches are harmless
+    private static final String UPSERT_SNAPSHOT_SQL = """
+            INSERT INTO game_snapshots (room_id, seq, state, created_at) VALUES (?, ?, ?, ?)
+            ON CONFLICT (room_id) DO UPDATE SET
+                seq = EXCLUDED.seq,
+                state = EXCLUDED.state,
+                created_at = EXCLUDED.created_at
+            WHERE game_snapshots.seq < EXCLUDED.seq
+            """;
+
+    private static final String LOAD_SNAPSHOT_SQL = """
+            SELECT seq, state FROM game_snapshots WHERE room_id = ?
+            """;
+
+    private static final String LOAD_EVENTS_SQL = """
+            SELECT seat, move FROM game_events WHERE room_id = ? AND seq > ? ORDER BY seq
+            """;
+
+    private record Event(long roomId, long seq, int seat, int move, Timestamp createdAt) {
+    }
+
+    private record Snapshot(long roomId, long seq, byte[] state, Timestamp createdAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int snapshotEvery;
+    private final Timer flushTimer;
+    private final Timer recoveryTimer;
+
+    private final Queue<Event> events = new ConcurrentLinkedQueue<>();
+    private final Queue<Snapshot> snapshots = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    // Held while a batch is between the queues and the database, so load never reads around one
+    private final Object flushLock = new Object();
+
+    public GameLog(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${games.log.snapshot-every}") int snapshotEvery) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotEvery = snapshotEvery;
+        this.flushTimer = Timer.builder("games.log.flush")
+                .description("Time spent writing buffered game events and snapshots")
+                .register(meterRegistry);
+        this.recoveryTimer = Timer.builder("games.log.recovery")
+                .description("Time spent rebuilding a game from its snapshot and event tail")
+                .register(meterRegistry);
+        Gauge.builder("games.log.pending", pending, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /** Records the freshly dealt game, so it can be recovered before its first action. */
+    void started(LiveGame game) {
+        snapshot(game);
+    }
+
+    /** Records an accepted action; called on the game's mailbox right after applying it. */
+    void applied(LiveGame game, int seat, int move) {
+        GameState state = game.getState();
+        events.add(new Event(game.getRoomId(), state.actionCount(), seat, move, now()));
+        pending.incrementAndGet();
+        if (state.actionCount() % snapshotEvery == 0 || state.phase() == Phase.FINISHED) {
+            snapshot(game);
+        }
+    }
+
+    private void snapshot(LiveGame game) {
+        GameState state = game.getState();
+        byte[] encoded = GameSnapshotCodec.encode(game.userIds(), state);
+        snapshots.add(new Snapshot(game.getRoomId(), state.actionCount(), encoded, now()));
+        pending.incrementAndGet();
+    }
+
+    /** Rebuilds a game from the database, or returns null if it was never logged. */
+    GameSnapshotCodec.Snapshot load(long roomId) {
+        // Anything still buffered or being written, such as the final snapshot of a game that just
+        // ended, must be in the database before it is read
+        synchronized (flushLock) {
+            if (!flushPending()) {
+                throw new IllegalStateException("Game log could not be flushed, not recovering room " + roomId);
+            }
+        }
+        return recoveryTimer.record(() -> {
+            List<GameSnapshotCodec.Snapshot> found = jdbcTemplate.query(LOAD_SNAPSHOT_SQL,
+                    (rs, rowNum) -> GameSnapshotCodec.decode(rs.getBytes("state")), roomId);
+            if (found.isEmpty()) {
+                return null;
+            }
+            GameSnapshotCodec.Snapshot snapshot = found.get(0);
+            GameState state = snapshot.state();
+            jdbcTemplate.query(LOAD_EVENTS_SQL, rs -> {
+                ActionResult result = GameEngine.apply(state, rs.getInt("seat"), rs.getInt("move"));
+                if (result != ActionResult.OK) {
+                    throw new IllegalStateException("Logged action for room " + roomId + " replayed as " + result);
+                }
+            }, roomId, state.actionCount());
+            return snapshot;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${games.log.flush-interval}")
+    @PreDestroy
+    public void flush() {
+        if (events.isEmpty() && snapshots.isEmpty()) {
+            return;
+        }
+        synchronized (flushLock) {
+            flushPending();
+        }
+    }
+
+    /** Writes everything queued; returns false if it failed and was queued again. Callers hold flushLock. */
+    private boolean flushPending() {
+        if (events.isEmpty() && snapshots.isEmpty()) {
+            return true;
+        }
+        return flushTimer.record(this::writePending);
+    }
+
+    private boolean writePending() {
+        List<Event> eventBatch = new ArrayList<>();
+        for (Event event; (event = events.poll()) != null; ) {
+            eventBatch.add(event);
+        }
+        // Only the newest snapshot of each game is worth writing
+        Map<Long, Snapshot> latest = new LinkedHashMap<>();
+        int polled = 0;
+        for (Snapshot snapshot; (snapshot = snapshots.poll()) != null; polled++) {
+            latest.merge(snapshot.roomId(), snapshot, (a, b) -> a.seq() >= b.seq() ? a : b);
+        }
+        pending.addAndGet(-(eventBatch.size() + polled));
+
+        List<Object[]> eventRows = new ArrayList<>(eventBatch.size());
+        for (Event event : eventBatch) {
+            eventRows.add(new Object[] { event.roomId(), event.seq(), event.seat(), event.move(), event.createdAt() });
+        }
+        List<Object[]> snapshotRows = new ArrayList<>(latest.size());
+        for (Snapshot snapshot : latest.values()) {
+            snapshotRows.add(new Object[] { snapshot.roomId(), snapshot.seq(), snapshot.state(), snapshot.createdAt() });
+        }
+        try {
+            if (!eventRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, eventRows);
+            }
+            if (!snapshotRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_SNAPSHOT_SQL, snapshotRows);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            // Both statements are idempotent, so rows that did make it are simply written again
+            events.addAll(eventBatch);
+            snapshots.addAll(latest.values());
+            pending.addAndGet(eventBatch.size() + latest.size());
+            logger.error("Game log - flush of {} events and {} snapshots failed, will retry",
+                    eventBatch.size(), latest.size(), e);
+            return false;
+        }
+    }
+
+    private static Timestamp now() {
+        return Timestamp.from(Instant.now());
+    }
+}
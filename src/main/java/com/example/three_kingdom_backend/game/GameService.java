@@ -0,0 +1,169 @@
+package com.example.three_kingdom_backend.game;
+
+import com.example.three_kingdom_backend.room.RoomRegistry;
+import com.example.three_kingdom_backend.util.response.StandardResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Hosts the games of PLAYING rooms in memory. A game starts when its room starts and is dropped
+ * once it has a winner. Each game is an actor: reads and actions are queued on its
+ * {@link Mailbox} and run one at a time on the shared {@link GameExecutor}, so requests for one
+ * room are serialized without locks while different rooms run in parallel. Every accepted action
+ * is written behind to the {@link GameLog}; a game missing from memory, e.g. after a restart, is
+ * recovered from it when one of its players first accesses it while the room is still PLAYING.
+ */
+@Service
+public class GameService {
+
+    private final GameExecutor gameExecutor;
+    private final GameLog gameLog;
+    private final RoomRegistry roomRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer actionTimer;
+    private final Counter rejectedCounter;
+
+    private final ConcurrentHashMap<Long, LiveGame> games = new ConcurrentHashMap<>();
+    // Games that ended while their GameFinishedEvent is being published; never recovered
+    private final Set<Long> finished = ConcurrentHashMap.newKeySet();
+
+    public GameService(GameExecutor gameExecutor, GameLog gameLog, RoomRegistry roomRegistry,
+            ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.gameExecutor = gameExecutor;
+        this.gameLog = gameLog;
+        this.roomRegistry = roomRegistry;
+        this.eventPublisher = eventPublisher;
+        this.actionTimer = Timer.builder("games.action")
+                .description("Time spent validating and applying a game action")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("games.action.rejected")
+                .description("Requests refused because the game already had too many waiting")
+                .register(meterRegistry);
+        Gauge.builder("games.live", games, Map::size).register(meterRegistry);
+    }
+
+    /** Seats the users in the given order and deals a new game. */
+    public void start(long roomId, long[] userIds) {
+        start(roomId, userIds, ThreadLocalRandom.current().nextLong());
+    }
+
+    void start(long roomId, long[] userIds, long seed) {
+        LiveGame game = new LiveGame(roomId, userIds.clone(), GameEngine.newGame(userIds.length, seed),
+                gameExecutor.newMailbox());
+        if (games.putIfAbsent(roomId, game) != null) {
+            throw new IllegalStateException("A game is already running in room " + roomId);
+        }
+        gameLog.started(game);
+    }
+
+    public CompletableFuture<StandardResponse<GameViewDTO>> getGame(Long roomId, Long userId) {
+        LiveGame game = find(roomId, userId);
+        int seat = seatOf(game, userId);
+        return submit(game, () -> StandardResponse.create("200", GameViewDTO.of(game, seat)));
+    }
+
+    public CompletableFuture<StandardResponse<GameViewDTO>> act(Long roomId, Long userId,
+            GameActionRequest request) {
+        LiveGame game = find(roomId, userId);
+        int seat = seatOf(game, userId);
+        int move = request.toMove();
+        return submit(game, () -> apply(game, seat, move));
+    }
+
+    // Runs on the game's mailbox
+    private StandardResponse<GameViewDTO> apply(LiveGame game, int seat, int move) {
+        long started = System.nanoTime();
+        ActionResult result = GameEngine.apply(game.getState(), seat, move);
+        actionTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        GameViewDTO view = GameViewDTO.of(game, seat);
+        if (result != ActionResult.OK) {
+            return StandardResponse.create("400", result.name(), view);
+        }
+        gameLog.applied(game, seat, move);
+        // Listeners run on this thread, so they only queue the room for closing
+        if (view.getPhase() == Phase.FINISHED) {
+            finished.add(game.getRoomId());
+            if (games.remove(game.getRoomId(), game)) {
+                eventPublisher.publishEvent(new GameFinishedEvent(game.getRoomId(), view.getWinner()));
+            }
+            // Until the room is closed, a recovery attempt finds the final snapshot and gives up
+            finished.remove(game.getRoomId());
+        }
+        return StandardResponse.create("200", view);
+    }
+
+    /** True if the room has no game in memory and its logged game already has a winner. */
+    public boolean isOver(long roomId) {
+        if (games.containsKey(roomId)) {
+            return false;
+        }
+        GameSnapshotCodec.Snapshot snapshot = gameLog.load(roomId);
+        return snapshot != null && snapshot.state().phase() == Phase.FINISHED;
+    }
+
+    private CompletableFuture<StandardResponse<GameViewDTO>> submit(LiveGame game,
+            Supplier<StandardResponse<GameViewDTO>> task) {
+        try {
+            return game.getMailbox().submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            return CompletableFuture.completedFuture(
+                    StandardResponse.createMessage("429", "Too many pending actions for this game"));
+        }
+    }
+
+    private LiveGame find(Long roomId, Long userId) {
+        LiveGame game = games.get(roomId);
+        if (game != null) {
+            return game;
+        }
+        // Only a player of a room that is still PLAYING can cause a load, and never inside the map's locks
+        if (finished.contains(roomId) || !roomRegistry.isSeated(roomId, userId)) {
+            throw new RuntimeException("Game not found");
+        }
+        LiveGame recovered = recover(roomId);
+        if (recovered == null) {
+            throw new RuntimeException("Game not found");
+        }
+        LiveGame existing = games.putIfAbsent(roomId, recovered);
+        if (existing != null) {
+            return existing;
+        }
+        // A concurrent recovery may have finished the game while this copy was loading
+        if (finished.contains(roomId) || !roomRegistry.isSeated(roomId, userId)) {
+            games.remove(roomId, recovered);
+            throw new RuntimeException("Game not found");
+        }
+        return recovered;
+    }
+
+    private LiveGame recover(Long roomId) {
+        GameSnapshotCodec.Snapshot snapshot = gameLog.load(roomId);
+        // Finished games stay in the log for audits but are not played any more
+        if (snapshot == null || snapshot.state().phase() == Phase.FINISHED) {
+            return null;
+        }
+        return new LiveGame(roomId, snapshot.userIds(), snapshot.state(), gameExecutor.newMailbox());
+    }
+
+    private static int seatOf(LiveGame game, Long userId) {
+        int seat = game.seatOf(userId);
+        if (seat == Move.NONE) {
+            throw new RuntimeException("User is not playing in this game");
+        }
+        return seat;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.three_kingdom_backend.game;
+
+/**
+ * Mutable state of one game, kept in flat primitive arrays indexed by seat or card id. Hands are
+ * bitsets over card ids, two longs per seat; {@code seenBy[card]} is the bitset of seats that
+ * know where that card is. Nothing here allocates once the game is set up, so a node can hold
+ * thousands of games without GC churn. Only {@link GameEngine} changes it; not thread-safe.
+ */
+public final class GameState {
+
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = 16;
+
+    static final int HAND_WORDS = (Cards.DECK_SIZE + 63) >>> 6;
+    static final int ALL_SEATS = -1;
+
+    final int players;
+    final SplitMix64 rng;
+
+    // Draw pile top is drawPile[drawSize - 1]
+    final int[] drawPile = new int[Cards.DECK_SIZE];
+    int drawSize;
+    final int[] discardPile = new int[Cards.DECK_SIZE];
+    int discardSize;
+
+    final long[] hands;
+    final int[] seenBy = new int[Cards.DECK_SIZE];
+
+    final Role[] roles;
+    final Hero[] heroes;
+    final int[] health;
+    final int[] maxHealth;
+    int lord;
+    int alive;
+    int revealed;
+
+    Phase phase;
+    int current;
+    int strikesPlayed;
+    int pendingSeat = Move.NONE;
+    int pendingSource = Move.NONE;
+    Role winner;
+    long actionCount;
+
+    GameState(int players, long seed) {
+        this.players = players;
+        this.rng = new SplitMix64(seed);
+        this.hands = new long[players * HAND_WORDS];
+        this.roles = new Role[players];
+        this.heroes = new Hero[players];
+        this.health = new int[players];
+        this.maxHealth = new int[players];
+    }
+
+    public int players() {
+        return players;
+    }
+
+    public Phase phase() {
+        return phase;
+    }
+
+    public int currentSeat() {
+        return current;
+    }
+
+    /** The seat whose input the game is waiting for, or {@link Move#NONE} once finished. */
+    public int actingSeat() {
+        return switch (phase) {
+            case PLAY, DISCARD -> current;
+            case RESPOND, DYING -> pendingSeat;
+            case FINISHED -> Move.NONE;
+        };
+    }
+
+    public Role winner() {
+        return winner;
+    }
+
+    public long actionCount() {
+        return actionCount;
+    }
+
+    public Role role(int seat) {
+        return roles[seat];
+    }
+
+    /** True if everybody may see this seat's role: the lord, and anyone who died. */
+    public boolean isRoleRevealed(int seat) {
+        return (revealed & (1 << seat)) != 0;
+    }
+
+    public Hero hero(int seat) {
+        return heroes[seat];
+    }
+
+    public int health(int seat) {
+        return health[seat];
+    }
+
+    public int maxHealth(int seat) {
+        return maxHealth[seat];
+    }
+
+    public boolean isAlive(int seat) {
+        return (alive & (1 << seat)) != 0;
+    }
+
+    public int drawPileSize() {
+        return drawSize;
+    }
+
+    /** Last discarded card, or {@link Move#NONE}. */
+    public int discardTop() {
+        return discardSize > 0 ? discardPile[discardSize - 1] : Move.NONE;
+    }
+
+    public boolean holds(int seat, int card) {
+        return (hands[seat * HAND_WORDS + (card >>> 6)] & (1L << card)) != 0;
+    }
+
+    public int handSize(int seat) {
+        int size = 0;
+        for (int w = 0; w < HAND_WORDS; w++) {
+            size += Long.bitCount(hands[seat * HAND_WORDS + w]);
+        }
+        return size;
+    }
+
+    /** True if {@code viewer} knows that {@code card} is where it is, e.g. in someone's hand. */
+    public boolean isSeenBy(int card, int viewer) {
+        return (seenBy[card] & (1 << viewer)) != 0;
+    }
+
+    /** Writes the cards held by {@code seat} into {@code out} in id order; returns how many. */
+    public int hand(int seat, int[] out) {
+        int size = 0;
+        for (int w = 0; w < HAND_WORDS; w++) {
+            long word = hands[seat * HAND_WORDS + w];
+            while (word != 0) {
+                out[size++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return size;
+    }
+
+    /** The {@code index}-th card of the seat's hand in id order, or {@link Move#NONE}. */
+    int cardAt(int seat, int index) {
+        for (int w = 0; w < HAND_WORDS; w++) {
+            long word = hands[seat * HAND_WORDS + w];
+            int count = Long.bitCount(word);
+            if (index < count) {
+                for (int i = 0; i < index; i++) {
+                    word &= word - 1;
+                }
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            index -= count;
+        }
+        return Move.NONE;
+    }
+
+    void give(int seat, int card) {
+        hands[seat * HAND_WORDS + (card >>> 6)] |= 1L << card;
+    }
+
+    void take(int seat, int card) {
+        hands[seat * HAND_WORDS + (card >>> 6)] &= ~(1L << card);
+    }
+}
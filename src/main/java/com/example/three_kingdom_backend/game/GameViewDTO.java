@@ -0,0 +1,59 @@
+package com.example.three_kingdom_backend.game;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** A game as one seated user may see it: their own hand and role, and public information. */
+@Data
+@NoArgsConstructor
+public class GameViewDTO {
+    private Long roomId;
+    private Phase phase;
+    private int currentSeat;
+    private int actingSeat;
+    private int yourSeat;
+    private List<CardDTO> hand;
+    private List<PlayerViewDTO> players;
+    private int drawPileSize;
+    private CardDTO discardTop;
+    private Role winner;
+
+    static GameViewDTO of(LiveGame game, int viewer) {
+        GameState state = game.getState();
+        GameViewDTO view = new GameViewDTO();
+        view.setRoomId(game.getRoomId());
+        view.setPhase(state.phase());
+        view.setCurrentSeat(state.currentSeat());
+        view.setActingSeat(state.actingSeat());
+        view.setYourSeat(viewer);
+        view.setDrawPileSize(state.drawPileSize());
+        int top = state.discardTop();
+        view.setDiscardTop(top != Move.NONE ? CardDTO.of(top) : null);
+        view.setWinner(state.winner());
+
+        int[] cards = new int[Cards.DECK_SIZE];
+        List<PlayerViewDTO> players = new ArrayList<>(state.players());
+        for (int seat = 0; seat < state.players(); seat++) {
+            int size = state.hand(seat, cards);
+            List<CardDTO> known = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (state.isSeenBy(cards[i], viewer)) {
+                    known.add(CardDTO.of(cards[i]));
+                }
+            }
+            if (seat == viewer) {
+                view.setHand(known);
+                known = List.of();
+            }
+            boolean roleVisible = seat == viewer || state.isRoleRevealed(seat) || state.phase() == Phase.FINISHED;
+            players.add(new PlayerViewDTO(seat, game.userAt(seat), state.hero(seat).displayName(),
+                    roleVisible ? state.role(seat) : null, state.health(seat), state.maxHealth(seat),
+                    state.isAlive(seat), size, known));
+        }
+        view.setPlayers(players);
+        return view;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.three_kingdom_backend.game;
+
+/** Playable heroes and their base health. Hero skills are not modelled yet. */
+public enum Hero {
+    LIU_BEI("Liu Bei", 4),
+    GUAN_YU("Guan Yu", 4),
+    ZHANG_FEI("Zhang Fei", 4),
+    ZHUGE_LIANG("Zhuge Liang", 3),
+    ZHAO_YUN("Zhao Yun", 4),
+    MA_CHAO("Ma Chao", 4),
+    HUANG_YUEYING("Huang Yueying", 3),
+    CAO_CAO("Cao Cao", 4),
+    SIMA_YI("Sima Yi", 3),
+    XIAHOU_DUN("Xiahou Dun", 4),
+    ZHANG_LIAO("Zhang Liao", 4),
+    XU_CHU("Xu Chu", 4),
+    GUO_JIA("Guo Jia", 3),
+    ZHEN_JI("Zhen Ji", 3),
+    SUN_QUAN("Sun Quan", 4),
+    GAN_NING("Gan Ning", 4),
+    LU_MENG("Lu Meng", 4),
+    HUANG_GAI("Huang Gai", 4),
+    ZHOU_YU("Zhou Yu", 3),
+    DA_QIAO("Da Qiao", 3),
+    LU_XUN("Lu Xun", 3),
+    SUN_SHANGXIANG("Sun Shangxiang", 3),
+    HUA_TUO("Hua Tuo", 3),
+    LU_BU("Lu Bu", 4),
+    DIAO_CHAN("Diao Chan", 3);
+
+    private final String displayName;
+    private final int health;
+
+    Hero(String displayName, int health) {
+        this.displayName = displayName;
+        this.health = health;
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+
+    public int health() {
+        return health;
+    }
+}
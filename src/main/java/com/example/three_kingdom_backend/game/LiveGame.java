@@ -0,0 +1,50 @@
+package com.example.three_kingdom_backend.game;
+
+/**
+ * A running game and which user sits in which seat. The state is only touched by tasks run
+ * through the game's {@link Mailbox}.
+ */
+final class LiveGame {
+
+    private final long roomId;
+    private final long[] userIds;
+    private final GameState state;
+    private final Mailbox mailbox;
+
+    LiveGame(long roomId, long[] userIds, GameState state, Mailbox mailbox) {
+        this.roomId = roomId;
+        this.userIds = userIds;
+        this.state = state;
+        this.mailbox = mailbox;
+    }
+
+    long getRoomId() {
+        return roomId;
+    }
+
+    GameState getState() {
+        return state;
+    }
+
+    Mailbox getMailbox() {
+        return mailbox;
+    }
+
+    long[] userIds() {
+        return userIds;
+    }
+
+    long userAt(int seat) {
+        return userIds[seat];
+    }
+
+    /** The user's seat, or {@link Move#NONE} if they are not playing. */
+    int seatOf(long userId) {
+        for (int seat = 0; seat < userIds.length; seat++) {
+            if (userIds[seat] == userId) {
+                return seat;
+            }
+        }
+        return Move.NONE;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.three_kingdom_backend.game;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs one game's tasks one at a time, in submission order, on a shared executor. At most one
+ * drain of a mailbox is queued or running at any time, so the tasks never overlap and need no
+ * locks, while different mailboxes run in parallel. A drain hands its thread back after
+ * {@link #BATCH} tasks so a busy game cannot starve the others.
+ */
+final class Mailbox implements Runnable {
+
+    static final int BATCH = 32;
+
+    private final Executor executor;
+    private final int maxPending;
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    // Tasks queued or running; the mailbox is scheduled exactly while this is above zero
+    private final AtomicInteger pending = new AtomicInteger();
+
+    Mailbox(Executor executor, int maxPending) {
+        this.executor = executor;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Queues a task and returns its result as a future.
+     *
+     * @throws RejectedExecutionException if {@code maxPending} tasks are already waiting
+     */
+    <T> CompletableFuture<T> submit(Supplier<T> task) {
+        // Approximate under contention, which is fine for a back-pressure limit
+        if (pending.get() >= maxPending) {
+            throw new RejectedExecutionException("Mailbox is full");
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        queue.add(() -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        if (pending.getAndIncrement() == 0) {
+            executor.execute(this);
+        }
+        return future;
+    }
+
+    int pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void run() {
+        for (int i = 0; i < BATCH; i++) {
+            // Never null: a task is queued before it is counted
+            queue.poll().run();
+            if (pending.decrementAndGet() == 0) {
+                return;
+            }
+        }
+        executor.execute(this);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.three_kingdom_backend.game;
+
+/**
+ * An action packed into an int: type in bits 0-3, card + 1 in bits 4-11, target seat + 1 in
+ * bits 12-19. Lets bots and benchmarks enumerate and apply moves without allocating.
+ */
+public final class Move {
+
+    public static final int NONE = -1;
+
+    /** Upper bound on {@link GameEngine#legalMoves} results: every card at every other seat, plus END. */
+    public static final int MAX_LEGAL = 1 + Cards.DECK_SIZE * (GameState.MAX_PLAYERS - 1);
+
+    private static final ActionType[] TYPES = ActionType.values();
+
+    private Move() {
+    }
+
+    public static int of(ActionType type, int card, int target) {
+        return type.ordinal() | (card + 1) << 4 | (target + 1) << 12;
+    }
+
+    public static ActionType type(int move) {
+        return TYPES[move & 0xF];
+    }
+
+    public static int card(int move) {
+        return ((move >>> 4) & 0xFF) - 1;
+    }
+
+    public static int target(int move) {
+        return ((move >>> 12) & 0xFF) - 1;
+    }
+}
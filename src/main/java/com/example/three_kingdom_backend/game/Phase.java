@@ -0,0 +1,17 @@
+package com.example.three_kingdom_backend.game;
+
+/**
+ * Where a game is waiting for input. Drawing happens automatically when a turn starts, so the
+ * current player always starts in PLAY.
+ */
+public enum Phase {
+    /** The current player plays cards or ends the phase. */
+    PLAY,
+    /** The target of a Strike plays a Dodge or takes the damage. */
+    RESPOND,
+    /** A player at 0 health plays a Peach or dies. */
+    DYING,
+    /** The current player discards down to their health. */
+    DISCARD,
+    FINISHED
+}
@@ -0,0 +1,24 @@
+package com.example.three_kingdom_backend.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerViewDTO {
+    private int seat;
+    private Long userId;
+    private String hero;
+    // Null while hidden from the viewer
+    private Role role;
+    private int health;
+    private int maxHealth;
+    private boolean alive;
+    private int handSize;
+    // Cards in this player's hand the viewer has seen, e.g. ones they snatched
+    private List<CardDTO> knownCards;
+}
@@ -0,0 +1,8 @@
+package com.example.three_kingdom_backend.game;
+
+public enum Role {
+    LORD,
+    LOYALIST,
+    REBEL,
+    TRAITOR
+}
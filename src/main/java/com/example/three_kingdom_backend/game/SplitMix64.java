@@ -0,0 +1,42 @@
+package com.example.three_kingdom_backend.game;
+
+/**
+ * Small, fast, seedable generator (Steele, Lea and Flood's SplitMix64). Each game owns one, so a
+ * game is fully determined by its seed and the actions applied to it. Not thread-safe.
+ */
+public final class SplitMix64 {
+
+    private long state;
+
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    /** The generator's position; {@code new SplitMix64(state())} continues the same sequence. */
+    public long state() {
+        return state;
+    }
+
+    public long nextLong() {
+        long z = (state += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Uniform in [0, bound); same rejection scheme as {@link java.util.Random#nextInt(int)}. */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        int r = (int) (nextLong() >>> 33);
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return (int) ((bound * (long) r) >> 31);
+        }
+        for (int u = r; u - (r = u % bound) + m < 0; u = (int) (nextLong() >>> 33)) {
+            // retry the biased tail
+        }
+        return r;
+    }
+}
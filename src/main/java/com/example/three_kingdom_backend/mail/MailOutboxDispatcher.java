@@ -0,0 +1,153 @@
+package com.example.three_kingdom_backend.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains mail_outbox in the background. Each batch goes out through a single
+ * {@link JavaMailSender#send(SimpleMailMessage...)} call, i.e. one SMTP connection per batch.
+ * Failed messages are retried with exponential backoff and dead-lettered after
+ * {@code mail.outbox.max-attempts}.
+ */
+@Component
+public class MailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    // Bounds one poll so a large backlog cannot monopolize the scheduler thread
+    private static final int MAX_BATCHES_PER_POLL = 20;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MailOutboxStore store;
+    private final JavaMailSender mailSender;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long leaseMillis;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+
+    public MailOutboxDispatcher(
+            MailOutboxStore store,
+            JavaMailSender mailSender,
+            MeterRegistry meterRegistry,
+            @Value("${mail.outbox.batch-size}") int batchSize,
+            @Value("${mail.outbox.max-attempts}") int maxAttempts,
+            @Value("${mail.outbox.initial-backoff}") long initialBackoffMillis,
+            @Value("${mail.outbox.max-backoff}") long maxBackoffMillis,
+            @Value("${mail.outbox.lease}") long leaseMillis) {
+        this.store = store;
+        this.mailSender = mailSender;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.leaseMillis = leaseMillis;
+        this.sentCounter = Counter.builder("mail.outbox.sent").register(meterRegistry);
+        this.retriedCounter = Counter.builder("mail.outbox.retried").register(meterRegistry);
+        this.deadCounter = Counter.builder("mail.outbox.dead").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval}")
+    public void dispatchPending() {
+        for (int i = 0; i < MAX_BATCHES_PER_POLL; i++) {
+            Instant now = Instant.now();
+            List<PendingMail> batch = store.claim(batchSize, now, now.plusMillis(leaseMillis));
+            if (batch.isEmpty()) {
+                return;
+            }
+            deliver(batch, now);
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    void deliver(List<PendingMail> batch, Instant now) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = toMessage(batch.get(i));
+        }
+
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failures.putAll(e.getFailedMessages());
+            if (failures.isEmpty()) {
+                failAll(messages, e, failures);
+            }
+        } catch (MailException e) {
+            // Connection or authentication failure: nothing went out
+            failAll(messages, e, failures);
+        }
+
+        List<Long> sent = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Exception failure = failures.get(messages[i]);
+            if (failure == null) {
+                sent.add(batch.get(i).id());
+            } else {
+                recordFailure(batch.get(i), failure, now);
+            }
+        }
+        store.markSent(sent);
+        sentCounter.increment(sent.size());
+    }
+
+    long backoffMillis(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        long delay = initialBackoffMillis << doublings;
+        return delay <= 0 || delay > maxBackoffMillis ? maxBackoffMillis : delay;
+    }
+
+    private void recordFailure(PendingMail mail, Exception failure, Instant now) {
+        int attempts = mail.attempts() + 1;
+        String error = truncate(String.valueOf(failure.getMessage()));
+        if (attempts >= maxAttempts) {
+            store.markDead(mail.id(), attempts, error);
+            deadCounter.increment();
+            logger.error("Mail outbox - giving up on message {} to {} after {} attempts: {}",
+                    mail.id(), mail.recipient(), attempts, error);
+        } else {
+            store.scheduleRetry(mail.id(), attempts, now.plusMillis(backoffMillis(attempts)), error);
+            retriedCounter.increment();
+            logger.warn("Mail outbox - message {} failed (attempt {}), will retry: {}", mail.id(), attempts, error);
+        }
+    }
+
+    private static void failAll(SimpleMailMessage[] messages, Exception e, Map<Object, Exception> failures) {
+        for (SimpleMailMessage message : messages) {
+            failures.put(message, e);
+        }
+    }
+
+    private static SimpleMailMessage toMessage(PendingMail mail) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(mail.recipient());
+        message.setSubject(mail.subject());
+        message.setText(mail.body());
+        return message;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.three_kingdom_backend.mail;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long> {
+}
@@ -0,0 +1,79 @@
+package com.example.three_kingdom_backend.mail;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access to mail_outbox for the dispatcher. Rows are claimed with a lease using
+ * {@code FOR UPDATE SKIP LOCKED}, so several nodes can drain the outbox without sending a mail
+ * twice; a claim whose node dies is picked up again once its lease runs out.
+ */
+@Component
+public class MailOutboxStore {
+
+    private static final String CLAIM_SQL = """
+            UPDATE mail_outbox SET locked_until = ?
+            WHERE id IN (
+                SELECT id FROM mail_outbox
+                WHERE status = 'PENDING'
+                  AND next_attempt_at <= ?
+                  AND (locked_until IS NULL OR locked_until < ?)
+                ORDER BY next_attempt_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING id, recipient, subject, body, attempts
+            """;
+
+    // Sent mail is deleted rather than kept: bodies carry OTPs and temporary passwords
+    private static final String DELETE_SQL = "DELETE FROM mail_outbox WHERE id = ?";
+
+    private static final String RETRY_SQL = """
+            UPDATE mail_outbox
+            SET attempts = ?, next_attempt_at = ?, locked_until = NULL, last_error = ?
+            WHERE id = ?
+            """;
+
+    // The body is cleared for the same reason; recipient, subject and error stay for inspection
+    private static final String DEAD_SQL = """
+            UPDATE mail_outbox
+            SET status = 'DEAD', attempts = ?, locked_until = NULL, last_error = ?, body = ''
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MailOutboxStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<PendingMail> claim(int limit, Instant now, Instant leaseUntil) {
+        return jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new PendingMail(rs.getLong("id"), rs.getString("recipient"),
+                        rs.getString("subject"), rs.getString("body"), rs.getInt("attempts")),
+                Timestamp.from(leaseUntil), Timestamp.from(now), Timestamp.from(now), limit);
+    }
+
+    public void markSent(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            batch.add(new Object[] { id });
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, batch);
+    }
+
+    public void scheduleRetry(long id, int attempts, Instant nextAttemptAt, String error) {
+        jdbcTemplate.update(RETRY_SQL, attempts, Timestamp.from(nextAttemptAt), error, id);
+    }
+
+    public void markDead(long id, int attempts, String error) {
+        jdbcTemplate.update(DEAD_SQL, attempts, error, id);
+    }
+}
@@ -1,20 +1,25 @@
 package com.example.three_kingdom_backend.mail;
 
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class MailService {
-    private final JavaMailSender mailSender;
+    private final MailOutboxRepository mailOutboxRepository;
 
+    /**
+     * Queues the mail in mail_outbox as part of the caller's transaction; MailOutboxDispatcher
+     * delivers it after commit. Nothing is sent if the transaction rolls back, and an SMTP
+     * outage no longer fails or slows down the caller.
+     */
+    @Transactional
     public void send(String to, String subject, String text) {
-        var msg = new SimpleMailMessage();
-        msg.setTo(to);
+        var msg = new MailOutboxMessage();
+        msg.setRecipient(to);
         msg.setSubject(subject);
-        msg.setText(text);
-        mailSender.send(msg);
+        msg.setBody(text);
+        mailOutboxRepository.save(msg);
     }
 }
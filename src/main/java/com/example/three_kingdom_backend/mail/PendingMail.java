@@ -0,0 +1,5 @@
+package com.example.three_kingdom_backend.mail;
+
+/** An outbox row claimed for delivery; {@code attempts} counts earlier failed deliveries. */
+public record PendingMail(long id, String recipient, String subject, String body, int attempts) {
+}
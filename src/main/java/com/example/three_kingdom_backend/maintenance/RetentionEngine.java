@@ -0,0 +1,147 @@
+package com.example.three_kingdom_backend.maintenance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes (or archives) rows matching a {@link RetentionJob} in small batches walked in key
+ * order. Each batch is its own short statement (rows locked by someone else are skipped), with a
+ * pause between batches, so a large backlog is worked off without long locks or a burst of WAL.
+ * A run stops after {@code maintenance.retention.max-run-time} and the next run carries on.
+ */
+@Component
+public class RetentionEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetentionEngine.class);
+
+    // Deletes one keyset batch and reports how many rows went and the highest key seen
+    private static final String BATCH_SQL = """
+            WITH batch AS (
+                SELECT %2$s FROM %1$s
+                WHERE %2$s > ? AND (%3$s)
+                ORDER BY %2$s
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), deleted AS (
+                DELETE FROM %1$s t USING batch WHERE t.%2$s = batch.%2$s RETURNING t.%2$s
+            )
+            SELECT COUNT(*) AS deleted, COALESCE(MAX(%2$s), -1) AS last_key FROM deleted
+            """;
+
+    // Same batch, but the deleted rows are inserted into the archive table by the same statement
+    private static final String ARCHIVE_BATCH_SQL = """
+            WITH batch AS (
+                SELECT %2$s FROM %1$s
+                WHERE %2$s > ? AND (%3$s)
+                ORDER BY %2$s
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), deleted AS (
+                DELETE FROM %1$s t USING batch WHERE t.%2$s = batch.%2$s RETURNING %5$s
+            ), archived AS (
+                INSERT INTO %4$s (%6$s) SELECT %6$s FROM deleted
+            )
+            SELECT COUNT(*) AS deleted, COALESCE(MAX(%2$s), -1) AS last_key FROM deleted
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final long maxRunTimeMillis;
+
+    public RetentionEngine(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${maintenance.retention.batch-size}") int batchSize,
+            @Value("${maintenance.retention.batch-pause}") long batchPauseMillis,
+            @Value("${maintenance.retention.max-run-time}") long maxRunTimeMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        this.maxRunTimeMillis = maxRunTimeMillis;
+    }
+
+    public RetentionRun run(RetentionJob job) {
+        String sql = sql(job);
+        Instant now = Instant.now();
+        Object[] predicateArgs = job.predicateArgs(now);
+        long started = System.nanoTime();
+        long deadline = started + Duration.ofMillis(maxRunTimeMillis).toNanos();
+
+        long cursor = -1;
+        long total = 0;
+        int batches = 0;
+        boolean completed = false;
+        while (true) {
+            long[] result = jdbcTemplate.queryForObject(sql,
+                    (rs, rowNum) -> new long[] { rs.getLong("deleted"), rs.getLong("last_key") },
+                    batchArgs(cursor, predicateArgs));
+            batches++;
+            total += result[0];
+            if (result[0] < batchSize) {
+                completed = true;
+                break;
+            }
+            cursor = result[1];
+            if (System.nanoTime() >= deadline || !pause()) {
+                break;
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        Counter.builder("maintenance.retention.rows").tag("job", job.name()).register(meterRegistry)
+                .increment(total);
+        Timer.builder("maintenance.retention.duration").tag("job", job.name()).register(meterRegistry)
+                .record(elapsed);
+        logger.info("Retention - {} removed {} rows in {} batches, {} ms{}", job.name(), total, batches,
+                elapsed.toMillis(), completed ? "" : " (time budget reached, continuing next run)");
+        return new RetentionRun(job.name(), total, batches, elapsed, completed);
+    }
+
+    private static String sql(RetentionJob job) {
+        if (job.archiveTable() == null) {
+            return BATCH_SQL.formatted(job.table(), job.keyColumn(), job.predicate());
+        }
+        List<String> columns = job.archiveColumns();
+        if (!columns.contains(job.keyColumn())) {
+            throw new IllegalStateException("Archive columns of " + job.name() + " must include " + job.keyColumn());
+        }
+        String returning = columns.stream().map(column -> "t." + column).collect(Collectors.joining(", "));
+        return ARCHIVE_BATCH_SQL.formatted(job.table(), job.keyColumn(), job.predicate(), job.archiveTable(),
+                returning, String.join(", ", columns));
+    }
+
+    private Object[] batchArgs(long cursor, Object[] predicateArgs) {
+        Object[] args = new Object[predicateArgs.length + 2];
+        args[0] = cursor;
+        System.arraycopy(predicateArgs, 0, args, 1, predicateArgs.length);
+        args[args.length - 1] = batchSize;
+        return args;
+    }
+
+    private boolean pause() {
+        if (batchPauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.three_kingdom_backend.maintenance;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A table whose stale rows are deleted by {@link RetentionEngine}, or moved to an archive table.
+ * Rows are visited in primary key order, so the key column must be a unique, indexed, numeric
+ * column.
+ */
+public interface RetentionJob {
+
+    String name();
+
+    String table();
+
+    default String keyColumn() {
+        return "id";
+    }
+
+    /** SQL condition selecting the rows to delete, with {@code ?} placeholders for {@link #predicateArgs}. */
+    String predicate();
+
+    Object[] predicateArgs(Instant now);
+
+    /** Table that receives the removed rows in the same statement, or null to just delete them. */
+    default String archiveTable() {
+        return null;
+    }
+
+    /**
+     * Columns copied into {@link #archiveTable()}, including the key column. Named explicitly so
+     * the copy never depends on column order; a migration adding a column to the table adds it to
+     * the archive table too, and here.
+     */
+    default List<String> archiveColumns() {
+        return List.of();
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.three_kingdom_backend.maintenance;
+
+import java.time.Duration;
+
+public record RetentionRun(String job, long rowsDeleted, int batches, Duration elapsed, boolean completed) {
+}
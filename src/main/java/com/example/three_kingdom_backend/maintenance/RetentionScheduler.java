@@ -0,0 +1,34 @@
+package com.example.three_kingdom_backend.maintenance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/** Runs every registered {@link RetentionJob} in turn; one failing job does not stop the others. */
+@Component
+public class RetentionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetentionScheduler.class);
+
+    private final RetentionEngine engine;
+    private final List<RetentionJob> jobs;
+
+    public RetentionScheduler(RetentionEngine engine, List<RetentionJob> jobs) {
+        this.engine = engine;
+        this.jobs = jobs;
+    }
+
+    @Scheduled(fixedDelayString = "${maintenance.retention.interval}", initialDelayString = "${maintenance.retention.interval}")
+    public void runAll() {
+        for (RetentionJob job : jobs) {
+            try {
+                engine.run(job);
+            } catch (RuntimeException e) {
+                logger.error("Retention - {} failed", job.name(), e);
+            }
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.three_kingdom_backend.room;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.Data;
 
 @Data
 public class CreateRoomRequest {
     private String password;
     private String description;
+
+    @Min(value = Room.MIN_CAPACITY, message = "Capacity must be at least " + Room.MIN_CAPACITY)
+    @Max(value = Room.MAX_CAPACITY, message = "Capacity must be at most " + Room.MAX_CAPACITY)
+    private Integer capacity;
 }
@@ -0,0 +1,169 @@
+package com.example.three_kingdom_backend.room;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * In-memory state of an OPENING or PLAYING room held by {@link RoomRegistry}. Members are a sorted
+ * {@code long[]} replaced on every change while holding the room's monitor, so readers never lock
+ * and never see a half-applied join or leave.
+ */
+final class LiveRoom {
+
+    private static final long[] NO_MEMBERS = new long[0];
+
+    private final long id;
+    private final long ownerId;
+    private final String ownerUsername;
+    private final String description;
+    private final String password;
+    private final int capacity;
+    private final Date createdAt;
+    private volatile STATUS status;
+    private final Date updatedAt;
+    private volatile long[] members = NO_MEMBERS;
+    private volatile long lastActivityAt;
+    private volatile boolean closed;
+
+    LiveRoom(long id, long ownerId, String ownerUsername, String description, String password, int capacity,
+            STATUS status, Date createdAt, Date updatedAt) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.ownerUsername = ownerUsername;
+        this.description = description;
+        this.password = password;
+        this.capacity = capacity;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.lastActivityAt = System.currentTimeMillis();
+    }
+
+    long getId() {
+        return id;
+    }
+
+    long getOwnerId() {
+        return ownerId;
+    }
+
+    STATUS getStatus() {
+        return status;
+    }
+
+    LobbyCursor lobbyKey() {
+        return new LobbyCursor(createdAt, id);
+    }
+
+    boolean isPasswordProtected() {
+        return password != null && !password.isEmpty();
+    }
+
+    boolean acceptsPassword(String provided) {
+        return !isPasswordProtected() || password.equals(provided != null ? provided : "");
+    }
+
+    boolean hasMember(long userId) {
+        return Arrays.binarySearch(members, userId) >= 0;
+    }
+
+    int memberCount() {
+        return members.length;
+    }
+
+    /** Epoch millis of the last join or leave, or of loading the room if nobody moved since. */
+    long lastActivityAt() {
+        return lastActivityAt;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /** Stops further joins. Returns false if the room was already closed or its game started. */
+    synchronized boolean close() {
+        if (closed || status != STATUS.OPENING) {
+            return false;
+        }
+        closed = true;
+        return true;
+    }
+
+    /**
+     * Takes a seat for the user if one is free. Check and insert happen under the room's monitor,
+     * so concurrent joiners can never over-fill the room.
+     */
+    synchronized RoomRegistry.JoinResult seat(long userId) {
+        if (closed) {
+            return RoomRegistry.JoinResult.CLOSED;
+        }
+        if (status != STATUS.OPENING) {
+            return RoomRegistry.JoinResult.STARTED;
+        }
+        if (hasMember(userId)) {
+            return RoomRegistry.JoinResult.ALREADY_MEMBER;
+        }
+        if (members.length >= capacity) {
+            return RoomRegistry.JoinResult.FULL;
+        }
+        addMember(userId);
+        lastActivityAt = System.currentTimeMillis();
+        return RoomRegistry.JoinResult.JOINED;
+    }
+
+    /**
+     * Moves an open room to PLAYING and returns its members in seat order, or null if it is closed
+     * or already playing. No one can join or leave the member list returned here.
+     */
+    synchronized long[] start() {
+        if (closed || status != STATUS.OPENING) {
+            return null;
+        }
+        status = STATUS.PLAYING;
+        lastActivityAt = System.currentTimeMillis();
+        return members.clone();
+    }
+
+    /** Returns false if the user already was a member. Does not check capacity. */
+    synchronized boolean addMember(long userId) {
+        long[] current = members;
+        int index = Arrays.binarySearch(current, userId);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        long[] next = new long[current.length + 1];
+        System.arraycopy(current, 0, next, 0, insertAt);
+        next[insertAt] = userId;
+        System.arraycopy(current, insertAt, next, insertAt + 1, current.length - insertAt);
+        members = next;
+        return true;
+    }
+
+    /** Returns false if the user was not a member, or if the game started and their seat is fixed. */
+    synchronized boolean removeMember(long userId) {
+        if (status != STATUS.OPENING) {
+            return false;
+        }
+        long[] current = members;
+        int index = Arrays.binarySearch(current, userId);
+        if (index < 0) {
+            return false;
+        }
+        long[] next = new long[current.length - 1];
+        System.arraycopy(current, 0, next, 0, index);
+        System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+        members = next;
+        lastActivityAt = System.currentTimeMillis();
+        return true;
+    }
+
+    RoomDTO toDTO() {
+        return new RoomDTO(id, ownerId, ownerUsername, description, status, capacity, createdAt, updatedAt);
+    }
+
+    LobbyRoomDTO toLobbyDTO() {
+        return new LobbyRoomDTO(id, ownerId, ownerUsername, description, status, isPasswordProtected(),
+                capacity, memberCount(), createdAt);
+    }
+}
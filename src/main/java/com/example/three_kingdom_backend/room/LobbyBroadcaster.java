@@ -0,0 +1,382 @@
+package com.example.three_kingdom_backend.room;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes lobby deltas to Server-Sent Events subscribers. Each change is serialized once and the
+ * same frame is queued for every subscriber. A subscriber's queue keeps only the latest frame per
+ * room, and a small pool of sender threads drains one subscriber at a time, so a slow client only
+ * delays itself. When a queue overflows it is replaced by a single "resync" event telling the
+ * client to reload the lobby page. A client that stays stuck on a write past
+ * {@code rooms.lobby-stream.slow-consumer-timeout} is disconnected. Completing its emitter does not
+ * interrupt a blocked socket write, so its sender thread is also written off: the pool grows by
+ * one thread until that write returns or fails, up to {@code rooms.lobby-stream.max-stalled-writers}.
+ */
+@Component
+public class LobbyBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(LobbyBroadcaster.class);
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor senders;
+    private final int threads;
+    private final int maxStalledWriters;
+    private final long emitterTimeoutMillis;
+    private final int maxSubscribers;
+    private final int maxPending;
+    private final long slowConsumerTimeoutMillis;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger stalledWriters = new AtomicInteger();
+
+    private final Counter sentCounter;
+    private final Counter coalescedCounter;
+    private final Counter resyncCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public LobbyBroadcaster(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${rooms.lobby-stream.threads}") int threads,
+            @Value("${rooms.lobby-stream.timeout}") long emitterTimeoutMillis,
+            @Value("${rooms.lobby-stream.max-subscribers}") int maxSubscribers,
+            @Value("${rooms.lobby-stream.max-pending}") int maxPending,
+            @Value("${rooms.lobby-stream.slow-consumer-timeout}") long slowConsumerTimeoutMillis,
+            @Value("${rooms.lobby-stream.max-stalled-writers}") int maxStalledWriters) {
+        this(objectMapper, meterRegistry, new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new SenderThreadFactory()), emitterTimeoutMillis, maxSubscribers,
+                maxPending, slowConsumerTimeoutMillis, maxStalledWriters);
+    }
+
+    LobbyBroadcaster(ObjectMapper objectMapper, MeterRegistry meterRegistry, ThreadPoolExecutor senders,
+            long emitterTimeoutMillis, int maxSubscribers, int maxPending, long slowConsumerTimeoutMillis,
+            int maxStalledWriters) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.senders = senders;
+        this.threads = senders.getCorePoolSize();
+        this.maxStalledWriters = maxStalledWriters;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPending = maxPending;
+        this.slowConsumerTimeoutMillis = slowConsumerTimeoutMillis;
+        this.sentCounter = Counter.builder("rooms.lobby_stream.sent")
+                .description("Lobby events written to subscribers")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("rooms.lobby_stream.coalesced")
+                .description("Lobby events replaced by a newer event for the same room before being sent")
+                .register(meterRegistry);
+        this.resyncCounter = Counter.builder("rooms.lobby_stream.resyncs")
+                .description("Subscriber queues that overflowed and were replaced by a resync event")
+                .register(meterRegistry);
+        Gauge.builder("rooms.lobby_stream.subscribers", subscribers, Set::size).register(meterRegistry);
+        Gauge.builder("rooms.lobby_stream.stalled_writers", stalledWriters, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream. Clients should load the lobby page after subscribing, so that no change can
+     * fall between the page and the first delta.
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(emitterTimeoutMillis));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many lobby subscribers");
+        }
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> drop(subscriber, "timeout"));
+        emitter.onError(error -> drop(subscriber, "error"));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Frame frame = new Frame(LobbyDelta.of(event), event.room());
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, frame);
+        }
+    }
+
+    /** Drops subscribers stuck on a write and pings the rest, which also detects dead connections. */
+    @Scheduled(fixedDelayString = "${rooms.lobby-stream.heartbeat-interval}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            long startedAt = subscriber.drainStartedAt;
+            if (startedAt != 0 && now - startedAt > slowConsumerTimeoutMillis) {
+                releaseWriter(subscriber);
+                drop(subscriber, "slow");
+                continue;
+            }
+            synchronized (subscriber) {
+                subscriber.heartbeat = true;
+                schedule(subscriber);
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private void offer(Subscriber subscriber, Frame frame) {
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            if (!subscriber.resync) {
+                Long roomId = frame.delta.roomId();
+                Frame previous = subscriber.pending.remove(roomId);
+                Frame merged = merge(previous, frame);
+                if (previous != null) {
+                    coalescedCounter.increment();
+                }
+                if (merged != null) {
+                    subscriber.pending.put(roomId, merged);
+                }
+                if (subscriber.pending.size() > maxPending) {
+                    subscriber.pending.clear();
+                    subscriber.resync = true;
+                    resyncCounter.increment();
+                }
+            }
+            schedule(subscriber);
+        }
+    }
+
+    /** Latest frame wins, except that a room the client has not seen yet must still arrive as created. */
+    private static Frame merge(Frame previous, Frame next) {
+        if (previous == null || !previous.isCreated()) {
+            return next;
+        }
+        if (next.delta.type().equals(LobbyDelta.CLOSED)) {
+            return null;
+        }
+        return next.asCreated();
+    }
+
+    /** Must hold the subscriber's monitor. */
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled || subscriber.closed) {
+            return;
+        }
+        subscriber.scheduled = true;
+        senders.execute(() -> drain(subscriber));
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            drainPending(subscriber);
+        } finally {
+            reclaimWriter(subscriber);
+        }
+    }
+
+    private void drainPending(Subscriber subscriber) {
+        while (true) {
+            List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+            synchronized (subscriber) {
+                if (subscriber.closed) {
+                    return;
+                }
+                if (subscriber.resync) {
+                    events.add(SseEmitter.event().name(RESYNC_EVENT).data("{}"));
+                    subscriber.resync = false;
+                } else {
+                    for (Frame frame : subscriber.pending.values()) {
+                        events.add(SseEmitter.event().name(frame.delta.type()).data(frame.json));
+                    }
+                }
+                subscriber.pending.clear();
+                if (subscriber.heartbeat) {
+                    events.add(SseEmitter.event().comment("ping"));
+                    subscriber.heartbeat = false;
+                }
+                if (events.isEmpty()) {
+                    subscriber.scheduled = false;
+                    subscriber.drainStartedAt = 0;
+                    return;
+                }
+                subscriber.drainStartedAt = System.currentTimeMillis();
+            }
+            try {
+                for (SseEmitter.SseEventBuilder event : events) {
+                    subscriber.emitter.send(event);
+                }
+                sentCounter.increment(events.size());
+            } catch (IOException | IllegalStateException e) {
+                drop(subscriber, "error");
+                return;
+            }
+        }
+    }
+
+    /** Lets the pool replace a sender thread blocked writing to this subscriber. */
+    private void releaseWriter(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.closed || subscriber.writerReleased || !subscriber.scheduled) {
+                return;
+            }
+            if (stalledWriters.getAndUpdate(n -> n < maxStalledWriters ? n + 1 : n) >= maxStalledWriters) {
+                return;
+            }
+            subscriber.writerReleased = true;
+        }
+        resizeSenders();
+    }
+
+    /** Runs when a drain returns its thread to the pool; shrinks the pool back if it had been replaced. */
+    private void reclaimWriter(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (!subscriber.writerReleased) {
+                return;
+            }
+            subscriber.writerReleased = false;
+        }
+        stalledWriters.decrementAndGet();
+        resizeSenders();
+    }
+
+    private void resizeSenders() {
+        synchronized (senders) {
+            int size = threads + stalledWriters.get();
+            // The core size may never exceed the maximum, so grow the maximum first and shrink it last
+            if (size > senders.getMaximumPoolSize()) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            subscriber.closed = true;
+            subscriber.pending.clear();
+        }
+        subscribers.remove(subscriber);
+        meterRegistry.counter("rooms.lobby_stream.dropped", "reason", reason).increment();
+        logger.debug("Lobby stream - dropped subscriber ({})", reason);
+        try {
+            subscriber.emitter.complete();
+        } catch (RuntimeException e) {
+            // Already completed by the container
+        }
+    }
+
+    private String serialize(LobbyDelta delta) {
+        try {
+            return objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize lobby delta", e);
+        }
+    }
+
+    /** One change shared by every subscriber, serialized once when it is created. */
+    private final class Frame {
+        private final LobbyDelta delta;
+        private final LobbyRoomDTO room;
+        private final String json;
+        private Frame created;
+
+        Frame(LobbyDelta delta, LobbyRoomDTO room) {
+            this.delta = delta;
+            this.room = room;
+            this.json = serialize(delta);
+        }
+
+        boolean isCreated() {
+            return delta.type().equals(LobbyDelta.CREATED);
+        }
+
+        /** The same change as a "created" event, for subscribers that have not seen the room yet. */
+        synchronized Frame asCreated() {
+            if (isCreated()) {
+                return this;
+            }
+            if (created == null) {
+                created = new Frame(LobbyDelta.created(room), room);
+            }
+            return created;
+        }
+    }
+
+    /** Per-connection state; guarded by its own monitor except where noted. */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final LinkedHashMap<Long, Frame> pending = new LinkedHashMap<>();
+        private boolean resync;
+        private boolean heartbeat;
+        private boolean scheduled;
+        private boolean closed;
+        // Set while a sender thread stuck writing to this subscriber has been replaced in the pool
+        private boolean writerReleased;
+        // Read without the lock by sweep(); 0 while idle
+        private volatile long drainStartedAt;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    private static final class SenderThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "lobby-stream-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
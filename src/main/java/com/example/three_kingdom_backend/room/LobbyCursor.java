@@ -0,0 +1,41 @@
+package com.example.three_kingdom_backend.room;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+
+/**
+ * Position in the lobby ordering (created_at DESC, id DESC), handed to clients as an opaque
+ * URL-safe token so the encoding can change without breaking the API.
+ */
+record LobbyCursor(Date createdAt, Long id) {
+
+    static final Comparator<LobbyCursor> NEWEST_FIRST = Comparator.comparing(LobbyCursor::createdAt)
+            .thenComparing(LobbyCursor::id)
+            .reversed();
+
+    static LobbyCursor after(LobbyRoomDTO room) {
+        return new LobbyCursor(room.getCreatedAt(), room.getId());
+    }
+
+    String encode() {
+        String raw = createdAt.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static LobbyCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new LobbyCursor(new Date(Long.parseLong(raw.substring(0, separator))),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            // Also covers malformed Base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.three_kingdom_backend.room;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Wire format of a lobby stream event. Only "created" carries the whole lobby row; updates carry
+ * the member count and status, and "closed" just the room id.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+record LobbyDelta(String type, Long roomId, Long memberCount, STATUS status, LobbyRoomDTO room) {
+
+    static final String CREATED = "room-created";
+    static final String MEMBERS_CHANGED = "members-changed";
+    static final String STATUS_CHANGED = "status-changed";
+    static final String CLOSED = "room-closed";
+
+    static LobbyDelta created(LobbyRoomDTO room) {
+        return new LobbyDelta(CREATED, room.getId(), null, null, room);
+    }
+
+    static LobbyDelta of(RoomChangedEvent event) {
+        LobbyRoomDTO room = event.room();
+        return switch (event.type()) {
+            case CREATED -> created(room);
+            case MEMBERS_CHANGED -> new LobbyDelta(MEMBERS_CHANGED, room.getId(), room.getMemberCount(),
+                    room.getStatus(), null);
+            case STATUS_CHANGED -> new LobbyDelta(STATUS_CHANGED, room.getId(), room.getMemberCount(),
+                    room.getStatus(), null);
+            case CLOSED -> new LobbyDelta(CLOSED, room.getId(), null, null, null);
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.three_kingdom_backend.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** One lobby page; pass {@code nextCursor} back to get the following page, null on the last one. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbyPageDTO {
+    private List<LobbyRoomDTO> rooms;
+    private String nextCursor;
+}
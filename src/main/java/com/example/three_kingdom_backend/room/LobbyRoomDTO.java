@@ -0,0 +1,37 @@
+package com.example.three_kingdom_backend.room;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Lobby row built directly by {@link RoomRepository}'s projection queries, so listing rooms never
+ * loads Room or User entities. The room password itself is never exposed, only whether one is set.
+ */
+@Data
+@NoArgsConstructor
+public class LobbyRoomDTO {
+    private Long id;
+    private Long ownerId;
+    private String ownerUsername;
+    private String description;
+    private STATUS status;
+    private boolean passwordProtected;
+    private int capacity;
+    private long memberCount;
+    private Date createdAt;
+
+    public LobbyRoomDTO(Long id, Long ownerId, String ownerUsername, String description, STATUS status,
+            Boolean passwordProtected, Integer capacity, Integer memberCount, Date createdAt) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.ownerUsername = ownerUsername;
+        this.description = description;
+        this.status = status;
+        this.passwordProtected = Boolean.TRUE.equals(passwordProtected);
+        this.capacity = capacity;
+        this.memberCount = memberCount != null ? memberCount : 0L;
+        this.createdAt = createdAt;
+    }
+}
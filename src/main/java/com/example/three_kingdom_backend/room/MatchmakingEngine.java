@@ -0,0 +1,239 @@
+package com.example.three_kingdom_backend.room;
+
+import com.example.three_kingdom_backend.util.response.StandardResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quick-join matchmaking. Requests become tickets on a queue consumed by one thread, which also
+ * applies room changes to an {@link OpenRoomIndex}; nothing is locked and two tickets can never
+ * race for the same last seat. A ticket joins the fullest password-free OPENING room of the
+ * requested capacity, or creates a new one that the following tickets then fill.
+ */
+@Component
+public class MatchmakingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchmakingEngine.class);
+
+    // Stale index entries are dropped as they are hit; bounds the work for one ticket
+    private static final int MAX_JOIN_ATTEMPTS = 8;
+
+    static final String QUICK_MATCH_DESCRIPTION = "Quick match";
+
+    private record Ticket(long userId, int capacity, long enqueuedAt, DeferredResult<StandardResponse<RoomDTO>> result) {
+    }
+
+    private record RoomUpdate(long roomId) {
+    }
+
+    private record Seed() {
+    }
+
+    private final RoomService roomService;
+    private final RoomRegistry roomRegistry;
+    private final long timeoutMillis;
+    private final int maxWaiting;
+
+    private final BlockingQueue<Object> commands = new LinkedBlockingQueue<>();
+    private final Set<Long> waiting = ConcurrentHashMap.newKeySet();
+    private final OpenRoomIndex index = new OpenRoomIndex();
+
+    private final Timer timeToMatch;
+    private final DistributionSummary queueDepth;
+    private final MeterRegistry meterRegistry;
+
+    private volatile Thread worker;
+
+    public MatchmakingEngine(RoomService roomService, RoomRegistry roomRegistry, MeterRegistry meterRegistry,
+            @Value("${rooms.matchmaking.timeout}") long timeoutMillis,
+            @Value("${rooms.matchmaking.max-waiting}") int maxWaiting) {
+        this.roomService = roomService;
+        this.roomRegistry = roomRegistry;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+        this.maxWaiting = maxWaiting;
+        this.timeToMatch = Timer.builder("rooms.matchmaking.time_to_match")
+                .description("Time from a quick-join request to its room assignment")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueDepth = DistributionSummary.builder("rooms.matchmaking.queue.depth")
+                .description("Tickets already waiting when a quick-join request arrives")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("rooms.matchmaking.waiting", waiting, Set::size).register(meterRegistry);
+    }
+
+    public DeferredResult<StandardResponse<RoomDTO>> quickJoin(long userId, Integer players) {
+        int capacity = players != null ? players : Room.DEFAULT_CAPACITY;
+        if (capacity < Room.MIN_CAPACITY || capacity > Room.MAX_CAPACITY) {
+            throw new IllegalArgumentException("Players must be between " + Room.MIN_CAPACITY + " and "
+                    + Room.MAX_CAPACITY);
+        }
+        if (waiting.size() >= maxWaiting) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Matchmaking is busy, please retry");
+        }
+        if (!waiting.add(userId)) {
+            throw new IllegalStateException("Already waiting for a match");
+        }
+        queueDepth.record(waiting.size() - 1);
+
+        DeferredResult<StandardResponse<RoomDTO>> result = new DeferredResult<>(timeoutMillis,
+                () -> StandardResponse.createMessage("503", "Matchmaking timed out, please retry"));
+        // Covers timeouts; a timed-out ticket sees its result already set and is skipped
+        result.onCompletion(() -> waiting.remove(userId));
+        commands.add(new Ticket(userId, capacity, System.nanoTime(), result));
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        commands.add(new RoomUpdate(event.room().getId()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        seed();
+        Thread thread = new Thread(this::run, "matchmaking");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /** Rebuilds the index from the registry, e.g. after it was loaded at startup. */
+    void seed() {
+        commands.add(new Seed());
+    }
+
+    /** Processes everything queued so far on the calling thread. */
+    void drain() {
+        Object command;
+        while ((command = commands.poll()) != null) {
+            process(command);
+        }
+    }
+
+    int indexedRooms() {
+        return index.size();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                process(commands.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.error("Matchmaking - command failed", e);
+            }
+        }
+    }
+
+    private void process(Object command) {
+        if (command instanceof Ticket ticket) {
+            match(ticket);
+        } else if (command instanceof RoomUpdate update) {
+            refresh(update.roomId());
+        } else if (command instanceof Seed) {
+            index.clear();
+            roomRegistry.byStatus(STATUS.OPENING).forEach(room -> index.update(room.toLobbyDTO()));
+        }
+    }
+
+    private void match(Ticket ticket) {
+        if (ticket.result().isSetOrExpired()) {
+            waiting.remove(ticket.userId());
+            return;
+        }
+        StandardResponse<RoomDTO> response;
+        String outcome;
+        try {
+            response = joinFullest(ticket);
+            outcome = "joined";
+            if (response == null) {
+                CreateRoomRequest request = new CreateRoomRequest();
+                request.setDescription(QUICK_MATCH_DESCRIPTION);
+                request.setCapacity(ticket.capacity());
+                response = roomService.createRoom(request, ticket.userId());
+                outcome = "created";
+                // Index it right away so the tickets behind this one fill it instead of opening more rooms
+                refresh(response.getData().getId());
+            }
+            response = StandardResponse.create("200", "Matched", response.getData());
+        } catch (RuntimeException e) {
+            logger.warn("Matchmaking - ticket for user {} failed: {}", ticket.userId(), e.getMessage());
+            response = StandardResponse.createMessage("500", "Matchmaking failed");
+            outcome = "failed";
+        }
+        if (ticket.result().setResult(response)) {
+            timeToMatch.record(System.nanoTime() - ticket.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+        waiting.remove(ticket.userId());
+        meterRegistry.counter("rooms.matchmaking.tickets", "outcome", outcome).increment();
+    }
+
+    /**
+     * Re-reads a room from the registry instead of trusting event snapshots, which may arrive
+     * after newer changes made on this thread.
+     */
+    private void refresh(long roomId) {
+        LiveRoom room = roomRegistry.find(roomId);
+        if (room == null) {
+            index.remove(roomId);
+        } else {
+            index.update(room.toLobbyDTO());
+        }
+    }
+
+    /** Joins the fullest compatible room, or returns null if none has a free seat. */
+    private StandardResponse<RoomDTO> joinFullest(Ticket ticket) {
+        for (int attempt = 0; attempt < MAX_JOIN_ATTEMPTS; attempt++) {
+            long roomId = index.fullest(ticket.capacity());
+            if (roomId < 0) {
+                return null;
+            }
+            StandardResponse<RoomDTO> response;
+            try {
+                response = roomService.joinRoom(roomId, null, ticket.userId());
+            } catch (RuntimeException e) {
+                // No longer live
+                index.remove(roomId);
+                continue;
+            }
+            // "400" means the user already sits in this room, which is as good a match as any
+            if ("200".equals(response.getCode()) || "400".equals(response.getCode())) {
+                refresh(roomId);
+                return response;
+            }
+            // Full or password protected since it was indexed; a later change re-indexes it
+            index.remove(roomId);
+        }
+        return null;
+    }
+}
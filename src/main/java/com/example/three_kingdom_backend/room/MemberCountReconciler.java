@@ -0,0 +1,91 @@
+package com.example.three_kingdom_backend.room;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Repairs rooms.member_count where it no longer matches room_members, e.g. after a user was
+ * deleted and the foreign key cascaded their memberships away. Rooms are walked in id order,
+ * one small transaction per batch.
+ */
+@Component
+public class MemberCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberCountReconciler.class);
+
+    // FOR NO KEY UPDATE does not conflict with the key-share lock taken by a membership insert, so
+    // an in-flight membership write waits on our lock only for its own member_count update, and
+    // then applies it on top of the value repaired here
+    private static final String LOCK_BATCH_SQL = """
+            SELECT id FROM rooms WHERE id > ? ORDER BY id LIMIT ? FOR NO KEY UPDATE
+            """;
+
+    // A separate statement, so its snapshot sees every membership write committed before the lock
+    private static final String REPAIR_SQL = """
+            WITH actual AS (
+                SELECT r.id, (SELECT COUNT(*) FROM room_members m WHERE m.room_id = r.id) AS members
+                FROM rooms r
+                WHERE r.id BETWEEN ? AND ?
+            )
+            UPDATE rooms r SET member_count = actual.members
+            FROM actual
+            WHERE r.id = actual.id AND r.member_count <> actual.members
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter repairedCounter;
+    private final int batchSize;
+
+    public MemberCountReconciler(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${rooms.member-count.reconcile-batch-size}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.repairedCounter = Counter.builder("rooms.member_count.repaired")
+                .description("Rooms whose member_count had drifted from room_members")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${rooms.member-count.reconcile-interval}",
+            initialDelayString = "${rooms.member-count.reconcile-interval}")
+    public void reconcile() {
+        long cursor = -1;
+        int repaired = 0;
+        while (true) {
+            long after = cursor;
+            long[] batch = transactionTemplate.execute(status -> repairBatch(after));
+            repaired += (int) batch[1];
+            if (batch[0] < 0) {
+                break;
+            }
+            cursor = batch[0];
+        }
+        if (repaired > 0) {
+            repairedCounter.increment(repaired);
+            logger.warn("Member count reconciliation - repaired {} rooms", repaired);
+        }
+    }
+
+    /** Returns {last id of a full batch or -1 when done, rooms repaired}. */
+    long[] repairBatch(long after) {
+        List<Long> ids = jdbcTemplate.queryForList(LOCK_BATCH_SQL, Long.class, after, batchSize);
+        if (ids.isEmpty()) {
+            return new long[] { -1, 0 };
+        }
+        long last = ids.get(ids.size() - 1);
+        int repaired = jdbcTemplate.update(REPAIR_SQL, ids.get(0), last);
+        return new long[] { ids.size() < batchSize ? -1 : last, repaired };
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.three_kingdom_backend.room;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matchable rooms (OPENING, no password, a free seat) grouped by capacity and member count.
+ * Finding the fullest room of a capacity scans at most {@link Room#MAX_CAPACITY} buckets; within
+ * a bucket the room that got there first wins. Not thread-safe: owned by the matchmaking thread.
+ */
+final class OpenRoomIndex {
+
+    private record Position(int capacity, int memberCount) {
+    }
+
+    private final Map<Long, Position> positions = new HashMap<>();
+    // buckets[capacity][memberCount]
+    private final List<List<LinkedHashSet<Long>>> buckets = new ArrayList<>();
+
+    OpenRoomIndex() {
+        for (int capacity = 0; capacity <= Room.MAX_CAPACITY; capacity++) {
+            List<LinkedHashSet<Long>> byCount = new ArrayList<>(capacity);
+            for (int count = 0; count < capacity; count++) {
+                byCount.add(new LinkedHashSet<>());
+            }
+            buckets.add(byCount);
+        }
+    }
+
+    void update(LobbyRoomDTO room) {
+        int capacity = room.getCapacity();
+        int memberCount = (int) room.getMemberCount();
+        boolean matchable = room.getStatus() == STATUS.OPENING && !room.isPasswordProtected()
+                && capacity >= Room.MIN_CAPACITY && capacity <= Room.MAX_CAPACITY
+                && memberCount < capacity;
+        if (!matchable) {
+            remove(room.getId());
+            return;
+        }
+        Position next = new Position(capacity, memberCount);
+        Position previous = positions.put(room.getId(), next);
+        if (next.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            bucket(previous).remove(room.getId());
+        }
+        bucket(next).add(room.getId());
+    }
+
+    void remove(long roomId) {
+        Position previous = positions.remove(roomId);
+        if (previous != null) {
+            bucket(previous).remove(roomId);
+        }
+    }
+
+    /** Id of the fullest matchable room with this capacity, or -1 if there is none. */
+    long fullest(int capacity) {
+        List<LinkedHashSet<Long>> byCount = buckets.get(capacity);
+        for (int count = capacity - 1; count >= 0; count--) {
+            Iterator<Long> iterator = byCount.get(count).iterator();
+            if (iterator.hasNext()) {
+                return iterator.next();
+            }
+        }
+        return -1;
+    }
+
+    void clear() {
+        positions.clear();
+        buckets.forEach(byCount -> byCount.forEach(LinkedHashSet::clear));
+    }
+
+    int size() {
+        return positions.size();
+    }
+
+    private LinkedHashSet<Long> bucket(Position position) {
+        return buckets.get(position.capacity()).get(position.memberCount());
+    }
+}
@@ -31,6 +31,10 @@ enum STATUS {
 @Data
 @EqualsAndHashCode(callSuper = false)
 public class Room extends Auditable {
+    public static final int MIN_CAPACITY = 2;
+    public static final int MAX_CAPACITY = 16;
+    public static final int DEFAULT_CAPACITY = 8;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -47,6 +51,13 @@ public class Room extends Auditable {
     @Column(nullable = false, length = 20)
     private STATUS status;
 
+    @Column(nullable = false)
+    private int capacity = DEFAULT_CAPACITY;
+
+    // Maintained in SQL by the membership writes and MemberCountReconciler, never by JPA
+    @Column(name = "member_count", nullable = false, insertable = false, updatable = false)
+    private int memberCount;
+
     // Public getters for Auditable fields
     public Date getCreatedAt() {
         return super.createdAt;
@@ -0,0 +1,58 @@
+package com.example.three_kingdom_backend.room;
+
+import com.example.three_kingdom_backend.maintenance.RetentionJob;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves rooms DONE for more than {@code rooms.archive.after} ms to rooms_archive. Rooms that
+ * still have members are skipped, since deleting them would cascade the memberships away instead
+ * of archiving them; {@link RoomMemberArchiveJob} runs first and empties them.
+ */
+@Component
+@Order(2)
+public class RoomArchiveJob implements RetentionJob {
+
+    private final long archiveAfterMillis;
+
+    public RoomArchiveJob(@Value("${rooms.archive.after}") long archiveAfterMillis) {
+        this.archiveAfterMillis = archiveAfterMillis;
+    }
+
+    @Override
+    public String name() {
+        return "rooms_archive";
+    }
+
+    @Override
+    public String table() {
+        return "rooms";
+    }
+
+    @Override
+    public String predicate() {
+        return "status = 'DONE' AND COALESCE(updated_at, created_at) < ?"
+                + " AND NOT EXISTS (SELECT 1 FROM room_members m WHERE m.room_id = rooms.id)";
+    }
+
+    @Override
+    public Object[] predicateArgs(Instant now) {
+        return new Object[] { Timestamp.from(now.minusMillis(archiveAfterMillis)) };
+    }
+
+    @Override
+    public String archiveTable() {
+        return "rooms_archive";
+    }
+
+    @Override
+    public List<String> archiveColumns() {
+        return List.of("id", "description", "password", "status", "owner_id", "created_at", "updated_at",
+                "capacity", "member_count");
+    }
+}
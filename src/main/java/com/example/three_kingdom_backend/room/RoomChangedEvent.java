@@ -0,0 +1,19 @@
+package com.example.three_kingdom_backend.room;
+
+/**
+ * Published by {@link RoomService} after every change to a live room. {@code room} is a snapshot
+ * taken at the time of the change, so listeners never read the registry again.
+ */
+public record RoomChangedEvent(Type type, LobbyRoomDTO room) {
+
+    public enum Type {
+        CREATED,
+        MEMBERS_CHANGED,
+        STATUS_CHANGED,
+        CLOSED
+    }
+
+    static RoomChangedEvent of(Type type, LiveRoom room) {
+        return new RoomChangedEvent(type, room.toLobbyDTO());
+    }
+}
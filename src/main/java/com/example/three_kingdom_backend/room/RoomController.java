@@ -1,7 +1,13 @@
 package com.example.three_kingdom_backend.room;
 
+import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -16,17 +22,42 @@ import com.example.three_kingdom_backend.room.JoinRoomRequest;
 public class RoomController {
 
     private final RoomService roomService;
+    private final LobbyBroadcaster lobbyBroadcaster;
+    private final MatchmakingEngine matchmakingEngine;
 
-    public RoomController(RoomService roomService) {
+    public RoomController(RoomService roomService, LobbyBroadcaster lobbyBroadcaster,
+            MatchmakingEngine matchmakingEngine) {
         this.roomService = roomService;
+        this.lobbyBroadcaster = lobbyBroadcaster;
+        this.matchmakingEngine = matchmakingEngine;
     }
 
     @PostMapping("/create")
-    public StandardResponse<RoomDTO> createRoom(@RequestBody CreateRoomRequest request,
+    public StandardResponse<RoomDTO> createRoom(@Valid @RequestBody CreateRoomRequest request,
             @AuthenticationPrincipal AuthUser me) {
         return roomService.createRoom(request, me.getId());
     }
 
+    @GetMapping("/lobby")
+    public StandardResponse<LobbyPageDTO> getLobby(
+            @RequestParam(defaultValue = "OPENING") STATUS status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return roomService.getLobby(status, cursor, size);
+    }
+
+    @GetMapping(path = "/lobby/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLobby() {
+        return lobbyBroadcaster.subscribe();
+    }
+
+    @PostMapping("/quick-join")
+    public DeferredResult<StandardResponse<RoomDTO>> quickJoin(
+            @RequestParam(required = false) Integer players,
+            @AuthenticationPrincipal AuthUser me) {
+        return matchmakingEngine.quickJoin(me.getId(), players);
+    }
+
     @PostMapping("/join/{roomId}")
     public StandardResponse<RoomDTO> joinRoom(
             @PathVariable Long roomId,
@@ -35,6 +66,12 @@ public class RoomController {
         return roomService.joinRoom(roomId, request.getPassword(), me.getId());
     }
 
+    @PostMapping("/start/{roomId}")
+    public StandardResponse<RoomDTO> startGame(@PathVariable Long roomId,
+            @AuthenticationPrincipal AuthUser me) {
+        return roomService.startGame(roomId, me.getId());
+    }
+
     @PostMapping("/leave/{roomId}")
     public StandardResponse<RoomDTO> leaveRoom(@PathVariable Long roomId,
             @AuthenticationPrincipal AuthUser me) {
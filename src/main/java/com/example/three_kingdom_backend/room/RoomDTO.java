@@ -15,6 +15,7 @@ public class RoomDTO {
     private String ownerUsername;
     private String description;
     private STATUS status;
+    private int capacity;
     private Date createdAt;
     private Date updatedAt;
 
@@ -26,6 +27,7 @@ public class RoomDTO {
         dto.setOwnerUsername(room.getOwner().getUsername());
         dto.setDescription(room.getDescription());
         dto.setStatus(room.getStatus());
+        dto.setCapacity(room.getCapacity());
         dto.setCreatedAt(room.getCreatedAt());
         dto.setUpdatedAt(room.getUpdatedAt());
         return dto;
@@ -0,0 +1,112 @@
+package com.example.three_kingdom_backend.room;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Closes OPENING rooms nobody is using: rooms left empty for {@code rooms.lifecycle.empty-timeout}
+ * ms and rooms without a join or leave for {@code rooms.lifecycle.idle-timeout} ms. Closed rooms
+ * are marked DONE and dropped from {@link RoomRegistry}; {@link RoomArchiveJob} and
+ * {@link RoomMemberArchiveJob} later move them out of the hot tables.
+ */
+@Component
+public class RoomLifecycleScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomLifecycleScheduler.class);
+
+    // The status guard leaves a room alone if it started playing in the meantime
+    private static final String CLOSE_ROOM_SQL = """
+            UPDATE rooms SET status = 'DONE', updated_at = ? WHERE id = ? AND status = 'OPENING'
+            """;
+
+    private final RoomRegistry roomRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long emptyTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final Counter emptyCounter;
+    private final Counter idleCounter;
+    private final Timer sweepTimer;
+
+    public RoomLifecycleScheduler(RoomRegistry roomRegistry, JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+            @Value("${rooms.lifecycle.empty-timeout}") long emptyTimeoutMillis,
+            @Value("${rooms.lifecycle.idle-timeout}") long idleTimeoutMillis) {
+        this.roomRegistry = roomRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.emptyTimeoutMillis = emptyTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.emptyCounter = reapedCounter(meterRegistry, "empty");
+        this.idleCounter = reapedCounter(meterRegistry, "idle");
+        this.sweepTimer = Timer.builder("rooms.lifecycle.sweep")
+                .description("Time spent finding and closing unused rooms")
+                .register(meterRegistry);
+    }
+
+    private static Counter reapedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("rooms.lifecycle.reaped")
+                .description("OPENING rooms closed for being empty or idle")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${rooms.lifecycle.sweep-interval}", initialDelayString = "${rooms.lifecycle.sweep-interval}")
+    public void sweep() {
+        sweepTimer.record(this::reap);
+    }
+
+    private void reap() {
+        long now = System.currentTimeMillis();
+        List<LiveRoom> closing = new ArrayList<>();
+        for (LiveRoom room : roomRegistry.byStatus(STATUS.OPENING)) {
+            // Rooms closed by an earlier sweep whose update failed are retried as they are
+            if (room.isClosed() || (isUnused(room, now) && room.close())) {
+                closing.add(room);
+            }
+        }
+        if (closing.isEmpty()) {
+            return;
+        }
+
+        // Joins are refused from here on; write out the last membership changes before the rooms
+        // leave the registry, which would otherwise discard them
+        roomRegistry.flush();
+        Timestamp updatedAt = Timestamp.from(Instant.ofEpochMilli(now));
+        List<Object[]> batch = new ArrayList<>(closing.size());
+        for (LiveRoom room : closing) {
+            batch.add(new Object[] { updatedAt, room.getId() });
+        }
+        try {
+            jdbcTemplate.batchUpdate(CLOSE_ROOM_SQL, batch);
+        } catch (RuntimeException e) {
+            logger.error("Room lifecycle - closing {} rooms failed, will retry", closing.size(), e);
+            return;
+        }
+
+        for (LiveRoom room : closing) {
+            roomRegistry.remove(room);
+            (room.memberCount() == 0 ? emptyCounter : idleCounter).increment();
+            eventPublisher.publishEvent(RoomChangedEvent.of(RoomChangedEvent.Type.CLOSED, room));
+        }
+        logger.info("Room lifecycle - closed {} unused rooms", closing.size());
+    }
+
+    private boolean isUnused(LiveRoom room, long now) {
+        long inactiveFor = now - room.lastActivityAt();
+        return room.memberCount() == 0 ? inactiveFor >= emptyTimeoutMillis : inactiveFor >= idleTimeoutMillis;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.three_kingdom_backend.room;
+
+import com.example.three_kingdom_backend.maintenance.RetentionJob;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves the memberships of rooms DONE for more than {@code rooms.archive.after} ms to
+ * room_members_archive. Ordered before {@link RoomArchiveJob}, which only takes rooms whose
+ * members are gone.
+ */
+@Component
+@Order(1)
+public class RoomMemberArchiveJob implements RetentionJob {
+
+    private final long archiveAfterMillis;
+
+    public RoomMemberArchiveJob(@Value("${rooms.archive.after}") long archiveAfterMillis) {
+        this.archiveAfterMillis = archiveAfterMillis;
+    }
+
+    @Override
+    public String name() {
+        return "room_members_archive";
+    }
+
+    @Override
+    public String table() {
+        return "room_members";
+    }
+
+    @Override
+    public String predicate() {
+        return "room_id IN (SELECT id FROM rooms WHERE status = 'DONE' AND COALESCE(updated_at, created_at) < ?)";
+    }
+
+    @Override
+    public Object[] predicateArgs(Instant now) {
+        return new Object[] { Timestamp.from(now.minusMillis(archiveAfterMillis)) };
+    }
+
+    @Override
+    public String archiveTable() {
+        return "room_members_archive";
+    }
+
+    @Override
+    public List<String> archiveColumns() {
+        return List.of("id", "room_id", "user_id", "created_at");
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.three_kingdom_backend.room;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Authoritative in-memory state of the OPENING and PLAYING rooms on this node. Lobby reads,
+ * joins and leaves only touch memory; membership changes are written to room_members in JDBC
+ * batches every {@code rooms.registry.flush-interval}. Rooms themselves are still inserted
+ * synchronously by {@link RoomService} because their id comes from the database. The registry
+ * is rebuilt from the tables before the application starts serving requests.
+ */
+@Component
+public class RoomRegistry implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomRegistry.class);
+
+    private static final String LOAD_ROOMS_SQL = """
+            SELECT r.id, r.owner_id, u.username, r.description, r.password, r.capacity, r.status, r.created_at,
+                r.updated_at
+            FROM rooms r JOIN users u ON u.id = r.owner_id
+            WHERE r.status IN ('OPENING', 'PLAYING')
+            """;
+
+    private static final String LOAD_MEMBERS_SQL = """
+            SELECT m.room_id, m.user_id
+            FROM room_members m JOIN rooms r ON r.id = m.room_id
+            WHERE r.status IN ('OPENING', 'PLAYING')
+            """;
+
+    // Each statement changes room_members and rooms.member_count atomically, and only by the rows
+    // it actually inserted or deleted, so replaying it is harmless
+    private static final String INSERT_MEMBER_SQL = """
+            WITH inserted AS (
+                INSERT INTO room_members (room_id, user_id, created_at) VALUES (?, ?, ?)
+                ON CONFLICT (room_id, user_id) DO NOTHING
+                RETURNING room_id
+            )
+            UPDATE rooms SET member_count = member_count + 1 WHERE id IN (SELECT room_id FROM inserted)
+            """;
+
+    private static final String DELETE_MEMBER_SQL = """
+            WITH deleted AS (
+                DELETE FROM room_members WHERE room_id = ? AND user_id = ?
+                RETURNING room_id
+            )
+            UPDATE rooms SET member_count = member_count - 1 WHERE id IN (SELECT room_id FROM deleted)
+            """;
+
+    enum JoinResult {
+        JOINED,
+        ALREADY_MEMBER,
+        INVALID_PASSWORD,
+        FULL,
+        CLOSED,
+        STARTED
+    }
+
+    private record MemberKey(long roomId, long userId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer flushTimer;
+    private final Counter droppedCounter;
+
+    private final ConcurrentHashMap<Long, LiveRoom> rooms = new ConcurrentHashMap<>();
+    private final Map<STATUS, ConcurrentSkipListMap<LobbyCursor, LiveRoom>> lobby = new EnumMap<>(STATUS.class);
+    private final Set<MemberKey> dirty = ConcurrentHashMap.newKeySet();
+    // Held while a batch is between dirty and the database, so two flushes never write the same
+    // member out of order and a caller that flushes first waits for a batch already in flight
+    private final Object flushLock = new Object();
+
+    public RoomRegistry(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        lobby.put(STATUS.OPENING, new ConcurrentSkipListMap<>(LobbyCursor.NEWEST_FIRST));
+        lobby.put(STATUS.PLAYING, new ConcurrentSkipListMap<>(LobbyCursor.NEWEST_FIRST));
+        this.flushTimer = Timer.builder("rooms.registry.flush")
+                .description("Time spent writing buffered membership changes")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("rooms.registry.dropped")
+                .description("Membership changes the database rejected, e.g. for a deleted user")
+                .register(meterRegistry);
+        Gauge.builder("rooms.registry.live", rooms, Map::size).register(meterRegistry);
+        Gauge.builder("rooms.registry.pending", dirty, Set::size).register(meterRegistry);
+    }
+
+    static boolean isLive(STATUS status) {
+        return status == STATUS.OPENING || status == STATUS.PLAYING;
+    }
+
+    /** Tracks a freshly inserted room and buffers its owner's membership. */
+    LiveRoom register(Room room, String ownerUsername) {
+        Date createdAt = room.getCreatedAt() != null ? room.getCreatedAt() : new Date();
+        LiveRoom live = new LiveRoom(room.getId(), room.getOwner().getId(), ownerUsername, room.getDescription(),
+                room.getPassword(), room.getCapacity(), room.getStatus(), createdAt, room.getUpdatedAt());
+        add(live);
+        live.addMember(live.getOwnerId());
+        dirty.add(new MemberKey(live.getId(), live.getOwnerId()));
+        return live;
+    }
+
+    /** Returns the live room, or null if it is unknown or no longer OPENING/PLAYING. */
+    LiveRoom find(long roomId) {
+        return rooms.get(roomId);
+    }
+
+    /** True if the room is PLAYING on this node and the user holds one of its seats. */
+    public boolean isSeated(long roomId, long userId) {
+        LiveRoom room = rooms.get(roomId);
+        return room != null && room.getStatus() == STATUS.PLAYING && room.hasMember(userId);
+    }
+
+    JoinResult join(LiveRoom room, long userId, String password) {
+        if (room.hasMember(userId)) {
+            return JoinResult.ALREADY_MEMBER;
+        }
+        if (!room.acceptsPassword(password)) {
+            return JoinResult.INVALID_PASSWORD;
+        }
+        JoinResult result = room.seat(userId);
+        if (result == JoinResult.JOINED) {
+            dirty.add(new MemberKey(room.getId(), userId));
+        }
+        return result;
+    }
+
+    /** Returns false if the user was not a member of the room or the room is no longer OPENING. */
+    boolean leave(LiveRoom room, long userId) {
+        if (!room.removeMember(userId)) {
+            return false;
+        }
+        dirty.add(new MemberKey(room.getId(), userId));
+        return true;
+    }
+
+    /**
+     * Removes a membership of a room this registry does not track, such as a finished one, in the
+     * same statement that keeps rooms.member_count in step. Returns false if there was none.
+     */
+    boolean leaveUntracked(long roomId, long userId) {
+        return jdbcTemplate.update(DELETE_MEMBER_SQL, roomId, userId) > 0;
+    }
+
+    /**
+     * Moves an OPENING room to PLAYING, including its lobby entry. Returns the members to seat, or
+     * null if the room could not be started.
+     */
+    long[] start(LiveRoom room) {
+        long[] members = room.start();
+        if (members != null) {
+            lobby.get(STATUS.OPENING).remove(room.lobbyKey(), room);
+            lobby.get(STATUS.PLAYING).put(room.lobbyKey(), room);
+        }
+        return members;
+    }
+
+    /**
+     * Stops tracking a room that is no longer live. Membership changes still buffered for it are
+     * discarded, so callers flush first.
+     */
+    void remove(LiveRoom room) {
+        rooms.remove(room.getId(), room);
+        lobby.get(room.getStatus()).remove(room.lobbyKey(), room);
+    }
+
+    List<LiveRoom> byStatus(STATUS status) {
+        return new ArrayList<>(lobby.get(status).values());
+    }
+
+    /** Up to {@code limit} rooms of a live status, newest first, strictly after {@code after} if given. */
+    List<LiveRoom> page(STATUS status, LobbyCursor after, int limit) {
+        ConcurrentSkipListMap<LobbyCursor, LiveRoom> index = lobby.get(status);
+        Iterable<LiveRoom> source = after == null ? index.values() : index.tailMap(after, false).values();
+        List<LiveRoom> page = new ArrayList<>(Math.min(limit, 64));
+        for (LiveRoom room : source) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(room);
+        }
+        return page;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Runs after Liquibase and before the web server accepts requests
+        rebuild();
+    }
+
+    void rebuild() {
+        rooms.clear();
+        lobby.values().forEach(Map::clear);
+        jdbcTemplate.query(LOAD_ROOMS_SQL, rs -> {
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            add(new LiveRoom(rs.getLong("id"), rs.getLong("owner_id"), rs.getString("username"),
+                    rs.getString("description"), rs.getString("password"), rs.getInt("capacity"),
+                    STATUS.valueOf(rs.getString("status")),
+                    new Date(rs.getTimestamp("created_at").getTime()),
+                    updatedAt != null ? new Date(updatedAt.getTime()) : null));
+        });
+        jdbcTemplate.query(LOAD_MEMBERS_SQL, rs -> {
+            LiveRoom room = rooms.get(rs.getLong("room_id"));
+            if (room != null) {
+                room.addMember(rs.getLong("user_id"));
+            }
+        });
+        logger.info("Room registry - loaded {} live rooms", rooms.size());
+    }
+
+    @Scheduled(fixedDelayString = "${rooms.registry.flush-interval}")
+    @PreDestroy
+    public void flush() {
+        synchronized (flushLock) {
+            if (dirty.isEmpty()) {
+                return;
+            }
+            flushTimer.record(this::flushDirty);
+        }
+    }
+
+    /** Callers hold flushLock. */
+    private void flushDirty() {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<MemberKey> keys = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        Iterator<MemberKey> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            MemberKey key = iterator.next();
+            iterator.remove();
+            LiveRoom room = rooms.get(key.roomId());
+            if (room == null) {
+                continue;
+            }
+            // Write the current state rather than each change, so join-leave-join collapses to one row
+            if (room.hasMember(key.userId())) {
+                inserts.add(new Object[] { key.roomId(), key.userId(), now });
+            } else {
+                deletes.add(new Object[] { key.roomId(), key.userId() });
+            }
+            keys.add(key);
+        }
+        // Room id order keeps row locks on rooms in the same order as MemberCountReconciler
+        Comparator<Object[]> byRoomAndUser = Comparator.<Object[]>comparingLong(row -> (Long) row[0])
+                .thenComparingLong(row -> (Long) row[1]);
+        inserts.sort(byRoomAndUser);
+        deletes.sort(byRoomAndUser);
+        try {
+            // Deletes first, so the table never holds more members than seats
+            write(DELETE_MEMBER_SQL, deletes);
+            write(INSERT_MEMBER_SQL, inserts);
+        } catch (RuntimeException e) {
+            // Both statements are idempotent (see above), so replaying already written rows is harmless
+            dirty.addAll(keys);
+            logger.error("Room registry - flush of {} membership changes failed, will retry", keys.size(), e);
+        }
+    }
+
+    private void write(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(sql, rows);
+        } catch (DataIntegrityViolationException e) {
+            // One bad row (e.g. a user deleted since joining) must not block the rest forever
+            for (Object[] row : rows) {
+                try {
+                    jdbcTemplate.update(sql, row);
+                } catch (DataIntegrityViolationException rowError) {
+                    droppedCounter.increment();
+                    logger.warn("Room registry - dropped membership change for room {} user {}: {}",
+                            row[0], row[1], rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void add(LiveRoom room) {
+        rooms.put(room.getId(), room);
+        lobby.get(room.getStatus()).put(room.lobbyKey(), room);
+    }
+}
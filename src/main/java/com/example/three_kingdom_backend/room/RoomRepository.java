@@ -1,13 +1,48 @@
 package com.example.three_kingdom_backend.room;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
+    String LOBBY_SELECT = """
+            SELECT new com.example.three_kingdom_backend.room.LobbyRoomDTO(
+                r.id, o.id, o.username, r.description, r.status,
+                CASE WHEN r.password IS NOT NULL AND r.password <> '' THEN true ELSE false END,
+                r.capacity,
+                r.memberCount,
+                r.createdAt)
+            FROM Room r JOIN r.owner o
+            WHERE r.status = :status
+            """;
+
+    String LOBBY_ORDER = " ORDER BY r.createdAt DESC, r.id DESC";
+
     Optional<Room> findByOwnerId(Long ownerId);
 
+    @EntityGraph(attributePaths = "owner")
     List<Room> findByStatus(STATUS status);
-}
\ No newline at end of file
+
+    @Query(LOBBY_SELECT + LOBBY_ORDER)
+    List<LobbyRoomDTO> findLobby(@Param("status") STATUS status, Limit limit);
+
+    @Query(LOBBY_SELECT + """
+            AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+            """ + LOBBY_ORDER)
+    List<LobbyRoomDTO> findLobbyAfter(@Param("status") STATUS status, @Param("createdAt") Date createdAt,
+            @Param("id") Long id, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Room r SET r.status = :to, r.updatedAt = CURRENT_TIMESTAMP WHERE r.id = :id AND r.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") STATUS from, @Param("to") STATUS to);
+}
@@ -6,25 +6,47 @@ import com.example.three_kingdom_backend.room.STATUS;
 import com.example.three_kingdom_backend.room.Room;
 import com.example.three_kingdom_backend.room.RoomRepository;
 import com.example.three_kingdom_backend.room.RoomDTO;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import com.example.three_kingdom_backend.game.GameFinishedEvent;
+import com.example.three_kingdom_backend.game.GameService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import com.example.three_kingdom_backend.util.response.StandardResponse;
 import com.example.three_kingdom_backend.user.UserRepository;
-import com.example.three_kingdom_backend.room.RoomMemberRepository;
 
 @Service
 public class RoomService {
+    private static final Logger logger = LoggerFactory.getLogger(RoomService.class);
+
+    static final int DEFAULT_LOBBY_PAGE_SIZE = 20;
+    static final int MAX_LOBBY_PAGE_SIZE = 100;
+
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
-    private final RoomMemberRepository roomMemberRepository;
-
-    public RoomService(RoomRepository roomRepository, UserRepository userRepository,
-            RoomMemberRepository roomMemberRepository) {
+    private final RoomRegistry roomRegistry;
+    private final GameService gameService;
+    private final ApplicationEventPublisher eventPublisher;
+    // Rooms whose game has a winner but which are not yet DONE in the database
+    private final Set<Long> finishing = ConcurrentHashMap.newKeySet();
+
+    public RoomService(RoomRepository roomRepository, UserRepository userRepository, RoomRegistry roomRegistry,
+            GameService gameService, ApplicationEventPublisher eventPublisher) {
         this.roomRepository = roomRepository;
         this.userRepository = userRepository;
-        this.roomMemberRepository = roomMemberRepository;
+        this.roomRegistry = roomRegistry;
+        this.gameService = gameService;
+        this.eventPublisher = eventPublisher;
     }
 
     public StandardResponse<RoomDTO> createRoom(CreateRoomRequest request, Long ownerId) {
@@ -35,58 +57,182 @@ public class RoomService {
         room.setPassword(request.getPassword());
         room.setDescription(request.getDescription());
         room.setStatus(STATUS.OPENING);
+        room.setCapacity(request.getCapacity() != null ? request.getCapacity() : Room.DEFAULT_CAPACITY);
         room.setOwner(owner);
         var saved = roomRepository.save(room);
 
-        RoomMember roomMember = new RoomMember();
-        roomMember.setRoom(saved);
-        roomMember.setUser(owner);
-        roomMemberRepository.save(roomMember);
+        // The owner's membership row is written behind by the registry
+        LiveRoom live = roomRegistry.register(saved, owner.getUsername());
+        eventPublisher.publishEvent(RoomChangedEvent.of(RoomChangedEvent.Type.CREATED, live));
 
-        return StandardResponse.create("200", RoomDTO.fromEntity(saved));
+        return StandardResponse.create("200", live.toDTO());
     }
 
     public StandardResponse<RoomDTO> getRoomById(Long id) {
+        LiveRoom live = roomRegistry.find(id);
+        if (live != null) {
+            return StandardResponse.create("200", live.toDTO());
+        }
         Room room = roomRepository.findById(id).orElseThrow(() -> new RuntimeException("Room not found"));
         return StandardResponse.create("200", RoomDTO.fromEntity(room));
     }
 
     public StandardResponse<List<RoomDTO>> getRoomsByStatus(STATUS status) {
+        if (RoomRegistry.isLive(status)) {
+            return StandardResponse.create("200", roomRegistry.byStatus(status).stream()
+                    .map(LiveRoom::toDTO)
+                    .collect(Collectors.toList()));
+        }
         List<RoomDTO> rooms = roomRepository.findByStatus(status).stream()
                 .map(RoomDTO::fromEntity)
                 .collect(Collectors.toList());
         return StandardResponse.create("200", rooms);
     }
 
+    /**
+     * Keyset-paginated lobby listing, newest rooms first. Live rooms are paged from the registry;
+     * finished ones with a single projection query that stops after {@code size + 1} index entries,
+     * however deep the client has scrolled.
+     */
+    public StandardResponse<LobbyPageDTO> getLobby(STATUS status, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_LOBBY_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_LOBBY_PAGE_SIZE);
+        // One extra row tells us whether there is a next page without a COUNT query
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<LobbyRoomDTO> rooms;
+        if (RoomRegistry.isLive(status)) {
+            LobbyCursor after = cursor == null || cursor.isBlank() ? null : LobbyCursor.decode(cursor);
+            rooms = roomRegistry.page(status, after, limit.max()).stream()
+                    .map(LiveRoom::toLobbyDTO)
+                    .collect(Collectors.toList());
+        } else if (cursor == null || cursor.isBlank()) {
+            rooms = roomRepository.findLobby(status, limit);
+        } else {
+            LobbyCursor after = LobbyCursor.decode(cursor);
+            rooms = roomRepository.findLobbyAfter(status, after.createdAt(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (rooms.size() > pageSize) {
+            rooms = rooms.subList(0, pageSize);
+            nextCursor = LobbyCursor.after(rooms.get(pageSize - 1)).encode();
+        }
+        return StandardResponse.create("200", new LobbyPageDTO(rooms, nextCursor));
+    }
+
     public StandardResponse<RoomDTO> joinRoom(Long roomId, String password, Long userId) {
-        Room room = roomRepository.findById(roomId).orElseThrow(() -> new RuntimeException("Room not found"));
-        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        LiveRoom room = roomRegistry.find(roomId);
+        if (room == null) {
+            throw new RuntimeException("Room not found");
+        }
+        // userId is the authenticated principal, so no user lookup is needed on this hot path
+        return switch (roomRegistry.join(room, userId, password)) {
+            case INVALID_PASSWORD -> StandardResponse.createMessage("401", "Invalid password");
+            case FULL -> StandardResponse.createMessage("409", "Room is full");
+            case STARTED -> StandardResponse.createMessage("409", "Game already started");
+            // Closed by RoomLifecycleScheduler after the lookup above
+            case CLOSED -> throw new RuntimeException("Room not found");
+            case ALREADY_MEMBER -> StandardResponse.create("400", "User is already a member of this room",
+                    room.toDTO());
+            case JOINED -> {
+                eventPublisher.publishEvent(RoomChangedEvent.of(RoomChangedEvent.Type.MEMBERS_CHANGED, room));
+                yield StandardResponse.create("200", "Joined room successfully", room.toDTO());
+            }
+        };
+    }
 
-        if (roomMemberRepository.findByRoomIdAndUserId(roomId, userId).isPresent()) {
-            return StandardResponse.create("400", "User is already a member of this room", RoomDTO.fromEntity(room));
+    public StandardResponse<RoomDTO> startGame(Long roomId, Long userId) {
+        LiveRoom room = roomRegistry.find(roomId);
+        if (room == null) {
+            throw new RuntimeException("Room not found");
+        }
+        if (room.getOwnerId() != userId) {
+            return StandardResponse.createMessage("403", "Only the owner can start the game");
         }
+        if (room.memberCount() < Room.MIN_CAPACITY) {
+            return StandardResponse.createMessage("409", "Not enough players");
+        }
+        if (room.isClosed() || room.getStatus() != STATUS.OPENING) {
+            return StandardResponse.createMessage("409", "Room is not open");
+        }
+        // The conditional update lets exactly one caller start the room; memory follows the database
+        if (roomRepository.updateStatus(roomId, STATUS.OPENING, STATUS.PLAYING) != 1) {
+            return StandardResponse.createMessage("409", "Room is not open");
+        }
+        long[] players = roomRegistry.start(room);
+        if (players == null) {
+            // Closed by RoomLifecycleScheduler in the meantime
+            roomRepository.updateStatus(roomId, STATUS.PLAYING, STATUS.OPENING);
+            return StandardResponse.createMessage("409", "Room is not open");
+        }
+        gameService.start(roomId, players);
+        eventPublisher.publishEvent(RoomChangedEvent.of(RoomChangedEvent.Type.STATUS_CHANGED, room));
+        return StandardResponse.create("200", "Game started", room.toDTO());
+    }
 
-        String roomPassword = room.getPassword();
-        String providedPassword = password != null ? password : "";
+    // Published on the game's executor thread, so the database work is left to finishRooms
+    @EventListener
+    public void onGameFinished(GameFinishedEvent event) {
+        finishing.add(event.roomId());
+    }
 
-        if (roomPassword != null && !roomPassword.isEmpty()) {
-            if (!roomPassword.equals(providedPassword)) {
-                return StandardResponse.createMessage("401", "Invalid password");
+    /** Queues PLAYING rooms whose game ended just before a restart, as no event will come for them. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeFinishing() {
+        for (LiveRoom room : roomRegistry.byStatus(STATUS.PLAYING)) {
+            try {
+                if (gameService.isOver(room.getId())) {
+                    finishing.add(room.getId());
+                }
+            } catch (RuntimeException e) {
+                logger.error("Room service - could not check whether the game in room {} ended", room.getId(), e);
             }
         }
+    }
 
-        RoomMember roomMember = new RoomMember();
-        roomMember.setRoom(room);
-        roomMember.setUser(user);
-        roomMemberRepository.save(roomMember);
-
-        return StandardResponse.create("200", "Joined room successfully", RoomDTO.fromEntity(room));
+    /** Marks rooms whose game ended DONE and drops them from the registry; failures are retried. */
+    @Scheduled(fixedDelayString = "${rooms.finish.interval}")
+    public void finishRooms() {
+        if (finishing.isEmpty()) {
+            return;
+        }
+        // Write out pending membership changes before the registry forgets the rooms
+        roomRegistry.flush();
+        Iterator<Long> iterator = finishing.iterator();
+        while (iterator.hasNext()) {
+            Long roomId = iterator.next();
+            LiveRoom room = roomRegistry.find(roomId);
+            if (room != null) {
+                try {
+                    roomRepository.updateStatus(roomId, STATUS.PLAYING, STATUS.DONE);
+                } catch (RuntimeException e) {
+                    logger.error("Room service - marking room {} DONE failed, will retry", roomId, e);
+                    continue;
+                }
+                roomRegistry.remove(room);
+                eventPublisher.publishEvent(RoomChangedEvent.of(RoomChangedEvent.Type.CLOSED, room));
+            }
+            iterator.remove();
+        }
     }
 
     public StandardResponse<RoomDTO> leaveRoom(Long roomId, Long userId) {
-        RoomMember roomMember = roomMemberRepository.findByRoomIdAndUserId(roomId, userId)
-                .orElseThrow(() -> new RuntimeException("User is not a member of this room"));
-        roomMemberRepository.delete(roomMember);
+        LiveRoom live = roomRegistry.find(roomId);
+        if (live != null) {
+            if (!roomRegistry.leave(live, userId)) {
+                if (live.hasMember(userId)) {
+                    // Seats are fixed once the game starts
+                    return StandardResponse.createMessage("409", "Game already started");
+                }
+                throw new RuntimeException("User is not a member of this room");
+            }
+            eventPublisher.publishEvent(RoomChangedEvent.of(RoomChangedEvent.Type.MEMBERS_CHANGED, live));
+            return StandardResponse.createMessage("200", "Left room successfully");
+        }
+        // Finished rooms are not tracked in memory
+        if (!roomRegistry.leaveUntracked(roomId, userId)) {
+            throw new RuntimeException("User is not a member of this room");
+        }
         return StandardResponse.createMessage("200", "Left room successfully");
     }
 }
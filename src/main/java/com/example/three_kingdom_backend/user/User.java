@@ -27,4 +27,7 @@ public class User extends Auditable {
 
     @Column(nullable = false)
     private String password;
+
+    @Column(name = "credential_version", nullable = false)
+    private int credentialVersion;
 }
@@ -0,0 +1,12 @@
+package com.example.three_kingdom_backend.user;
+
+/**
+ * Published whenever a user's credentials or profile change, so anything holding derived
+ * per-user state (token credential versions, cached principals) can refresh it.
+ */
+public record UserChangedEvent(Long userId, String username, int credentialVersion) {
+
+    public static UserChangedEvent of(User user) {
+        return new UserChangedEvent(user.getId(), user.getUsername(), user.getCredentialVersion());
+    }
+}
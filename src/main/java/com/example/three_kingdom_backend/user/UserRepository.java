@@ -1,6 +1,10 @@
 package com.example.three_kingdom_backend.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -9,4 +13,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    @Query("SELECT u.credentialVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findCredentialVersionById(@Param("id") Long id);
+
+    // Compare-and-set so a rehash never overwrites a password changed in the meantime
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :expectedHash")
+    int updatePasswordIfUnchanged(@Param("id") Long id, @Param("expectedHash") String expectedHash,
+            @Param("newHash") String newHash);
+
 }
@@ -1,5 +1,6 @@
 package com.example.three_kingdom_backend.user;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.example.three_kingdom_backend.util.response.StandardResponse;
@@ -8,10 +9,13 @@ import com.example.three_kingdom_backend.util.response.StandardResponse;
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     public StandardResponse<String> createUser(User user) {
@@ -25,6 +29,8 @@ public class UserService {
         }
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         userRepository.save(user);
+        // Drops any negative cache entry left by earlier lookups of this username
+        eventPublisher.publishEvent(UserChangedEvent.of(user));
         return StandardResponse.createMessage("200", "User created successfully");
     }
 
@@ -1,6 +1,8 @@
 package com.example.three_kingdom_backend.util.exception;
 
+import com.example.three_kingdom_backend.config.security.PasswordHashingBusyException;
 import com.example.three_kingdom_backend.util.response.StandardResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -42,4 +44,13 @@ public class GlobalExceptionHandler {
         StandardResponse<String> response = StandardResponse.createMessage("400", ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<StandardResponse<String>> handlePasswordHashingBusyException(
+            PasswordHashingBusyException ex) {
+        StandardResponse<String> response = StandardResponse.createMessage("503", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
 }
@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+
+-- changeset three-kingdom-team:009-add-credential-version-to-users
+-- comment: Add credential_version to users so access tokens can be invalidated on password change
+
+ALTER TABLE users
+    ADD COLUMN credential_version INTEGER NOT NULL DEFAULT 0;
+
+-- rollback
+-- rollback ALTER TABLE users DROP COLUMN credential_version;
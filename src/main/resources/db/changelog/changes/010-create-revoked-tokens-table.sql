@@ -0,0 +1,15 @@
+-- liquibase formatted sql
+
+-- changeset three-kingdom-team:010-create-revoked-tokens-table
+-- comment: Create revoked_tokens table holding logged-out token ids until they expire
+
+CREATE TABLE revoked_tokens (
+    jti        VARCHAR(36) PRIMARY KEY,
+    expires_at TIMESTAMP   NOT NULL,
+    created_at TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+-- rollback
+-- rollback DROP TABLE revoked_tokens;
@@ -0,0 +1,20 @@
+-- liquibase formatted sql
+
+-- changeset three-kingdom-team:011-create-refresh-token-families-table
+-- comment: One row per login session; only the id of the latest refresh token is stored
+
+CREATE TABLE refresh_token_families (
+    id          VARCHAR(36) PRIMARY KEY,
+    user_id     BIGINT      NOT NULL,
+    current_jti VARCHAR(36) NOT NULL,
+    revoked     BOOLEAN     NOT NULL DEFAULT FALSE,
+    expires_at  TIMESTAMP   NOT NULL,
+    updated_at  TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_refresh_token_families_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_token_families_user_id ON refresh_token_families (user_id);
+CREATE INDEX idx_refresh_token_families_expires_at ON refresh_token_families (expires_at);
+
+-- rollback
+-- rollback DROP TABLE refresh_token_families;
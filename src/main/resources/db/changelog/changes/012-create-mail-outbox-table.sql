@@ -0,0 +1,22 @@
+-- liquibase formatted sql
+
+-- changeset three-kingdom-team:012-create-mail-outbox-table
+-- comment: Outgoing mail written in the sender's transaction and delivered by MailOutboxDispatcher
+
+CREATE TABLE mail_outbox (
+    id              BIGSERIAL     PRIMARY KEY,
+    recipient       VARCHAR(255)  NOT NULL,
+    subject         VARCHAR(255)  NOT NULL,
+    body            TEXT          NOT NULL,
+    status          VARCHAR(16)   NOT NULL DEFAULT 'PENDING',
+    attempts        INTEGER       NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_until    TIMESTAMP,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_mail_outbox_pending ON mail_outbox (next_attempt_at) WHERE status = 'PENDING';
+
+-- rollback
+-- rollback DROP TABLE mail_outbox;
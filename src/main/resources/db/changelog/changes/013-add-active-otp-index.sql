@@ -0,0 +1,12 @@
+-- liquibase formatted sql
+
+-- changeset three-kingdom-team:013-add-active-otp-index
+-- comment: findActive only looks at unused codes of one user; the boolean index on used never helped
+
+CREATE INDEX idx_password_reset_otp_active ON password_reset_otp (user_id, expires_at) WHERE used = FALSE;
+
+DROP INDEX idx_password_reset_otp_used;
+
+-- rollback
+-- rollback CREATE INDEX idx_password_reset_otp_used ON password_reset_otp (used);
+-- rollback DROP INDEX idx_password_reset_otp_active;
@@ -0,0 +1,12 @@
+-- liquibase formatted sql
+
+-- changeset three-kingdom-team:014-add-room-lobby-index
+-- comment: Lobby keyset pagination walks (status, created_at, id) newest first; the plain status index made it sort every room of that status
+
+CREATE INDEX idx_room_status_created_id ON rooms (status, created_at DESC, id DESC);
+
+DROP INDEX idx_room_status;
+
+-- rollback
+-- rollback CREATE INDEX idx_room_status ON rooms (status);
+-- rollback DROP INDEX idx_room_status_created_id;
@@ -0,0 +1,12 @@
+-- liquibase formatted sql
+
+-- changeset three-kingdom-team:015-add-room-capacity
+-- comment: Seat limit per room, chosen by the owner when creating it
+
+ALTER TABLE rooms ADD COLUMN capacity INTEGER NOT NULL DEFAULT 8;
+
+ALTER TABLE rooms ADD CONSTRAINT ck_rooms_capacity CHECK (capacity BETWEEN 2 AND 16);
+
+-- rollback
+-- rollback ALTER TABLE rooms DROP CONSTRAINT ck_rooms_capacity;
+-- rollback ALTER TABLE rooms DROP COLUMN capacity;
@@ -0,0 +1,11 @@
+-- liquibase formatted sql
+
+-- changeset three-kingdom-team:016-add-room-member-count
+-- comment: Denormalized member count so room listings never aggregate room_members
+
+ALTER TABLE rooms ADD COLUMN member_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE rooms r SET member_count = (SELECT COUNT(*) FROM room_members m WHERE m.room_id = r.id);
+
+-- rollback
+-- rollback ALTER TABLE rooms DROP COLUMN member_count;
@@ -0,0 +1,16 @@
+-- liquibase formatted sql
+
+-- changeset three-kingdom-team:017-create-room-archive-tables
+-- comment: Cold storage for DONE rooms and their members; the archive jobs copy the columns listed in their archiveColumns(), so a column added to rooms or room_members must be added here and to that list
+
+CREATE TABLE rooms_archive (LIKE rooms);
+ALTER TABLE rooms_archive ADD CONSTRAINT pk_rooms_archive PRIMARY KEY (id);
+
+CREATE TABLE room_members_archive (LIKE room_members);
+ALTER TABLE room_members_archive ADD CONSTRAINT pk_room_members_archive PRIMARY KEY (id);
+
+CREATE INDEX idx_room_members_archive_room_id ON room_members_archive (room_id);
+
+-- rollback
+-- rollback DROP TABLE room_members_archive;
+-- rollback DROP TABLE rooms_archive;
@@ -0,0 +1,25 @@
+-- liquibase formatted sql
+
+-- changeset three-kingdom-team:018-create-game-log-tables
+-- comment: Append-only log of game actions and the latest snapshot per game, used to recover games without replaying them from the start
+
+CREATE TABLE game_events (
+    room_id    BIGINT      NOT NULL,
+    seq        BIGINT      NOT NULL,
+    seat       SMALLINT    NOT NULL,
+    move       INTEGER     NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_game_events PRIMARY KEY (room_id, seq)
+);
+
+CREATE TABLE game_snapshots (
+    room_id    BIGINT      NOT NULL,
+    seq        BIGINT      NOT NULL,
+    state      BYTEA       NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_game_snapshots PRIMARY KEY (room_id)
+);
+
+-- rollback
+-- rollback DROP TABLE game_snapshots;
+-- rollback DROP TABLE game_events;
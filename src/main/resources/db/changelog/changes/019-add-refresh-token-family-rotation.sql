@@ -0,0 +1,9 @@
+-- liquibase formatted sql
+
+-- changeset three-kingdom-team:019-add-refresh-token-family-rotation
+-- comment: Number of rotations per family, so a node flushing a stale copy can never roll the current token back
+
+ALTER TABLE refresh_token_families ADD COLUMN rotation BIGINT NOT NULL DEFAULT 0;
+
+-- rollback
+-- rollback ALTER TABLE refresh_token_families DROP COLUMN rotation;
@@ -0,0 +1,55 @@
+package com.example.three_kingdom_backend.game;
+
+/** Picks a move for the acting seat from the moves {@link GameEngine#legalMoves} allows. */
+enum Bot {
+
+    /** Any legal move, uniformly. */
+    RANDOM {
+        @Override
+        int choose(GameState s, int seat, int[] legal, int count, SplitMix64 rng) {
+            return legal[rng.nextInt(count)];
+        }
+    },
+
+    /**
+     * Fixed priorities: heal, draw, strike an enemy, take cards from whoever holds most, then end
+     * the turn. Always dodges and saves itself when it can, and discards from the back of its hand.
+     */
+    SCRIPTED {
+        @Override
+        int choose(GameState s, int seat, int[] legal, int count, SplitMix64 rng) {
+            if (s.phase() != Phase.PLAY) {
+                // legal[0] is PASS while responding or dying; any card beats passing
+                return s.phase() == Phase.DISCARD ? legal[count - 1] : legal[Math.min(1, count - 1)];
+            }
+            int best = legal[0];
+            int bestScore = 0;
+            for (int i = 1; i < count; i++) {
+                int score = score(s, seat, legal[i]);
+                if (score > bestScore) {
+                    best = legal[i];
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        private int score(GameState s, int seat, int move) {
+            int target = Move.target(move);
+            return switch (Cards.kind(Move.card(move))) {
+                case PEACH -> 1000;
+                case DRAW_TWO -> 900;
+                case STRIKE -> isEnemy(s, seat, target) ? 800 - s.health(target) : 0;
+                case DISMANTLE, SNATCH -> isEnemy(s, seat, target) ? 100 + s.handSize(target) : 0;
+                case DODGE -> 0;
+            };
+        }
+
+        // Among the living only the lord's role is public, so everyone else is fair game
+        private boolean isEnemy(GameState s, int seat, int target) {
+            return !s.isRoleRevealed(target) || s.role(seat) == Role.REBEL;
+        }
+    };
+
+    abstract int choose(GameState s, int seat, int[] legal, int count, SplitMix64 rng);
+}
@@ -0,0 +1,95 @@
+package com.example.three_kingdom_backend.game;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A game as its player count, seed and the seat and move of every accepted action in order, which
+ * is all {@link #replay} needs to rebuild it exactly. Stored as text: {@code players seed} on the
+ * first line, then one {@code seat move} line per action, the same pair game_events holds.
+ */
+final class GameRecord {
+
+    private int players;
+    private long seed;
+    private int[] seats = new int[256];
+    private int[] moves = new int[256];
+    private int size;
+
+    GameRecord(int players, long seed) {
+        reset(players, seed);
+    }
+
+    /** Starts recording another game, keeping the buffers. */
+    void reset(int players, long seed) {
+        this.players = players;
+        this.seed = seed;
+        this.size = 0;
+    }
+
+    void add(int seat, int move) {
+        if (size == moves.length) {
+            seats = Arrays.copyOf(seats, size * 2);
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        seats[size] = seat;
+        moves[size] = move;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    GameRecord copy() {
+        GameRecord copy = new GameRecord(players, seed);
+        copy.seats = Arrays.copyOf(seats, size);
+        copy.moves = Arrays.copyOf(moves, size);
+        copy.size = size;
+        return copy;
+    }
+
+    /** Deals the game from its seed and applies every recorded action, failing on the first one that no longer applies. */
+    GameState replay() {
+        GameState s = GameEngine.newGame(players, seed);
+        for (int i = 0; i < size; i++) {
+            ActionResult result = GameEngine.apply(s, seats[i], moves[i]);
+            if (result != ActionResult.OK) {
+                throw new IllegalStateException("Action " + i + " by seat " + seats[i] + " replayed as " + result);
+            }
+        }
+        return s;
+    }
+
+    void write(Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path)) {
+            out.write(players + " " + seed);
+            out.newLine();
+            for (int i = 0; i < size; i++) {
+                out.write(seats[i] + " " + moves[i]);
+                out.newLine();
+            }
+        }
+    }
+
+    static GameRecord read(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path);
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("Empty game record: " + path);
+        }
+        String[] header = lines.get(0).trim().split("\\s+");
+        GameRecord record = new GameRecord(Integer.parseInt(header[0]), Long.parseLong(header[1]));
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] action = line.trim().split("\\s+");
+            record.add(Integer.parseInt(action[0]), Integer.parseInt(action[1]));
+        }
+        return record;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.three_kingdom_backend.game;
+
+import com.example.three_kingdom_backend.room.BotRooms;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/**
+ * Plays bot games headlessly, without the web server or the database, to tune the engine and
+ * catch regressions. Each room is seated through {@link BotRooms} and dealt from a seed derived
+ * from {@code --seed} and its index, so a run gives the same games whatever the thread count.
+ * Games run in parallel on a {@link ForkJoinPool}; the report covers games and actions per
+ * second, bytes allocated per game and the latency of {@link GameEngine#apply}.
+ *
+ * <pre>
+ * ./gradlew simulate --args="--games=20000 --players=5 --bots=mixed --threads=8"
+ * ./gradlew simulate --args="--games=1 --seed=42 --record=game.log"
+ * ./gradlew simulate --args="--replay=game.log"
+ * </pre>
+ */
+public final class GameSimulator {
+
+    static final int MAX_ACTIONS = 100_000;
+
+    private static final String USAGE = """
+            Options: --games=N --players=N --bots=random|scripted|mixed --threads=N --seed=N --warmup=N
+                     --verify (replay every game and compare) --record=FILE (save the first game)
+                     --replay=FILE (replay a saved game)""";
+
+    record Settings(int games, int players, String bots, int threads, long seed, boolean verify) {
+    }
+
+    record Report(long games, long actions, long unfinished, long[] wins, long elapsedNanos, long allocatedBytes,
+            LatencyHistogram latency) {
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Settings settings;
+    private final Bot[] bots;
+    private final Queue<Worker> workers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Worker> worker = ThreadLocal.withInitial(this::newWorker);
+    private volatile GameRecord firstGame;
+
+    GameSimulator(Settings settings) {
+        this.settings = settings;
+        this.bots = seatBots(settings.bots(), settings.players());
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parse(args);
+        if (options.containsKey("replay")) {
+            replay(Path.of(options.get("replay")));
+            return;
+        }
+        Settings settings = new Settings(
+                Integer.parseInt(options.getOrDefault("games", "10000")),
+                Integer.parseInt(options.getOrDefault("players", "5")),
+                options.getOrDefault("bots", "mixed"),
+                Integer.parseInt(options.getOrDefault("threads",
+                        String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Long.parseLong(options.getOrDefault("seed", "1")),
+                options.containsKey("verify"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "2000"));
+
+        if (warmup > 0) {
+            // Different seeds, so the measured games are not ones the JIT has already seen
+            new GameSimulator(new Settings(warmup, settings.players(), settings.bots(), settings.threads(),
+                    ~settings.seed(), false)).run();
+        }
+        GameSimulator simulator = new GameSimulator(settings);
+        print(settings, simulator.run());
+        if (options.containsKey("record")) {
+            Path path = Path.of(options.get("record"));
+            simulator.firstGame.write(path);
+            System.out.printf("Recorded game 0 (%d actions) to %s%n", simulator.firstGame.size(), path);
+        }
+    }
+
+    Report run() {
+        ForkJoinPool pool = new ForkJoinPool(settings.threads());
+        long started = System.nanoTime();
+        try {
+            pool.submit(() -> LongStream.range(0, settings.games()).parallel().forEach(this::play)).join();
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - started;
+
+        long games = 0;
+        long actions = 0;
+        long unfinished = 0;
+        long allocated = 0;
+        long[] wins = new long[Role.values().length];
+        LatencyHistogram latency = new LatencyHistogram();
+        for (Worker w : workers) {
+            games += w.games;
+            actions += w.actions;
+            unfinished += w.unfinished;
+            allocated += w.allocatedBytes;
+            for (int role = 0; role < wins.length; role++) {
+                wins[role] += w.wins[role];
+            }
+            latency.add(w.latency);
+        }
+        return new Report(games, actions, unfinished, wins, elapsed, allocated, latency);
+    }
+
+    private void play(long room) {
+        Worker w = worker.get();
+        long roomSeed = new SplitMix64(settings.seed() + room).nextLong();
+        long[] userIds = BotRooms.start(room + 1, settings.players());
+        SplitMix64 rng = new SplitMix64(~roomSeed);
+        w.record.reset(userIds.length, roomSeed);
+
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        GameState s = GameEngine.newGame(userIds.length, roomSeed);
+        while (s.phase() != Phase.FINISHED && s.actionCount() < MAX_ACTIONS) {
+            int seat = s.actingSeat();
+            int count = GameEngine.legalMoves(s, w.legal);
+            int move = bots[seat].choose(s, seat, w.legal, count, rng);
+            long applyStarted = System.nanoTime();
+            ActionResult result = GameEngine.apply(s, seat, move);
+            w.latency.record(System.nanoTime() - applyStarted);
+            if (result != ActionResult.OK) {
+                throw new IllegalStateException("Room " + room + ": legal move " + move + " was rejected as " + result);
+            }
+            w.record.add(seat, move);
+        }
+        w.allocatedBytes += THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        w.games++;
+        w.actions += s.actionCount();
+        if (s.phase() == Phase.FINISHED) {
+            w.wins[s.winner().ordinal()]++;
+        } else {
+            w.unfinished++;
+        }
+        if (settings.verify() && !Arrays.equals(GameSnapshotCodec.encode(userIds, s),
+                GameSnapshotCodec.encode(userIds, w.record.replay()))) {
+            throw new IllegalStateException("Room " + room + " ended differently when replayed from its seed");
+        }
+        if (room == 0) {
+            firstGame = w.record.copy();
+        }
+    }
+
+    private Worker newWorker() {
+        Worker w = new Worker();
+        workers.add(w);
+        return w;
+    }
+
+    private static Bot[] seatBots(String bots, int players) {
+        Bot[] seats = new Bot[players];
+        for (int seat = 0; seat < players; seat++) {
+            seats[seat] = switch (bots) {
+                case "random" -> Bot.RANDOM;
+                case "scripted" -> Bot.SCRIPTED;
+                case "mixed" -> seat % 2 == 0 ? Bot.SCRIPTED : Bot.RANDOM;
+                default -> throw new IllegalArgumentException("Unknown bots: " + bots + "\n" + USAGE);
+            };
+        }
+        return seats;
+    }
+
+    private static void replay(Path path) throws IOException {
+        GameRecord record = GameRecord.read(path);
+        GameState s = record.replay();
+        System.out.printf("Replayed %d actions from %s: %s%n", record.size(), path,
+                s.phase() == Phase.FINISHED ? s.winner() + " won" : "still in " + s.phase());
+    }
+
+    private static void print(Settings settings, Report report) {
+        double seconds = report.elapsedNanos() / 1e9;
+        LatencyHistogram latency = report.latency();
+        System.out.printf(Locale.ROOT, "Simulated %d games (%d players, %s bots) on %d threads in %.2f s%n",
+                report.games(), settings.players(), settings.bots(), settings.threads(), seconds);
+        System.out.printf(Locale.ROOT, "  games/sec     %,.0f%n", report.games() / seconds);
+        System.out.printf(Locale.ROOT, "  actions/sec   %,.0f (%.1f per game)%n", report.actions() / seconds,
+                (double) report.actions() / report.games());
+        System.out.printf(Locale.ROOT, "  alloc/game    %,d bytes%n", report.allocatedBytes() / report.games());
+        System.out.printf(Locale.ROOT, "  apply latency p50 %d ns, p99 %d ns, p99.9 %d ns, max %,d ns%n",
+                latency.percentile(0.50), latency.percentile(0.99), latency.percentile(0.999), latency.max());
+        StringBuilder wins = new StringBuilder();
+        for (Role role : Role.values()) {
+            wins.append(String.format(Locale.ROOT, " %s %.1f%%", role,
+                    100.0 * report.wins()[role.ordinal()] / report.games()));
+        }
+        System.out.println("  winners      " + wins);
+        if (report.unfinished() > 0) {
+            System.out.printf("  unfinished    %d games hit %d actions%n", report.unfinished(), MAX_ACTIONS);
+        }
+        if (settings.verify()) {
+            System.out.println("  replay        every game matched its replay");
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg + "\n" + USAGE);
+            }
+            int equals = arg.indexOf('=');
+            options.put(equals < 0 ? arg.substring(2) : arg.substring(2, equals),
+                    equals < 0 ? "" : arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    /** Per-thread buffers and totals, so the hot loop shares nothing. */
+    private static final class Worker {
+        final int[] legal = new int[Move.MAX_LEGAL];
+        final GameRecord record = new GameRecord(0, 0);
+        final LatencyHistogram latency = new LatencyHistogram();
+        final long[] wins = new long[Role.values().length];
+        long games;
+        long actions;
+        long unfinished;
+        long allocatedBytes;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.three_kingdom_backend.room;
+
+import java.util.Date;
+
+/**
+ * Seats bot users in rooms through the same {@link LiveRoom} join and start path real players
+ * take, minus the registry's database writes, so simulated games are seated like live ones.
+ */
+public final class BotRooms {
+
+    // Room ids are multiplied by this to give every room its own range of bot user ids
+    private static final long USERS_PER_ROOM = 64;
+
+    private BotRooms() {
+    }
+
+    /** Opens room {@code roomId}, fills it with {@code players} bots and starts it; returns their user ids in seat order. */
+    public static long[] start(long roomId, int players) {
+        long ownerId = roomId * USERS_PER_ROOM + 1;
+        Date now = new Date();
+        LiveRoom room = new LiveRoom(roomId, ownerId, "bot-" + ownerId, "Simulated room", null, players,
+                STATUS.OPENING, now, now);
+        room.addMember(ownerId);
+        for (int bot = 1; bot < players; bot++) {
+            RoomRegistry.JoinResult result = room.seat(ownerId + bot);
+            if (result != RoomRegistry.JoinResult.JOINED) {
+                throw new IllegalStateException("Bot could not join room " + roomId + ": " + result);
+            }
+        }
+        long[] seats = room.start();
+        if (seats == null) {
+            throw new IllegalStateException("Room " + roomId + " could not be started");
+        }
+        return seats;
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.three_kingdom_backend.auth;
 
+import com.example.three_kingdom_backend.auth.refreshtoken.RefreshTokenService;
 import com.example.three_kingdom_backend.user.User;
 import com.example.three_kingdom_backend.user.UserService;
 import com.example.three_kingdom_backend.util.response.StandardResponse;
+import com.example.three_kingdom_backend.config.security.AuthUser;
 import com.example.three_kingdom_backend.config.security.JwtService;
 import com.example.three_kingdom_backend.config.security.CustomUserDetailsService;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,9 +15,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.Instant;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +43,9 @@ class AuthServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -103,4 +115,42 @@ class AuthServiceTest {
         verify(userService, times(1)).createUser(argThat(user -> user.getUsername().equals("testuser") &&
                 user.getEmail().equals("test@example.com")));
     }
+
+    @Test
+    @DisplayName("Login issues tokens for the authenticated principal without reloading the user")
+    void testLogin_ReusesAuthenticatedPrincipal() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setPassword("encodedPassword");
+        AuthUser principal = new AuthUser(user, List.of());
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        when(jwtService.generateToken(eq(principal), any(Instant.class))).thenReturn("access-token");
+        when(refreshTokenService.issue(eq(principal), any(Instant.class))).thenReturn("refresh-token");
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("testuser");
+        loginRequest.setPassword("password123");
+        StandardResponse<AuthResponse> response = authService.login(loginRequest);
+
+        assertThat(response.getCode()).isEqualTo("200");
+        assertThat(response.getData().getAccessToken()).isEqualTo("access-token");
+        assertThat(response.getData().getRefreshToken()).isEqualTo("refresh-token");
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Login with bad credentials returns 401")
+    void testLogin_BadCredentials() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("testuser");
+        loginRequest.setPassword("wrong");
+        StandardResponse<AuthResponse> response = authService.login(loginRequest);
+
+        assertThat(response.getCode()).isEqualTo("401");
+        verify(refreshTokenService, never()).issue(any(AuthUser.class), any(Instant.class));
+    }
 }
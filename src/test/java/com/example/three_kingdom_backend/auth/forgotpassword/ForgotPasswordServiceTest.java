@@ -2,6 +2,7 @@ package com.example.three_kingdom_backend.auth.forgotpassword;
 
 import com.example.three_kingdom_backend.mail.MailService;
 import com.example.three_kingdom_backend.user.User;
+import com.example.three_kingdom_backend.user.UserChangedEvent;
 import com.example.three_kingdom_backend.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,7 +10,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -34,16 +37,23 @@ class ForgotPasswordServiceTest {
     @Mock
     private MailService mailService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ForgotPasswordService forgotPasswordService;
 
-    private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
+    @Spy
+    private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder =
+            new org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder();
+
+    @Spy
+    private OtpHasher otpHasher = new HmacOtpHasher("test-otp-secret", passwordEncoder);
 
     private User user;
 
     @BeforeEach
     void setUp() {
-        passwordEncoder = new org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder();
         user = new User();
         user.setId(1L);
         user.setUsername("testuser");
@@ -61,7 +71,7 @@ class ForgotPasswordServiceTest {
         forgotPasswordService.requestOtp("test@example.com");
 
         verify(userRepository, times(1)).findByEmail("test@example.com");
-        verify(passwordResetOTPRepository, times(1)).save(any(PasswordResetOTP.class));
+        verify(passwordResetOTPRepository, times(1)).save(argThat(otp -> otp.getCodeHash().startsWith("hmac$")));
         verify(mailService, times(1)).send(eq("test@example.com"), anyString(), anyString());
     }
 
@@ -111,6 +121,8 @@ class ForgotPasswordServiceTest {
         verify(userRepository, times(1)).save(any(User.class));
         verify(mailService, times(1)).send(eq("test@example.com"), anyString(), anyString());
         assertThat(otp.isUsed()).isTrue();
+        assertThat(user.getCredentialVersion()).isEqualTo(1);
+        verify(eventPublisher, times(1)).publishEvent(new UserChangedEvent(1L, "testuser", 1));
     }
 
     @Test
@@ -200,6 +212,7 @@ class ForgotPasswordServiceTest {
         verify(passwordResetOTPRepository, times(1)).save(any(PasswordResetOTP.class));
         verify(userRepository, never()).save(any(User.class));
         verify(mailService, never()).send(anyString(), anyString(), anyString());
+        verify(eventPublisher, never()).publishEvent(any(UserChangedEvent.class));
         assertThat(otp.getAttempts()).isEqualTo(1);
     }
 }
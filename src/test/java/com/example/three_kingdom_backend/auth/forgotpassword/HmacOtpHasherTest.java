@@ -0,0 +1,56 @@
+package com.example.three_kingdom_backend.auth.forgotpassword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HmacOtpHasher Tests")
+class HmacOtpHasherTest {
+
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+    private final HmacOtpHasher hasher = new HmacOtpHasher("test-otp-secret", bcrypt);
+
+    @Test
+    @DisplayName("Hashed code verifies, other codes do not")
+    void testHashAndMatch() {
+        String hash = hasher.hash("123456");
+
+        assertThat(hash).startsWith("hmac$");
+        assertThat(hasher.matches("123456", hash)).isTrue();
+        assertThat(hasher.matches("123457", hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Same code hashes differently each time")
+    void testHash_Salted() {
+        assertThat(hasher.hash("123456")).isNotEqualTo(hasher.hash("123456"));
+    }
+
+    @Test
+    @DisplayName("Hash made with another key does not verify")
+    void testMatches_DifferentKey() {
+        String hash = new HmacOtpHasher("other-secret", bcrypt).hash("123456");
+
+        assertThat(hasher.matches("123456", hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Legacy bcrypt hashes still verify")
+    void testMatches_LegacyBcrypt() {
+        String legacy = bcrypt.encode("654321");
+
+        assertThat(hasher.matches("654321", legacy)).isTrue();
+        assertThat(hasher.matches("000000", legacy)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Malformed hashes are rejected")
+    void testMatches_Malformed() {
+        assertThat(hasher.matches("123456", "hmac$")).isFalse();
+        assertThat(hasher.matches("123456", "hmac$!!!$???")).isFalse();
+        assertThat(hasher.matches("123456", null)).isFalse();
+        assertThat(hasher.matches(null, hasher.hash("123456"))).isFalse();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.three_kingdom_backend.auth.refreshtoken;
+
+import com.example.three_kingdom_backend.config.security.AuthUser;
+import com.example.three_kingdom_backend.config.security.JwtService;
+import com.example.three_kingdom_backend.config.security.VerifiedToken;
+import com.example.three_kingdom_backend.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenFamilyRepository repository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private JwtService jwtService;
+    private RefreshTokenFamilyStore store;
+    private RefreshTokenService refreshTokenService;
+    private AuthUser authUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(
+                "your-256-bit-secret-key-must-be-at-least-32-characters-long-for-hs256-algorithm-please-change-in-production",
+                86400000L, 604800000L);
+        store = new RefreshTokenFamilyStore(repository, jdbcTemplate);
+        refreshTokenService = new RefreshTokenService(jwtService, store);
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setPassword("password");
+        authUser = new AuthUser(user, List.of());
+    }
+
+    @Test
+    @DisplayName("Current refresh token rotates to a new token in the same family")
+    void testRotate_Success() {
+        VerifiedToken issued = jwtService.verify(refreshTokenService.issue(authUser));
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(issued, authUser);
+
+        assertThat(rotation.outcome()).isEqualTo(RefreshTokenService.Outcome.ROTATED);
+        VerifiedToken rotated = jwtService.verify(rotation.refreshToken());
+        assertThat(rotated.getFamilyId()).isEqualTo(issued.getFamilyId());
+        assertThat(rotated.getId()).isNotEqualTo(issued.getId());
+    }
+
+    @Test
+    @DisplayName("Replaying a rotated token revokes the whole family")
+    void testRotate_ReuseRevokesFamily() {
+        VerifiedToken issued = jwtService.verify(refreshTokenService.issue(authUser));
+        VerifiedToken rotated = jwtService.verify(refreshTokenService.rotate(issued, authUser).refreshToken());
+
+        RefreshTokenService.Rotation replay = refreshTokenService.rotate(issued, authUser);
+        RefreshTokenService.Rotation afterRevoke = refreshTokenService.rotate(rotated, authUser);
+
+        assertThat(replay.outcome()).isEqualTo(RefreshTokenService.Outcome.REUSED);
+        assertThat(replay.refreshToken()).isNull();
+        assertThat(afterRevoke.outcome()).isEqualTo(RefreshTokenService.Outcome.REJECTED);
+    }
+
+    @Test
+    @DisplayName("Refresh token of another user is rejected")
+    void testRotate_OtherUser() {
+        VerifiedToken issued = jwtService.verify(refreshTokenService.issue(authUser));
+        User other = new User();
+        other.setId(2L);
+        other.setUsername("other");
+        other.setPassword("password");
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(issued, new AuthUser(other, List.of()));
+
+        assertThat(rotation.outcome()).isEqualTo(RefreshTokenService.Outcome.REJECTED);
+    }
+
+    @Test
+    @DisplayName("Rotations are persisted in one batch on flush")
+    void testFlush_BatchesChanges() {
+        VerifiedToken first = jwtService.verify(refreshTokenService.issue(authUser));
+        refreshTokenService.issue(authUser);
+        refreshTokenService.rotate(first, authUser);
+
+        store.flush();
+        store.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+        verify(repository, never()).save(any(RefreshTokenFamily.class));
+    }
+
+    @Test
+    @DisplayName("Flush only moves a family forward: revocation is sticky and rotations are counted")
+    void testFlush_NeverMovesBackwards() {
+        // Given
+        VerifiedToken issued = jwtService.verify(refreshTokenService.issue(authUser));
+        refreshTokenService.rotate(issued, authUser);
+
+        // When
+        store.flush();
+
+        // Then
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), rows.capture());
+        assertThat(sql.getValue())
+                .contains("revoked = f.revoked OR EXCLUDED.revoked")
+                .contains("WHERE EXCLUDED.rotation > f.rotation");
+        assertThat(rows.getValue()).hasSize(1);
+        assertThat(rows.getValue().get(0)[5]).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.three_kingdom_backend.config.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AuthRateLimitFilter Tests")
+class AuthRateLimitFilterTest {
+
+    private AuthRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AuthRateLimitFilter(new ObjectMapper(), new SimpleMeterRegistry(), 60_000, 5, 2, 1000);
+    }
+
+    @Test
+    @DisplayName("Per-username limit rejects with 429 before the chain is invoked")
+    void testLogin_UsernameLimited() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+
+        assertThat(send(login("alice", "10.0.0.1"), chain).getStatus()).isEqualTo(200);
+        assertThat(send(login("Alice", "10.0.0.2"), chain).getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = send(login("alice", "10.0.0.3"), chain);
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isNotNull();
+        assertThat(rejected.getContentAsString()).contains("\"code\":\"429\"");
+        verify(chain, times(2)).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Per-IP limit applies across usernames")
+    void testLogin_IpLimited() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(send(login("user" + i, "10.0.0.9"), chain).getStatus()).isEqualTo(200);
+        }
+
+        assertThat(send(login("someone-else", "10.0.0.9"), chain).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Inspected body is still readable downstream")
+    void testLogin_BodyReplayed() throws Exception {
+        String body = "{\"username\":\"bob\",\"password\":\"secret\"}";
+        StringBuilder seen = new StringBuilder();
+        FilterChain chain = (request, response) -> seen.append(readBody(request));
+
+        send(request("/api/auth/login", body, "10.0.0.4"), chain);
+
+        assertThat(seen.toString()).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("Inspected body is delivered to a non-blocking reader")
+    void testLogin_BodyReplayedToReadListener() throws Exception {
+        String body = "{\"username\":\"bob\",\"password\":\"secret\"}";
+        StringBuilder seen = new StringBuilder();
+        List<String> callbacks = new ArrayList<>();
+        FilterChain chain = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    callbacks.add("data");
+                    byte[] buffer = new byte[16];
+                    while (in.isReady() && !in.isFinished()) {
+                        int n = in.read(buffer);
+                        if (n > 0) {
+                            seen.append(new String(buffer, 0, n, StandardCharsets.UTF_8));
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    callbacks.add("end");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    callbacks.add("error");
+                }
+            });
+        };
+
+        send(request("/api/auth/login", body, "10.0.0.6"), chain);
+
+        assertThat(seen.toString()).isEqualTo(body);
+        assertThat(callbacks).containsExactly("data", "end");
+    }
+
+    @Test
+    @DisplayName("Body larger than the inspection limit is replayed whole")
+    void testLogin_LargeBodyReplayed() throws Exception {
+        String body = "{\"username\":\"" + "b".repeat(10_000) + "\"}";
+        StringBuilder seen = new StringBuilder();
+        FilterChain chain = (request, response) -> seen.append(readBody(request));
+
+        send(request("/api/auth/login", body, "10.0.0.7"), chain);
+
+        assertThat(seen.toString()).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("Other endpoints are not throttled")
+    void testShouldNotFilter_OtherPaths() {
+        MockHttpServletRequest refresh = request("/api/auth/refresh", "{}", "10.0.0.5");
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/auth/login");
+
+        assertThat(filter.shouldNotFilter(refresh)).isTrue();
+        assertThat(filter.shouldNotFilter(get)).isTrue();
+        assertThat(filter.shouldNotFilter(request("/api/auth/forgot-password/request", "{}", "10.0.0.5")))
+                .isFalse();
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest login(String username, String ip) {
+        return request("/api/auth/login", "{\"username\":\"" + username + "\",\"password\":\"x\"}", ip);
+    }
+
+    private static MockHttpServletRequest request(String path, String body, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.setRemoteAddr(ip);
+        return request;
+    }
+
+    private static String readBody(ServletRequest request) {
+        try {
+            return new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
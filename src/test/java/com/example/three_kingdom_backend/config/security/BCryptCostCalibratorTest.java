@@ -0,0 +1,66 @@
+package com.example.three_kingdom_backend.config.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BCryptCostCalibrator Tests")
+class BCryptCostCalibratorTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // 10 ms at cost 10, doubling per step
+    private static long simulatedHash(int cost) {
+        return (10 * MS) << (cost - 10);
+    }
+
+    @Test
+    @DisplayName("Picks the highest cost within the target")
+    void testCalibrate_WithinTarget() {
+        assertThat(BCryptCostCalibrator.calibrate(100 * MS, 10, 16, BCryptCostCalibratorTest::simulatedHash))
+                .isEqualTo(13);
+    }
+
+    @Test
+    @DisplayName("Never goes below the minimum cost")
+    void testCalibrate_ClampedToMin() {
+        assertThat(BCryptCostCalibrator.calibrate(MS, 10, 16, BCryptCostCalibratorTest::simulatedHash))
+                .isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Never goes above the maximum cost")
+    void testCalibrate_ClampedToMax() {
+        assertThat(BCryptCostCalibrator.calibrate(10_000 * MS, 10, 12, BCryptCostCalibratorTest::simulatedHash))
+                .isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Steps down when the chosen cost is slower than predicted")
+    void testCalibrate_StepsDownOnSlowVerification() {
+        int calibrated = BCryptCostCalibrator.calibrate(100 * MS, 10, 16,
+                cost -> cost >= 12 ? 4 * simulatedHash(cost) : simulatedHash(cost));
+
+        assertThat(calibrated).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("Configured cost skips calibration")
+    void testConstructor_FixedCost() {
+        assertThat(new BCryptCostCalibrator(7, 1, 4, 16).getCost()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Encoder requests a rehash for any other cost")
+    void testUpgradeEncoding_DifferentCost() {
+        CostAwareBCryptPasswordEncoder encoder = new CostAwareBCryptPasswordEncoder(5);
+
+        assertThat(encoder.upgradeEncoding(new CostAwareBCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new CostAwareBCryptPasswordEncoder(6).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+    }
+}
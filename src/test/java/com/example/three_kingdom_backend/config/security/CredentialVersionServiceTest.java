@@ -0,0 +1,88 @@
+package com.example.three_kingdom_backend.config.security;
+
+import com.example.three_kingdom_backend.user.UserChangedEvent;
+import com.example.three_kingdom_backend.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CredentialVersionService Tests")
+class CredentialVersionServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private CredentialVersionService credentialVersionService;
+
+    @BeforeEach
+    void setUp() {
+        credentialVersionService = new CredentialVersionService(userRepository, 1000, 60_000, nanos::get);
+    }
+
+    @Test
+    @DisplayName("Current version is loaded from the database only once")
+    void testIsCurrent_LoadsOnce() {
+        when(userRepository.findCredentialVersionById(1L)).thenReturn(Optional.of(0));
+
+        assertThat(credentialVersionService.isCurrent(1L, 0)).isTrue();
+        assertThat(credentialVersionService.isCurrent(1L, 0)).isTrue();
+
+        verify(userRepository, times(1)).findCredentialVersionById(1L);
+    }
+
+    @Test
+    @DisplayName("Unknown user is never current")
+    void testIsCurrent_UnknownUser() {
+        when(userRepository.findCredentialVersionById(99L)).thenReturn(Optional.empty());
+
+        assertThat(credentialVersionService.isCurrent(99L, 0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("User change makes older tokens stale without a database read")
+    void testOnUserChanged_InvalidatesOlderVersion() {
+        credentialVersionService.onUserChanged(new UserChangedEvent(1L, "testuser", 2));
+
+        assertThat(credentialVersionService.isCurrent(1L, 1)).isFalse();
+        assertThat(credentialVersionService.isCurrent(1L, 2)).isTrue();
+
+        verify(userRepository, never()).findCredentialVersionById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Older version from a late load never overrides a newer one")
+    void testOnUserChanged_KeepsHighestVersion() {
+        credentialVersionService.onUserChanged(new UserChangedEvent(1L, "testuser", 3));
+        credentialVersionService.onUserChanged(new UserChangedEvent(1L, "testuser", 2));
+
+        assertThat(credentialVersionService.isCurrent(1L, 3)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Cached version expires, so a password change made on another node is picked up")
+    void testIsCurrent_ExpiresAndReloads() {
+        // Given
+        when(userRepository.findCredentialVersionById(1L)).thenReturn(Optional.of(0), Optional.of(1));
+        assertThat(credentialVersionService.isCurrent(1L, 0)).isTrue();
+
+        // When
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(60_001));
+
+        // Then
+        assertThat(credentialVersionService.isCurrent(1L, 0)).isFalse();
+        assertThat(credentialVersionService.isCurrent(1L, 1)).isTrue();
+        verify(userRepository, times(2)).findCredentialVersionById(1L);
+    }
+}
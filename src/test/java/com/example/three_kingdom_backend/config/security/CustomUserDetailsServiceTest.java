@@ -1,12 +1,13 @@
 package com.example.three_kingdom_backend.config.security;
 
 import com.example.three_kingdom_backend.user.User;
+import com.example.three_kingdom_backend.user.UserChangedEvent;
 import com.example.three_kingdom_backend.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -25,13 +26,15 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private CustomUserDetailsService customUserDetailsService;
 
     private User user;
 
     @BeforeEach
     void setUp() {
+        customUserDetailsService = new CustomUserDetailsService(
+                userRepository, new SimpleMeterRegistry(), 100, 60_000, 60_000);
+
         user = new User();
         user.setId(1L);
         user.setUsername("testuser");
@@ -106,4 +109,67 @@ class CustomUserDetailsServiceTest {
 
         verify(userRepository, times(1)).findByUsername("differentuser");
     }
+
+    @Test
+    @DisplayName("Repeated loads are served from the cache")
+    void testLoadUserByUsername_Cached() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        customUserDetailsService.loadUserByUsername("testuser");
+        UserDetails userDetails = customUserDetailsService.loadUserByUsername("testuser");
+
+        assertThat(userDetails.getUsername()).isEqualTo("testuser");
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    @DisplayName("Unknown usernames are negative-cached")
+    void testLoadUserByUsername_NegativeCached() {
+        when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class,
+                () -> customUserDetailsService.loadUserByUsername("nonexistent"));
+        assertThrows(UsernameNotFoundException.class,
+                () -> customUserDetailsService.loadUserByUsername("nonexistent"));
+
+        verify(userRepository, times(1)).findByUsername("nonexistent");
+    }
+
+    @Test
+    @DisplayName("User change event evicts the cached entry")
+    void testOnUserChanged_Evicts() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        customUserDetailsService.loadUserByUsername("testuser");
+        customUserDetailsService.onUserChanged(new UserChangedEvent(1L, "testuser", 1));
+        customUserDetailsService.loadUserByUsername("testuser");
+
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    @DisplayName("Rehashed password is stored and returned")
+    void testUpdatePassword_Success() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userRepository.updatePasswordIfUnchanged(1L, "encodedPassword", "rehashed")).thenReturn(1);
+
+        UserDetails loaded = customUserDetailsService.loadUserByUsername("testuser");
+        UserDetails updated = customUserDetailsService.updatePassword(loaded, "rehashed");
+
+        assertThat(updated.getPassword()).isEqualTo("rehashed");
+        assertThat(((AuthUser) updated).getId()).isEqualTo(1L);
+        verify(userRepository, times(1)).updatePasswordIfUnchanged(1L, "encodedPassword", "rehashed");
+    }
+
+    @Test
+    @DisplayName("Rehash is dropped when the stored password changed in the meantime")
+    void testUpdatePassword_PasswordChangedConcurrently() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userRepository.updatePasswordIfUnchanged(1L, "encodedPassword", "rehashed")).thenReturn(0);
+
+        UserDetails loaded = customUserDetailsService.loadUserByUsername("testuser");
+        UserDetails updated = customUserDetailsService.updatePassword(loaded, "rehashed");
+
+        assertThat(updated.getPassword()).isEqualTo("encodedPassword");
+    }
 }
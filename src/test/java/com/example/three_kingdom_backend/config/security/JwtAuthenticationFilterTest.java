@@ -0,0 +1,142 @@
+package com.example.three_kingdom_backend.config.security;
+
+import com.example.three_kingdom_backend.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "your-256-bit-secret-key-must-be-at-least-32-characters-long-for-hs256-algorithm-please-change-in-production";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private CredentialVersionService credentialVersionService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private AuthUser authUser;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = new JwtService(SECRET, 86400000L, 604800000L);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, credentialVersionService,
+                tokenRevocationService, new PublicRoutes(), meterRegistry, 5);
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setPassword("encodedPassword");
+        authUser = new AuthUser(user, List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Valid token authenticates from its claims without loading the user")
+    void testValidToken_Authenticated() throws Exception {
+        when(credentialVersionService.isCurrent(1L, 0)).thenReturn(true);
+
+        filter.doFilter(request("Bearer " + jwtService.generateToken(authUser)), new MockHttpServletResponse(),
+                filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        assertThat(outcomeCount("authenticated")).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.jwt.parse").timer().count()).isEqualTo(1);
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(filterChain, times(1)).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Malformed token is counted and the request continues unauthenticated")
+    void testMalformedToken() throws Exception {
+        filter.doFilter(request("Bearer not-a-jwt"), new MockHttpServletResponse(), filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(outcomeCount("malformed")).isEqualTo(1);
+        verify(filterChain, times(1)).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Missing header and revoked token are counted by reason")
+    void testOutcomesByReason() throws Exception {
+        when(tokenRevocationService.isRevoked(anyString())).thenReturn(true);
+
+        filter.doFilter(request(null), new MockHttpServletResponse(), filterChain);
+        filter.doFilter(request("Bearer " + jwtService.generateToken(authUser)), new MockHttpServletResponse(),
+                filterChain);
+
+        assertThat(outcomeCount("no_token")).isEqualTo(1);
+        assertThat(outcomeCount("revoked")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Exceptions from further down the chain propagate and the chain runs once")
+    void testDownstreamException_NotSwallowed() throws Exception {
+        when(credentialVersionService.isCurrent(1L, 0)).thenReturn(true);
+        doThrow(new ServletException("boom")).when(filterChain).doFilter(any(), any());
+
+        assertThatThrownBy(() -> filter.doFilter(request("Bearer " + jwtService.generateToken(authUser)),
+                new MockHttpServletResponse(), filterChain)).isInstanceOf(ServletException.class);
+
+        verify(filterChain, times(1)).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Log limiter lets a fixed number of lines through per second")
+    void testLogRateLimiter() {
+        LogRateLimiter limiter = new LogRateLimiter(2);
+
+        assertThat(limiter.tryAcquire(1_000)).isTrue();
+        assertThat(limiter.tryAcquire(1_500)).isTrue();
+        assertThat(limiter.tryAcquire(1_999)).isFalse();
+        assertThat(limiter.tryAcquire(2_000)).isTrue();
+        assertThat(limiter.drainSuppressed()).isEqualTo(1);
+    }
+
+    private double outcomeCount(String outcome) {
+        return meterRegistry.get("auth.jwt.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rooms");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+}
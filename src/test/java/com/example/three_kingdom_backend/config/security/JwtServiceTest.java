@@ -1,22 +1,18 @@
 package com.example.three_kingdom_backend.config.security;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("JwtService Tests")
@@ -31,10 +27,7 @@ class JwtServiceTest {
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService();
-        ReflectionTestUtils.setField(jwtService, "secret", secret);
-        ReflectionTestUtils.setField(jwtService, "expiration", expiration);
-        ReflectionTestUtils.setField(jwtService, "refreshExpiration", refreshExpiration);
+        jwtService = new JwtService(secret, expiration, refreshExpiration);
 
         userDetails = org.springframework.security.core.userdetails.User.builder()
                 .username("testuser")
@@ -55,7 +48,7 @@ class JwtServiceTest {
     @Test
     @DisplayName("Generate refresh token successfully")
     void testGenerateRefreshToken_Success() {
-        String refreshToken = jwtService.generateRefreshToken(userDetails);
+        String refreshToken = jwtService.generateRefreshToken(userDetails, "family-1", "token-1");
 
         assertThat(refreshToken).isNotNull();
         assertThat(refreshToken).isNotEmpty();
@@ -109,7 +102,7 @@ class JwtServiceTest {
     @Test
     @DisplayName("Check if token is refresh token")
     void testIsRefreshToken_Success() {
-        String refreshToken = jwtService.generateRefreshToken(userDetails);
+        String refreshToken = jwtService.generateRefreshToken(userDetails, "family-1", "token-1");
         Boolean isRefresh = jwtService.isRefreshToken(refreshToken);
 
         assertThat(isRefresh).isTrue();
@@ -128,10 +121,7 @@ class JwtServiceTest {
     @DisplayName("Check if expired token is detected")
     void testIsTokenExpired_ExpiredToken() throws InterruptedException {
         // Create a token with very short expiration (1 second)
-        JwtService shortExpirationService = new JwtService();
-        ReflectionTestUtils.setField(shortExpirationService, "secret", secret);
-        ReflectionTestUtils.setField(shortExpirationService, "expiration", 1000L);
-        ReflectionTestUtils.setField(shortExpirationService, "refreshExpiration", refreshExpiration);
+        JwtService shortExpirationService = new JwtService(secret, 1000L, refreshExpiration);
 
         String token = shortExpirationService.generateToken(userDetails);
 
@@ -171,4 +161,92 @@ class JwtServiceTest {
         Boolean isRefresh = jwtService.isRefreshToken(invalidToken);
         assertThat(isRefresh).isFalse();
     }
+
+    @Test
+    @DisplayName("Verify access token exposes subject, expiry and type")
+    void testVerify_AccessToken() {
+        String token = jwtService.generateToken(userDetails);
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertThat(verified.getSubject()).isEqualTo("testuser");
+        assertThat(verified.getExpiration().after(new Date())).isTrue();
+        assertThat(verified.getType()).isNull();
+        assertThat(verified.isRefreshToken()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Verify refresh token exposes refresh type")
+    void testVerify_RefreshToken() {
+        String token = jwtService.generateRefreshToken(userDetails, "family-1", "token-1");
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertThat(verified.isRefreshToken()).isTrue();
+        assertThat(verified.getClaim("type", String.class)).isEqualTo("refresh");
+        assertThat(verified.getFamilyId()).isEqualTo("family-1");
+        assertThat(verified.getId()).isEqualTo("token-1");
+    }
+
+    @Test
+    @DisplayName("Verify rejects token signed with another key")
+    void testVerify_ForeignSignature() {
+        JwtService otherService = new JwtService(
+                "another-256-bit-secret-key-that-is-also-long-enough-for-hs256-signing", expiration,
+                refreshExpiration);
+        String token = otherService.generateToken(userDetails);
+
+        assertThrows(JwtException.class, () -> jwtService.verify(token));
+    }
+
+    @Test
+    @DisplayName("Verify rejects expired token")
+    void testVerify_ExpiredToken() throws InterruptedException {
+        JwtService shortExpirationService = new JwtService(secret, 1000L, refreshExpiration);
+        String token = shortExpirationService.generateToken(userDetails);
+
+        Thread.sleep(1100);
+
+        assertThrows(ExpiredJwtException.class, () -> shortExpirationService.verify(token));
+    }
+
+    @Test
+    @DisplayName("Token for AuthUser carries user id and credential version")
+    void testGenerateToken_EmbedsPrincipalClaims() {
+        com.example.three_kingdom_backend.user.User user = new com.example.three_kingdom_backend.user.User();
+        user.setId(42L);
+        user.setUsername("testuser");
+        user.setPassword("password");
+        user.setCredentialVersion(3);
+        AuthUser authUser = new AuthUser(user, new java.util.ArrayList<>());
+
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken(authUser));
+
+        assertThat(verified.getUserId()).isEqualTo(42L);
+        assertThat(verified.getCredentialVersion()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Token for plain UserDetails has no user id claim")
+    void testGenerateToken_NoPrincipalClaimsForPlainUserDetails() {
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken(userDetails));
+
+        assertThat(verified.getUserId()).isNull();
+        assertThat(verified.getCredentialVersion()).isNull();
+    }
+
+    @Test
+    @DisplayName("Access and refresh tokens issued together share one timestamp")
+    void testGenerateTokens_SharedIssuedAt() {
+        java.time.Instant issuedAt = java.time.Instant.now().truncatedTo(java.time.temporal.ChronoUnit.SECONDS);
+
+        VerifiedToken access = jwtService.verify(jwtService.generateToken(userDetails, issuedAt));
+        VerifiedToken refresh = jwtService.verify(
+                jwtService.generateRefreshToken(userDetails, "family-1", "token-1", issuedAt));
+
+        assertThat(access.getIssuedAt()).isEqualTo(Date.from(issuedAt));
+        assertThat(refresh.getIssuedAt()).isEqualTo(access.getIssuedAt());
+        assertThat(access.getExpiration()).isEqualTo(Date.from(issuedAt.plusMillis(expiration)));
+        assertThat(refresh.getExpiration()).isEqualTo(Date.from(issuedAt.plusMillis(refreshExpiration)));
+    }
 }
@@ -0,0 +1,104 @@
+package com.example.three_kingdom_backend.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PasswordHashingExecutor Tests")
+class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Task result is returned to the caller")
+    void testExecute_Success() {
+        assertThat(executor.execute(() -> "hashed")).isEqualTo("hashed");
+        assertThat(meterRegistry.get("auth.password_hashing.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Task exception is rethrown as is")
+    void testExecute_TaskFails() {
+        assertThatThrownBy(() -> executor.execute(() -> {
+            throw new IllegalArgumentException("bad hash");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("bad hash");
+    }
+
+    @Test
+    @DisplayName("Saturated pool rejects new work with PasswordHashingBusyException")
+    void testExecute_Saturated() throws Exception {
+        executor.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread blocker = new Thread(() -> executor.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+            return null;
+        }));
+        Thread queued = new Thread(() -> executor.execute(() -> null));
+        blocker.start();
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        queued.start();
+        while (meterRegistry.get("auth.password_hashing.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+        try {
+            assertThatThrownBy(() -> executor.execute(() -> "rejected"))
+                    .isInstanceOf(PasswordHashingBusyException.class);
+            assertThat(meterRegistry.get("auth.password_hashing.rejected").counter().count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            blocker.join();
+            queued.join();
+        }
+    }
+
+    @Test
+    @DisplayName("Caller gives up after max-wait")
+    void testExecute_TimesOut() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Thread blocker = new Thread(() -> executor.execute(() -> {
+            awaitQuietly(release);
+            return null;
+        }));
+        blocker.start();
+        try {
+            assertThatThrownBy(() -> executor.execute(() -> "late"))
+                    .isInstanceOf(PasswordHashingBusyException.class);
+            assertThat(meterRegistry.get("auth.password_hashing.rejected").counter().count()).isGreaterThanOrEqualTo(1);
+        } finally {
+            release.countDown();
+            blocker.join();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.three_kingdom_backend.config.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PublicRoutes Tests")
+class PublicRoutesTest {
+
+    private final PublicRoutes publicRoutes = new PublicRoutes();
+
+    @Test
+    @DisplayName("Exact routes match only themselves")
+    void testMatches_ExactRoutes() {
+        assertThat(publicRoutes.matches("/api/auth/login", 0)).isTrue();
+        assertThat(publicRoutes.matches("/api/auth/logout", 0)).isTrue();
+        assertThat(publicRoutes.matches("/api/hello", 0)).isTrue();
+
+        assertThat(publicRoutes.matches("/api/auth/login/extra", 0)).isFalse();
+        assertThat(publicRoutes.matches("/api/auth/log", 0)).isFalse();
+        assertThat(publicRoutes.matches("/api/auth/loginx", 0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Wildcard routes match the prefix and anything below it")
+    void testMatches_WildcardRoutes() {
+        assertThat(publicRoutes.matches("/api/auth/forgot-password", 0)).isTrue();
+        assertThat(publicRoutes.matches("/api/auth/forgot-password/request", 0)).isTrue();
+        assertThat(publicRoutes.matches("/api/auth/forgot-password/verify", 0)).isTrue();
+
+        assertThat(publicRoutes.matches("/api/auth/forgot-passwords", 0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Protected routes do not match")
+    void testMatches_ProtectedRoutes() {
+        assertThat(publicRoutes.matches("/api/rooms", 0)).isFalse();
+        assertThat(publicRoutes.matches("/api/me", 0)).isFalse();
+        assertThat(publicRoutes.matches("/", 0)).isFalse();
+        assertThat(publicRoutes.matches("", 0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Context path is skipped when matching a request")
+    void testMatches_Request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/game/api/auth/login");
+        request.setContextPath("/game");
+
+        assertThat(publicRoutes.matches(request)).isTrue();
+        assertThat(publicRoutes.matches(new MockHttpServletRequest("GET", "/api/rooms"))).isFalse();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.three_kingdom_backend.config.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SlidingWindowRateLimiter Tests")
+class SlidingWindowRateLimiterTest {
+
+    private static final long WINDOW = 60_000;
+    private static final long T0 = 1_000 * WINDOW;
+
+    @Test
+    @DisplayName("Allows up to the limit within a window, then reports time until the window rolls")
+    void testTryAcquire_LimitReached() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, WINDOW, 1000);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("1.2.3.4", T0 + 1_000)).isZero();
+        }
+
+        assertThat(limiter.tryAcquire("1.2.3.4", T0 + 1_000)).isEqualTo(WINDOW - 1_000);
+        assertThat(limiter.tryAcquire("5.6.7.8", T0 + 1_000)).isZero();
+    }
+
+    @Test
+    @DisplayName("Previous window is weighted by its remaining overlap")
+    void testTryAcquire_SlidesAcrossWindows() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, WINDOW, 1000);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("key", T0);
+        }
+
+        // A quarter into the next window, 3 of the previous 4 still count
+        assertThat(limiter.tryAcquire("key", T0 + WINDOW + WINDOW / 4)).isZero();
+        assertThat(limiter.tryAcquire("key", T0 + WINDOW + WINDOW / 4)).isPositive();
+        // Two windows later nothing counts any more
+        assertThat(limiter.tryAcquire("key", T0 + 3 * WINDOW)).isZero();
+    }
+
+    @Test
+    @DisplayName("Sweep removes keys idle for more than a window")
+    void testEvictExpired() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(5, WINDOW, 1000);
+        limiter.tryAcquire("old", T0);
+        limiter.tryAcquire("recent", T0 + WINDOW);
+
+        limiter.evictExpired(T0 + 2 * WINDOW);
+
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Number of tracked keys stays bounded")
+    void testTryAcquire_BoundedKeys() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(5, WINDOW, 160);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("user-" + i, T0);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(160);
+    }
+
+    @Test
+    @DisplayName("New keys in a full stripe are rejected until older keys expire")
+    void testTryAcquire_FullStripeFailsClosed() {
+        // Given - one key per stripe, so 17 distinct keys must overflow at least one stripe
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(5, WINDOW, 16);
+        String rejected = null;
+        for (int i = 0; i <= 16 && rejected == null; i++) {
+            if (limiter.tryAcquire("user-" + i, T0 + 1_000) != 0) {
+                rejected = "user-" + i;
+            }
+        }
+
+        // When & Then
+        assertThat(rejected).isNotNull();
+        assertThat(limiter.tryAcquire(rejected, T0 + 1_000)).isEqualTo(WINDOW - 1_000);
+        assertThat(limiter.tryAcquire("user-0", T0 + 1_000)).isZero();
+        // Once the tracked keys have expired the stripe admits new ones again
+        assertThat(limiter.tryAcquire(rejected, T0 + 2 * WINDOW)).isZero();
+    }
+
+    @Test
+    @DisplayName("Concurrent callers never exceed the limit")
+    void testTryAcquire_Concurrent() throws Exception {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(100, WINDOW, 1000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire("shared", T0) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(allowed.get()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.three_kingdom_backend.config.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService Tests")
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository repository;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    @DisplayName("Unknown token is not revoked and does not touch the database")
+    void testIsRevoked_UnknownToken() {
+        assertThat(tokenRevocationService.isRevoked("11111111-1111-1111-1111-111111111111")).isFalse();
+        assertThat(tokenRevocationService.isRevoked(null)).isFalse();
+
+        verify(repository, never()).existsByJtiAndExpiresAtAfter(anyString(), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Revoked token is persisted and reported as revoked")
+    void testRevoke_Success() {
+        String jti = "22222222-2222-2222-2222-222222222222";
+
+        tokenRevocationService.revoke(jti, Instant.now().plusSeconds(3600));
+
+        assertThat(tokenRevocationService.isRevoked(jti)).isTrue();
+        verify(repository, times(1)).save(any(RevokedToken.class));
+        verify(repository, never()).existsByJtiAndExpiresAtAfter(anyString(), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Already expired token is not stored")
+    void testRevoke_AlreadyExpired() {
+        tokenRevocationService.revoke("33333333-3333-3333-3333-333333333333", Instant.now().minusSeconds(1));
+
+        verify(repository, never()).save(any(RevokedToken.class));
+    }
+
+    @Test
+    @DisplayName("Rebuild loads revocations from the database")
+    void testRebuild_LoadsFromStore() {
+        String jti = "44444444-4444-4444-4444-444444444444";
+        when(repository.findByExpiresAtAfter(any(Instant.class)))
+                .thenReturn(List.of(new RevokedToken(jti, Instant.now().plusSeconds(3600))));
+
+        tokenRevocationService.rebuild();
+
+        assertThat(tokenRevocationService.isRevoked(jti)).isTrue();
+        verify(repository, times(1)).deleteExpired(any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Rebuild keeps local revocations not yet visible in the database read")
+    void testRebuild_KeepsLocalRevocations() {
+        String jti = "55555555-5555-5555-5555-555555555555";
+        when(repository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of());
+
+        tokenRevocationService.revoke(jti, Instant.now().plusSeconds(3600));
+        tokenRevocationService.rebuild();
+
+        assertThat(tokenRevocationService.isRevoked(jti)).isTrue();
+    }
+}
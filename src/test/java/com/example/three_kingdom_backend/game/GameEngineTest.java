@@ -0,0 +1,279 @@
+package com.example.three_kingdom_backend.game;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("GameEngine Tests")
+class GameEngineTest {
+
+    private static final int END = Move.of(ActionType.END, Move.NONE, Move.NONE);
+    private static final int PASS = Move.of(ActionType.PASS, Move.NONE, Move.NONE);
+
+    /** Moves a card of the given kind from the draw pile into the seat's hand. */
+    private static int giveCard(GameState s, int seat, CardKind kind) {
+        for (int i = 0; i < s.drawSize; i++) {
+            int card = s.drawPile[i];
+            if (Cards.kind(card) == kind) {
+                s.drawPile[i] = s.drawPile[--s.drawSize];
+                s.give(seat, card);
+                s.seenBy[card] = 1 << seat;
+                return card;
+            }
+        }
+        throw new IllegalStateException("No " + kind + " left in the draw pile");
+    }
+
+    private static int otherSeat(GameState s) {
+        return (s.currentSeat() + 1) % s.players();
+    }
+
+    private static void assertCardsConserved(GameState s) {
+        int total = s.drawPileSize() + s.discardSize;
+        for (int seat = 0; seat < s.players(); seat++) {
+            total += s.handSize(seat);
+        }
+        assertThat(total).isEqualTo(Cards.DECK_SIZE);
+    }
+
+    @Test
+    @DisplayName("SplitMix64 matches the reference sequence")
+    void testSplitMix64_ReferenceValue() {
+        SplitMix64 rng = new SplitMix64(0);
+
+        assertThat(rng.nextLong()).isEqualTo(0xE220A8397B1DCDAFL);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(rng.nextInt(7)).isBetween(0, 6);
+        }
+    }
+
+    @Test
+    @DisplayName("New game deals one lord, who is revealed and takes the first turn")
+    void testNewGame_Setup() {
+        for (int players = GameState.MIN_PLAYERS; players <= GameState.MAX_PLAYERS; players++) {
+            GameState s = GameEngine.newGame(players, players);
+
+            Map<Role, Integer> roles = new EnumMap<>(Role.class);
+            for (int seat = 0; seat < players; seat++) {
+                roles.merge(s.role(seat), 1, Integer::sum);
+                assertThat(s.health(seat)).isEqualTo(s.maxHealth(seat)).isPositive();
+                assertThat(s.isAlive(seat)).isTrue();
+                assertThat(s.isRoleRevealed(seat)).isEqualTo(s.role(seat) == Role.LORD);
+            }
+            assertThat(roles.get(Role.LORD)).isEqualTo(1);
+            assertThat(roles.get(Role.REBEL)).isPositive();
+            assertThat(s.role(s.currentSeat())).isEqualTo(Role.LORD);
+            assertThat(s.phase()).isEqualTo(Phase.PLAY);
+            assertThat(s.handSize(s.currentSeat()))
+                    .isEqualTo(GameEngine.INITIAL_HAND + GameEngine.DRAW_PER_TURN);
+            assertCardsConserved(s);
+        }
+        assertThrows(IllegalArgumentException.class, () -> GameEngine.newGame(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> GameEngine.newGame(GameState.MAX_PLAYERS + 1, 0));
+    }
+
+    @Test
+    @DisplayName("Strike waits for the target; passing costs one health")
+    void testStrike_TargetTakesDamage() {
+        // Given
+        GameState s = GameEngine.newGame(4, 42);
+        int attacker = s.currentSeat();
+        int target = otherSeat(s);
+        int strike = giveCard(s, attacker, CardKind.STRIKE);
+        int health = s.health(target);
+
+        // When
+        ActionResult result = GameEngine.apply(s, attacker, Move.of(ActionType.PLAY, strike, target));
+
+        // Then
+        assertThat(result).isEqualTo(ActionResult.OK);
+        assertThat(s.phase()).isEqualTo(Phase.RESPOND);
+        assertThat(s.actingSeat()).isEqualTo(target);
+        assertThat(GameEngine.apply(s, attacker, END)).isEqualTo(ActionResult.NOT_YOUR_TURN);
+
+        assertThat(GameEngine.apply(s, target, PASS)).isEqualTo(ActionResult.OK);
+        assertThat(s.health(target)).isEqualTo(health - 1);
+        assertThat(s.phase()).isEqualTo(Phase.PLAY);
+        assertThat(s.actionCount()).isEqualTo(2);
+        assertCardsConserved(s);
+    }
+
+    @Test
+    @DisplayName("Dodge cancels a Strike, and only one Strike is allowed per turn")
+    void testStrike_DodgeAndLimit() {
+        // Given
+        GameState s = GameEngine.newGame(4, 7);
+        int attacker = s.currentSeat();
+        int target = otherSeat(s);
+        int first = giveCard(s, attacker, CardKind.STRIKE);
+        int second = giveCard(s, attacker, CardKind.STRIKE);
+        int dodge = giveCard(s, target, CardKind.DODGE);
+        int health = s.health(target);
+
+        // When
+        GameEngine.apply(s, attacker, Move.of(ActionType.PLAY, first, target));
+        ActionResult dodged = GameEngine.apply(s, target, Move.of(ActionType.RESPOND, dodge, Move.NONE));
+
+        // Then
+        assertThat(dodged).isEqualTo(ActionResult.OK);
+        assertThat(s.health(target)).isEqualTo(health);
+        assertThat(s.holds(target, dodge)).isFalse();
+        assertThat(GameEngine.apply(s, attacker, Move.of(ActionType.PLAY, second, target)))
+                .isEqualTo(ActionResult.STRIKE_LIMIT);
+        assertThat(s.holds(attacker, second)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Invalid moves leave the state untouched")
+    void testApply_RejectsInvalidMoves() {
+        // Given
+        GameState s = GameEngine.newGame(3, 11);
+        int seat = s.currentSeat();
+        int dodge = giveCard(s, seat, CardKind.DODGE);
+        int strike = giveCard(s, seat, CardKind.STRIKE);
+        int peach = giveCard(s, seat, CardKind.PEACH);
+        int elsewhere = giveCard(s, otherSeat(s), CardKind.STRIKE);
+
+        // When & Then
+        assertThat(GameEngine.apply(s, seat, Move.of(ActionType.PLAY, dodge, Move.NONE)))
+                .isEqualTo(ActionResult.WRONG_CARD);
+        assertThat(GameEngine.apply(s, seat, Move.of(ActionType.PLAY, strike, seat)))
+                .isEqualTo(ActionResult.INVALID_TARGET);
+        assertThat(GameEngine.apply(s, seat, Move.of(ActionType.PLAY, peach, Move.NONE)))
+                .isEqualTo(ActionResult.FULL_HEALTH);
+        assertThat(GameEngine.apply(s, seat, Move.of(ActionType.PLAY, elsewhere, otherSeat(s))))
+                .isEqualTo(ActionResult.NOT_IN_HAND);
+        assertThat(GameEngine.apply(s, seat, PASS)).isEqualTo(ActionResult.WRONG_PHASE);
+        assertThat(s.actionCount()).isZero();
+        assertThat(s.phase()).isEqualTo(Phase.PLAY);
+    }
+
+    @Test
+    @DisplayName("Snatch moves a card to the thief and both players know where it went")
+    void testSnatch_RevealsCardToBoth() {
+        // Given
+        GameState s = GameEngine.newGame(4, 5);
+        int thief = s.currentSeat();
+        int victim = otherSeat(s);
+        int snatch = giveCard(s, thief, CardKind.SNATCH);
+        int victimHand = s.handSize(victim);
+        int thiefHand = s.handSize(thief);
+
+        // When
+        ActionResult result = GameEngine.apply(s, thief, Move.of(ActionType.PLAY, snatch, victim));
+
+        // Then
+        assertThat(result).isEqualTo(ActionResult.OK);
+        assertThat(s.handSize(victim)).isEqualTo(victimHand - 1);
+        assertThat(s.handSize(thief)).isEqualTo(thiefHand);
+        int[] hand = new int[Cards.DECK_SIZE];
+        int known = 0;
+        for (int i = 0, size = s.hand(thief, hand); i < size; i++) {
+            if (s.isSeenBy(hand[i], victim)) {
+                known++;
+            }
+        }
+        assertThat(known).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Ending the turn with too many cards requires discarding down to health")
+    void testEndPlay_Discard() {
+        // Given
+        GameState s = GameEngine.newGame(2, 3);
+        int seat = s.currentSeat();
+        while (s.handSize(seat) <= s.health(seat)) {
+            giveCard(s, seat, CardKind.DODGE);
+        }
+
+        // When
+        GameEngine.apply(s, seat, END);
+
+        // Then
+        assertThat(s.phase()).isEqualTo(Phase.DISCARD);
+        int[] hand = new int[Cards.DECK_SIZE];
+        while (s.currentSeat() == seat) {
+            s.hand(seat, hand);
+            assertThat(GameEngine.apply(s, seat, Move.of(ActionType.DISCARD, hand[0], Move.NONE)))
+                    .isEqualTo(ActionResult.OK);
+        }
+        assertThat(s.handSize(seat)).isEqualTo(s.health(seat));
+        assertThat(s.phase()).isEqualTo(Phase.PLAY);
+        assertCardsConserved(s);
+    }
+
+    @Test
+    @DisplayName("Killing the lord ends a two-player game in the rebel's favour")
+    void testKill_LordDiesRebelWins() {
+        // Given
+        GameState s = GameEngine.newGame(2, 9);
+        int lord = s.currentSeat();
+        int rebel = otherSeat(s);
+        GameEngine.apply(s, lord, END);
+        while (s.phase() == Phase.DISCARD) {
+            int[] hand = new int[Cards.DECK_SIZE];
+            s.hand(lord, hand);
+            GameEngine.apply(s, lord, Move.of(ActionType.DISCARD, hand[0], Move.NONE));
+        }
+        s.health[lord] = 1;
+        discardAll(s, lord, CardKind.DODGE);
+        discardAll(s, lord, CardKind.PEACH);
+        int strike = giveCard(s, rebel, CardKind.STRIKE);
+
+        // When
+        GameEngine.apply(s, rebel, Move.of(ActionType.PLAY, strike, lord));
+        GameEngine.apply(s, lord, PASS);
+        assertThat(s.phase()).isEqualTo(Phase.DYING);
+        GameEngine.apply(s, lord, PASS);
+
+        // Then
+        assertThat(s.phase()).isEqualTo(Phase.FINISHED);
+        assertThat(s.winner()).isEqualTo(Role.REBEL);
+        assertThat(s.isAlive(lord)).isFalse();
+        assertThat(s.handSize(lord)).isZero();
+        assertThat(GameEngine.apply(s, rebel, END)).isEqualTo(ActionResult.GAME_OVER);
+        assertCardsConserved(s);
+    }
+
+    private static void discardAll(GameState s, int seat, CardKind kind) {
+        int[] hand = new int[Cards.DECK_SIZE];
+        for (int i = 0, size = s.hand(seat, hand); i < size; i++) {
+            if (Cards.kind(hand[i]) == kind) {
+                s.take(seat, hand[i]);
+                s.discardPile[s.discardSize++] = hand[i];
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Random play only ever generates accepted moves and replays identically from its seed")
+    void testLegalMoves_RandomPlayIsDeterministic() {
+        for (long seed = 0; seed < 50; seed++) {
+            int players = GameState.MIN_PLAYERS + (int) (seed % (GameState.MAX_PLAYERS - 1));
+            GameState first = GameEngine.newGame(players, seed);
+            GameState second = GameEngine.newGame(players, seed);
+            SplitMix64 bot = new SplitMix64(seed);
+            int[] moves = new int[Move.MAX_LEGAL];
+
+            for (int step = 0; step < 2_000 && first.phase() != Phase.FINISHED; step++) {
+                int count = GameEngine.legalMoves(first, moves);
+                assertThat(count).isPositive();
+                int move = moves[bot.nextInt(count)];
+                int seat = first.actingSeat();
+                assertThat(GameEngine.apply(first, seat, move)).isEqualTo(ActionResult.OK);
+                assertThat(GameEngine.apply(second, seat, move)).isEqualTo(ActionResult.OK);
+            }
+
+            assertCardsConserved(first);
+            assertThat(second.phase()).isEqualTo(first.phase());
+            assertThat(second.winner()).isEqualTo(first.winner());
+            assertThat(second.hands).isEqualTo(first.hands);
+            assertThat(second.health).isEqualTo(first.health);
+        }
+    }
+}
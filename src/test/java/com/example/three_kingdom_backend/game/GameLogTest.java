@@ -0,0 +1,196 @@
+package com.example.three_kingdom_backend.game;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameLog Tests")
+class GameLogTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GameLog gameLog;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        gameLog = new GameLog(jdbcTemplate, meterRegistry, 2);
+    }
+
+    private static LiveGame game(long roomId) {
+        return new LiveGame(roomId, new long[] { 1L, 2L, 3L, 4L }, GameEngine.newGame(4, roomId), null);
+    }
+
+    /** Applies a random legal move and returns {seat, move}. */
+    private static int[] step(LiveGame game, SplitMix64 bot) {
+        int[] moves = new int[Move.MAX_LEGAL];
+        GameState state = game.getState();
+        int seat = state.actingSeat();
+        int move = moves[bot.nextInt(GameEngine.legalMoves(state, moves))];
+        assertThat(GameEngine.apply(state, seat, move)).isEqualTo(ActionResult.OK);
+        return new int[] { seat, move };
+    }
+
+    @Test
+    @DisplayName("Events are batched and only the newest snapshot per game is written")
+    void testFlush_BatchesEventsAndLatestSnapshot() {
+        // Given
+        LiveGame game = game(7L);
+        SplitMix64 bot = new SplitMix64(1);
+        gameLog.started(game);
+        for (int i = 0; i < 5; i++) {
+            int[] applied = step(game, bot);
+            gameLog.applied(game, applied[0], applied[1]);
+        }
+
+        // When
+        gameLog.flush();
+
+        // Then
+        ArgumentCaptor<List<Object[]>> events = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO game_events"), events.capture());
+        assertThat(events.getValue()).hasSize(5);
+        assertThat(events.getValue().get(4)[1]).isEqualTo(5L);
+        ArgumentCaptor<List<Object[]>> snapshots = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO game_snapshots"), snapshots.capture());
+        assertThat(snapshots.getValue()).hasSize(1);
+        assertThat(snapshots.getValue().get(0)[1]).isEqualTo(4L);
+        assertThat(meterRegistry.get("games.log.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Failed flush keeps the entries for the next one")
+    void testFlush_RetriesAfterFailure() {
+        // Given
+        LiveGame game = game(7L);
+        int[] applied = step(game, new SplitMix64(1));
+        gameLog.applied(game, applied[0], applied[1]);
+        when(jdbcTemplate.batchUpdate(contains("INSERT INTO game_events"), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[] { 1 });
+
+        // When
+        gameLog.flush();
+        assertThat(meterRegistry.get("games.log.pending").gauge().value()).isEqualTo(1.0);
+        gameLog.flush();
+
+        // Then
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("INSERT INTO game_events"), anyList());
+        assertThat(meterRegistry.get("games.log.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Recovery loads the snapshot and replays only the events after it")
+    void testLoad_SnapshotPlusTail() throws Exception {
+        // Given
+        LiveGame game = game(7L);
+        SplitMix64 bot = new SplitMix64(3);
+        for (int i = 0; i < 10; i++) {
+            step(game, bot);
+        }
+        byte[] snapshot = GameSnapshotCodec.encode(game.userIds(), game.getState());
+        List<int[]> tail = new ArrayList<>();
+        for (int i = 0; i < 3 && game.getState().phase() != Phase.FINISHED; i++) {
+            tail.add(step(game, bot));
+        }
+        when(jdbcTemplate.query(contains("FROM game_snapshots"), any(RowMapper.class), eq(7L)))
+                .thenAnswer(invocation -> {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getBytes("state")).thenReturn(snapshot);
+                    return List.of(invocation.<RowMapper<?>>getArgument(1).mapRow(rs, 0));
+                });
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int[] event : tail) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getInt("seat")).thenReturn(event[0]);
+                when(rs.getInt("move")).thenReturn(event[1]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM game_events"), any(RowCallbackHandler.class), eq(7L), eq(10L));
+
+        // When
+        GameSnapshotCodec.Snapshot recovered = gameLog.load(7L);
+
+        // Then
+        assertThat(recovered.userIds()).isEqualTo(game.userIds());
+        assertThat(recovered.state().actionCount()).isEqualTo(game.getState().actionCount());
+        assertThat(recovered.state().hands).isEqualTo(game.getState().hands);
+        assertThat(meterRegistry.timer("games.log.recovery").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A logged action that no longer applies fails recovery instead of diverging")
+    void testLoad_RejectsDivergingLog() {
+        // Given
+        LiveGame game = game(7L);
+        byte[] snapshot = GameSnapshotCodec.encode(game.userIds(), game.getState());
+        int notActing = (game.getState().actingSeat() + 1) % 4;
+        when(jdbcTemplate.query(contains("FROM game_snapshots"), any(RowMapper.class), eq(7L)))
+                .thenAnswer(invocation -> {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getBytes("state")).thenReturn(snapshot);
+                    return List.of(invocation.<RowMapper<?>>getArgument(1).mapRow(rs, 0));
+                });
+        doAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getInt("seat")).thenReturn(notActing);
+            when(rs.getInt("move")).thenReturn(Move.of(ActionType.END, Move.NONE, Move.NONE));
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM game_events"), any(RowCallbackHandler.class), eq(7L), eq(0L));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> gameLog.load(7L));
+    }
+
+    @Test
+    @DisplayName("Recovery is refused while buffered entries cannot be written")
+    void testLoad_FlushFails() {
+        // Given
+        LiveGame game = game(7L);
+        int[] applied = step(game, new SplitMix64(1));
+        gameLog.applied(game, applied[0], applied[1]);
+        when(jdbcTemplate.batchUpdate(contains("INSERT INTO game_events"), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> gameLog.load(7L));
+        verify(jdbcTemplate, never()).query(contains("FROM game_snapshots"), any(RowMapper.class), eq(7L));
+        assertThat(meterRegistry.get("games.log.pending").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Unknown games are not recovered")
+    void testLoad_Unknown() {
+        when(jdbcTemplate.query(contains("FROM game_snapshots"), any(RowMapper.class), eq(8L)))
+                .thenReturn(List.of());
+
+        assertThat(gameLog.load(8L)).isNull();
+    }
+}
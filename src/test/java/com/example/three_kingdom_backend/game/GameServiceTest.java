@@ -0,0 +1,207 @@
+package com.example.three_kingdom_backend.game;
+
+import com.example.three_kingdom_backend.room.RoomRegistry;
+import com.example.three_kingdom_backend.util.response.StandardResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameService Tests")
+class GameServiceTest {
+
+    @Mock
+    private GameLog gameLog;
+
+    @Mock
+    private RoomRegistry roomRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private GameExecutor gameExecutor;
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        gameExecutor = new GameExecutor(meterRegistry, 2, 64);
+        gameService = new GameService(gameExecutor, gameLog, roomRegistry, eventPublisher, meterRegistry);
+        gameService.start(1L, new long[] { 10L, 20L, 30L, 40L }, 42L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameExecutor.shutdown();
+    }
+
+    private static GameActionRequest request(ActionType type, Integer card, Integer target) {
+        GameActionRequest request = new GameActionRequest();
+        request.setType(type);
+        request.setCard(card);
+        request.setTarget(target);
+        return request;
+    }
+
+    @Test
+    @DisplayName("View shows the viewer's own hand and role but hides other hidden roles")
+    void testGetGame_View() {
+        // When
+        GameViewDTO view = gameService.getGame(1L, 20L).join().getData();
+
+        // Then
+        assertThat(view.getYourSeat()).isEqualTo(1);
+        assertThat(view.getPlayers()).hasSize(4);
+        assertThat(view.getHand()).hasSize(view.getPlayers().get(1).getHandSize());
+        for (PlayerViewDTO player : view.getPlayers()) {
+            boolean visible = player.getSeat() == 1 || player.getSeat() == view.getCurrentSeat();
+            assertThat(player.getRole() != null).isEqualTo(visible);
+            assertThat(player.getKnownCards()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Acting player can end the phase; others are told it is not their turn")
+    void testAct_TurnOrder() {
+        // Given
+        GameViewDTO view = gameService.getGame(1L, 10L).join().getData();
+        long current = view.getPlayers().get(view.getCurrentSeat()).getUserId();
+        long other = view.getPlayers().get((view.getCurrentSeat() + 1) % 4).getUserId();
+
+        // When
+        StandardResponse<GameViewDTO> rejected = gameService.act(1L, other, request(ActionType.END, null, null))
+                .join();
+        StandardResponse<GameViewDTO> accepted = gameService.act(1L, current, request(ActionType.END, null, null))
+                .join();
+
+        // Then
+        assertThat(rejected.getCode()).isEqualTo("400");
+        assertThat(rejected.getMessage()).isEqualTo(ActionResult.NOT_YOUR_TURN.name());
+        assertThat(accepted.getCode()).isEqualTo("200");
+        verify(gameLog, times(1)).applied(any(LiveGame.class), eq(view.getCurrentSeat()), anyInt());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Unknown games and users who are not seated are rejected")
+    void testAct_NotFound() {
+        RuntimeException missing = assertThrows(RuntimeException.class,
+                () -> gameService.getGame(2L, 10L));
+        RuntimeException stranger = assertThrows(RuntimeException.class,
+                () -> gameService.act(1L, 99L, request(ActionType.END, null, null)));
+
+        assertThat(missing.getMessage()).isEqualTo("Game not found");
+        assertThat(stranger.getMessage()).isEqualTo("User is not playing in this game");
+        verify(gameLog, never()).load(anyLong());
+        assertThrows(IllegalStateException.class, () -> gameService.start(1L, new long[] { 1L, 2L }));
+    }
+
+    @Test
+    @DisplayName("Game missing from memory is recovered from the log and keeps playing")
+    void testGetGame_RecoversFromLog() {
+        // Given
+        GameState state = GameEngine.newGame(2, 7L);
+        when(roomRegistry.isSeated(eq(5L), anyLong())).thenReturn(true);
+        when(gameLog.load(5L)).thenReturn(new GameSnapshotCodec.Snapshot(new long[] { 50L, 60L }, state));
+        long current = state.currentSeat() == 0 ? 50L : 60L;
+
+        // When
+        GameViewDTO view = gameService.getGame(5L, 60L).join().getData();
+        StandardResponse<GameViewDTO> response = gameService.act(5L, current, request(ActionType.END, null, null))
+                .join();
+
+        // Then
+        assertThat(view.getRoomId()).isEqualTo(5L);
+        assertThat(response.getCode()).isEqualTo("200");
+        verify(gameLog, times(1)).load(5L);
+    }
+
+    @Test
+    @DisplayName("Rooms that are not playing, or callers without a seat, never reach the log")
+    void testGetGame_NotSeatedSkipsLog() {
+        // Given
+        when(roomRegistry.isSeated(5L, 99L)).thenReturn(false);
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> gameService.getGame(5L, 99L));
+
+        // Then
+        assertThat(exception.getMessage()).isEqualTo("Game not found");
+        verify(gameLog, never()).load(anyLong());
+    }
+
+    @Test
+    @DisplayName("A game that just finished is not recovered while its room is being closed")
+    void testAct_FinishedNotRecovered() {
+        // Given - a mirror of the game picks the moves; the room still looks PLAYING while it closes
+        gameService.start(3L, new long[] { 70L, 80L }, 11L);
+        GameState mirror = GameEngine.newGame(2, 11L);
+        lenient().when(roomRegistry.isSeated(eq(3L), anyLong())).thenReturn(true);
+        AtomicReference<String> duringClose = new AtomicReference<>();
+        doAnswer(invocation -> {
+            try {
+                gameService.getGame(3L, 70L);
+            } catch (RuntimeException e) {
+                duringClose.set(e.getMessage());
+            }
+            return null;
+        }).when(eventPublisher).publishEvent(any(GameFinishedEvent.class));
+
+        // When
+        SplitMix64 bot = new SplitMix64(1);
+        int[] moves = new int[Move.MAX_LEGAL];
+        while (mirror.phase() != Phase.FINISHED) {
+            int seat = mirror.actingSeat();
+            int move = moves[bot.nextInt(GameEngine.legalMoves(mirror, moves))];
+            GameEngine.apply(mirror, seat, move);
+            int card = Move.card(move);
+            int target = Move.target(move);
+            StandardResponse<GameViewDTO> response = gameService.act(3L, seat == 0 ? 70L : 80L,
+                    request(Move.type(move), card == Move.NONE ? null : card, target == Move.NONE ? null : target))
+                    .join();
+            assertThat(response.getCode()).isEqualTo("200");
+        }
+
+        // Then
+        assertThat(duringClose.get()).isEqualTo("Game not found");
+        verify(gameLog, never()).load(anyLong());
+    }
+
+    @Test
+    @DisplayName("A game counts as over only once its logged state has a winner")
+    void testIsOver() {
+        // Given - a room whose game ended before a restart, one still playing and one never logged
+        GameState ended = GameEngine.newGame(2, 11L);
+        SplitMix64 bot = new SplitMix64(1);
+        int[] moves = new int[Move.MAX_LEGAL];
+        while (ended.phase() != Phase.FINISHED) {
+            GameEngine.apply(ended, ended.actingSeat(), moves[bot.nextInt(GameEngine.legalMoves(ended, moves))]);
+        }
+        when(gameLog.load(3L)).thenReturn(new GameSnapshotCodec.Snapshot(new long[] { 70L, 80L }, ended));
+        when(gameLog.load(5L)).thenReturn(
+                new GameSnapshotCodec.Snapshot(new long[] { 50L, 60L }, GameEngine.newGame(2, 7L)));
+
+        // When & Then
+        assertThat(gameService.isOver(3L)).isTrue();
+        assertThat(gameService.isOver(5L)).isFalse();
+        assertThat(gameService.isOver(6L)).isFalse();
+        assertThat(gameService.isOver(1L)).isFalse();
+        verify(gameLog, never()).load(1L);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.three_kingdom_backend.game;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("GameSnapshotCodec Tests")
+class GameSnapshotCodecTest {
+
+    private static void playRandomly(GameState state, SplitMix64 bot, int actions) {
+        int[] moves = new int[Move.MAX_LEGAL];
+        for (int i = 0; i < actions && state.phase() != Phase.FINISHED; i++) {
+            int count = GameEngine.legalMoves(state, moves);
+            GameEngine.apply(state, state.actingSeat(), moves[bot.nextInt(count)]);
+        }
+    }
+
+    @Test
+    @DisplayName("Decoded game equals the original and continues identically")
+    void testRoundTrip_ContinuesIdentically() {
+        // Given
+        long[] userIds = { 11L, 22L, 33L, 44L, 55L };
+        GameState original = GameEngine.newGame(userIds.length, 99L);
+        playRandomly(original, new SplitMix64(1), 40);
+
+        // When
+        GameSnapshotCodec.Snapshot snapshot = GameSnapshotCodec.decode(GameSnapshotCodec.encode(userIds, original));
+        GameState copy = snapshot.state();
+
+        // Then
+        assertThat(snapshot.userIds()).isEqualTo(userIds);
+        assertThat(copy.actionCount()).isEqualTo(original.actionCount());
+        assertThat(copy.phase()).isEqualTo(original.phase());
+        assertThat(copy.hands).isEqualTo(original.hands);
+        assertThat(copy.seenBy).isEqualTo(original.seenBy);
+        assertThat(copy.health).isEqualTo(original.health);
+        assertThat(copy.roles).isEqualTo(original.roles);
+
+        playRandomly(original, new SplitMix64(2), 500);
+        playRandomly(copy, new SplitMix64(2), 500);
+        assertThat(copy.phase()).isEqualTo(original.phase());
+        assertThat(copy.winner()).isEqualTo(original.winner());
+        assertThat(copy.actionCount()).isEqualTo(original.actionCount());
+        assertThat(copy.hands).isEqualTo(original.hands);
+    }
+
+    @Test
+    @DisplayName("Unknown snapshot versions are refused")
+    void testDecode_UnknownVersion() {
+        byte[] encoded = GameSnapshotCodec.encode(new long[] { 1L, 2L }, GameEngine.newGame(2, 1L));
+        encoded[0] = 99;
+
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshotCodec.decode(encoded));
+    }
+}
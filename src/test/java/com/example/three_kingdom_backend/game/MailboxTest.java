@@ -0,0 +1,139 @@
+package com.example.three_kingdom_backend.game;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Mailbox Tests")
+class MailboxTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Tasks from many threads run one at a time, in order per submitter")
+    void testSubmit_SerializesTasks() throws Exception {
+        // Given
+        Mailbox mailbox = new Mailbox(executor, Integer.MAX_VALUE);
+        AtomicInteger running = new AtomicInteger();
+        int[] counter = new int[1];
+        int[] lastSeen = new int[4];
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        ExecutorService submitters = Executors.newFixedThreadPool(4);
+
+        // When
+        List<CompletableFuture<Void>> submitted = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int submitter = t;
+            submitted.add(CompletableFuture.runAsync(() -> {
+                for (int i = 1; i <= 5_000; i++) {
+                    int sequence = i;
+                    CompletableFuture<Integer> future = mailbox.submit(() -> {
+                        assertThat(running.incrementAndGet()).isEqualTo(1);
+                        assertThat(sequence).isGreaterThan(lastSeen[submitter]);
+                        lastSeen[submitter] = sequence;
+                        int value = ++counter[0];
+                        running.decrementAndGet();
+                        return value;
+                    });
+                    synchronized (futures) {
+                        futures.add(future);
+                    }
+                }
+            }, submitters));
+        }
+        CompletableFuture.allOf(submitted.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        submitters.shutdown();
+
+        // Then
+        assertThat(counter[0]).isEqualTo(20_000);
+        assertThat(mailbox.pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("Different mailboxes run in parallel")
+    void testSubmit_MailboxesRunInParallel() throws Exception {
+        // Given
+        Mailbox first = new Mailbox(executor, 16);
+        Mailbox second = new Mailbox(executor, 16);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        // When
+        CompletableFuture<Boolean> a = first.submit(() -> await(bothStarted));
+        CompletableFuture<Boolean> b = second.submit(() -> await(bothStarted));
+
+        // Then
+        assertThat(a.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(b.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Test
+    @DisplayName("Full mailbox rejects new tasks until it drains")
+    void testSubmit_RejectsWhenFull() throws Exception {
+        // Given
+        Mailbox mailbox = new Mailbox(executor, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocked = mailbox.submit(() -> await(release));
+        CompletableFuture<Integer> queued = mailbox.submit(() -> 2);
+
+        // When & Then
+        assertThrows(RejectedExecutionException.class, () -> mailbox.submit(() -> 3));
+        release.countDown();
+        assertThat(blocked.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(mailbox.submit(() -> 4).get(5, TimeUnit.SECONDS)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("A failing task fails only its own future")
+    void testSubmit_FailureIsIsolated() throws Exception {
+        // Given
+        Mailbox mailbox = new Mailbox(executor, 16);
+
+        // When
+        CompletableFuture<Integer> failed = mailbox.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<Integer> next = mailbox.submit(() -> 1);
+
+        // Then
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertThat(error.getCause()).isInstanceOf(IllegalStateException.class);
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.three_kingdom_backend.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MailOutboxDispatcher Tests")
+class MailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private MailOutboxStore store;
+
+    private final Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        greenMail.reset();
+    }
+
+    @Test
+    @DisplayName("Batch is delivered over SMTP and the rows are removed")
+    void testDeliver_Success() throws Exception {
+        MailOutboxDispatcher dispatcher = dispatcher(ServerSetupTest.SMTP.getPort());
+
+        dispatcher.deliver(List.of(mail(1, "a@example.com", 0), mail(2, "b@example.com", 0),
+                mail(3, "c@example.com", 0)), now);
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(received[0].getSubject()).isEqualTo("Subject");
+        verify(store, times(1)).markSent(List.of(1L, 2L, 3L));
+        verify(store, never()).scheduleRetry(anyLong(), anyInt(), any(Instant.class), anyString());
+    }
+
+    @Test
+    @DisplayName("Unreachable SMTP server schedules every message for a retry with backoff")
+    void testDeliver_ServerDown() {
+        MailOutboxDispatcher dispatcher = dispatcher(ServerSetupTest.SMTP.getPort() + 1);
+
+        dispatcher.deliver(List.of(mail(1, "a@example.com", 0), mail(2, "b@example.com", 1)), now);
+
+        verify(store, times(1)).scheduleRetry(eq(1L), eq(1), eq(now.plusMillis(1_000)), anyString());
+        verify(store, times(1)).scheduleRetry(eq(2L), eq(2), eq(now.plusMillis(2_000)), anyString());
+        verify(store, times(1)).markSent(List.of());
+    }
+
+    @Test
+    @DisplayName("Message is dead-lettered once it runs out of attempts")
+    void testDeliver_DeadLetter() {
+        MailOutboxDispatcher dispatcher = dispatcher(ServerSetupTest.SMTP.getPort() + 1);
+
+        dispatcher.deliver(List.of(mail(7, "a@example.com", 2)), now);
+
+        verify(store, times(1)).markDead(eq(7L), eq(3), anyString());
+        verify(store, never()).scheduleRetry(anyLong(), anyInt(), any(Instant.class), anyString());
+    }
+
+    @Test
+    @DisplayName("Poll keeps claiming while batches come back full")
+    void testDispatchPending_DrainsFullBatches() {
+        MailOutboxDispatcher dispatcher = dispatcher(ServerSetupTest.SMTP.getPort());
+        when(store.claim(eq(2), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(mail(1, "a@example.com", 0), mail(2, "b@example.com", 0)))
+                .thenReturn(List.of(mail(3, "c@example.com", 0)));
+
+        dispatcher.dispatchPending();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+        verify(store, times(2)).claim(eq(2), any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Backoff doubles per attempt up to the maximum")
+    void testBackoff() {
+        MailOutboxDispatcher dispatcher = dispatcher(ServerSetupTest.SMTP.getPort());
+
+        assertThat(dispatcher.backoffMillis(1)).isEqualTo(1_000);
+        assertThat(dispatcher.backoffMillis(2)).isEqualTo(2_000);
+        assertThat(dispatcher.backoffMillis(5)).isEqualTo(10_000);
+        assertThat(dispatcher.backoffMillis(60)).isEqualTo(10_000);
+    }
+
+    private MailOutboxDispatcher dispatcher(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+        mailSender.getJavaMailProperties().put("mail.smtp.from", "noreply@example.com");
+        return new MailOutboxDispatcher(store, mailSender, new SimpleMeterRegistry(), 2, 3, 1_000, 10_000, 60_000);
+    }
+
+    private static PendingMail mail(long id, String recipient, int attempts) {
+        return new PendingMail(id, recipient, "Subject", "Body", attempts);
+    }
+}
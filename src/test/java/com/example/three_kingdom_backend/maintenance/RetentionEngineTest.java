@@ -0,0 +1,195 @@
+package com.example.three_kingdom_backend.maintenance;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RetentionEngine Tests")
+class RetentionEngineTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final RetentionJob job = new RetentionJob() {
+        @Override
+        public String name() {
+            return "sample";
+        }
+
+        @Override
+        public String table() {
+            return "sample_table";
+        }
+
+        @Override
+        public String predicate() {
+            return "expires_at < ?";
+        }
+
+        @Override
+        public Object[] predicateArgs(Instant now) {
+            return new Object[] { "cutoff" };
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Batches advance the key cursor until a short batch ends the run")
+    void testRun_WalksKeysetBatches() {
+        RetentionEngine engine = new RetentionEngine(jdbcTemplate, meterRegistry, 100, 0, 60_000);
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(new long[] { 100, 250 }, new long[] { 100, 420 }, new long[] { 7, 431 });
+
+        RetentionRun run = engine.run(job);
+
+        assertThat(run.rowsDeleted()).isEqualTo(207);
+        assertThat(run.batches()).isEqualTo(3);
+        assertThat(run.completed()).isTrue();
+        verify(jdbcTemplate).queryForObject(anyString(), any(RowMapper.class), eq(-1L), eq("cutoff"), eq(100));
+        verify(jdbcTemplate).queryForObject(anyString(), any(RowMapper.class), eq(250L), eq("cutoff"), eq(100));
+        verify(jdbcTemplate).queryForObject(anyString(), any(RowMapper.class), eq(420L), eq("cutoff"), eq(100));
+        assertThat(meterRegistry.get("maintenance.retention.rows").tag("job", "sample").counter().count())
+                .isEqualTo(207);
+        assertThat(meterRegistry.get("maintenance.retention.duration").tag("job", "sample").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Batch statement is bounded by key, predicate and limit")
+    void testRun_BuildsBatchSql() {
+        RetentionEngine engine = new RetentionEngine(jdbcTemplate, meterRegistry, 100, 0, 60_000);
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(new long[] { 0, -1 });
+
+        engine.run(job);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).queryForObject(sql.capture(), any(RowMapper.class), any(Object[].class));
+        assertThat(sql.getValue())
+                .contains("FROM sample_table")
+                .contains("WHERE id > ? AND (expires_at < ?)")
+                .contains("LIMIT ?")
+                .contains("FOR UPDATE SKIP LOCKED");
+    }
+
+    @Test
+    @DisplayName("Archiving job moves each batch into its archive table")
+    void testRun_ArchivesBatch() {
+        RetentionJob archiving = new RetentionJob() {
+            @Override
+            public String name() {
+                return "sample_archive";
+            }
+
+            @Override
+            public String table() {
+                return "sample_table";
+            }
+
+            @Override
+            public String predicate() {
+                return "done = TRUE";
+            }
+
+            @Override
+            public Object[] predicateArgs(Instant now) {
+                return new Object[0];
+            }
+
+            @Override
+            public String archiveTable() {
+                return "sample_table_archive";
+            }
+
+            @Override
+            public List<String> archiveColumns() {
+                return List.of("id", "done", "created_at");
+            }
+        };
+        RetentionEngine engine = new RetentionEngine(jdbcTemplate, meterRegistry, 100, 0, 60_000);
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(new long[] { 3, 12 });
+
+        RetentionRun run = engine.run(archiving);
+
+        assertThat(run.rowsDeleted()).isEqualTo(3);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).queryForObject(sql.capture(), any(RowMapper.class), eq(-1L), eq(100));
+        assertThat(sql.getValue())
+                .contains("RETURNING t.id, t.done, t.created_at")
+                .contains("INSERT INTO sample_table_archive (id, done, created_at)")
+                .contains("SELECT id, done, created_at FROM deleted");
+    }
+
+    @Test
+    @DisplayName("Archiving job without its key column among the archive columns is refused")
+    void testRun_ArchiveColumnsMissingKey() {
+        RetentionJob archiving = new RetentionJob() {
+            @Override
+            public String name() {
+                return "sample_archive";
+            }
+
+            @Override
+            public String table() {
+                return "sample_table";
+            }
+
+            @Override
+            public String predicate() {
+                return "done = TRUE";
+            }
+
+            @Override
+            public Object[] predicateArgs(Instant now) {
+                return new Object[0];
+            }
+
+            @Override
+            public String archiveTable() {
+                return "sample_table_archive";
+            }
+        };
+        RetentionEngine engine = new RetentionEngine(jdbcTemplate, meterRegistry, 100, 0, 60_000);
+
+        assertThrows(IllegalStateException.class, () -> engine.run(archiving));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Run stops when its time budget is spent")
+    void testRun_StopsAtTimeBudget() {
+        RetentionEngine engine = new RetentionEngine(jdbcTemplate, meterRegistry, 100, 0, 0);
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(new long[] { 100, 250 });
+
+        RetentionRun run = engine.run(job);
+
+        assertThat(run.batches()).isEqualTo(1);
+        assertThat(run.completed()).isFalse();
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.three_kingdom_backend.room;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("LobbyBroadcaster Tests")
+class LobbyBroadcasterTest {
+
+    private final ObjectMapper objectMapper = spy(new ObjectMapper());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ManualExecutor executor = new ManualExecutor();
+    private LobbyBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        if (broadcaster != null) {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Each change is serialized once and sent to every subscriber")
+    void testBroadcast_SerializedOnce() throws Exception {
+        broadcaster = broadcaster(executor, 16, 10_000);
+        RecordingEmitter first = subscribe();
+        RecordingEmitter second = subscribe();
+
+        broadcaster.onRoomChanged(event(RoomChangedEvent.Type.MEMBERS_CHANGED, 1L, 3L));
+        executor.runAll();
+
+        assertThat(first.events).containsExactly("members-changed");
+        assertThat(second.events).containsExactly("members-changed");
+        assertThat(first.payloads.get(0)).contains("\"memberCount\":3").doesNotContain("\"room\"");
+        verify(objectMapper, times(1)).writeValueAsString(any());
+    }
+
+    @Test
+    @DisplayName("Updates queued behind a creation are folded into it")
+    void testBroadcast_CoalescesIntoCreated() {
+        broadcaster = broadcaster(executor, 16, 10_000);
+        RecordingEmitter emitter = subscribe();
+
+        broadcaster.onRoomChanged(event(RoomChangedEvent.Type.CREATED, 1L, 1L));
+        broadcaster.onRoomChanged(event(RoomChangedEvent.Type.MEMBERS_CHANGED, 1L, 2L));
+        broadcaster.onRoomChanged(event(RoomChangedEvent.Type.CREATED, 2L, 1L));
+        broadcaster.onRoomChanged(event(RoomChangedEvent.Type.CLOSED, 2L, 0L));
+        executor.runAll();
+
+        assertThat(emitter.events).containsExactly("room-created");
+        assertThat(emitter.payloads.get(0)).contains("\"memberCount\":2");
+        assertThat(meterRegistry.get("rooms.lobby_stream.coalesced").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("An overflowing queue is replaced by a single resync event")
+    void testBroadcast_ResyncOnOverflow() {
+        broadcaster = broadcaster(executor, 2, 10_000);
+        RecordingEmitter emitter = subscribe();
+
+        for (long roomId = 1; roomId <= 5; roomId++) {
+            broadcaster.onRoomChanged(event(RoomChangedEvent.Type.MEMBERS_CHANGED, roomId, 1L));
+        }
+        executor.runAll();
+
+        assertThat(emitter.events).containsExactly(LobbyBroadcaster.RESYNC_EVENT);
+    }
+
+    @Test
+    @DisplayName("A subscriber whose connection fails is dropped")
+    void testBroadcast_DropsBrokenSubscriber() {
+        broadcaster = broadcaster(executor, 16, 10_000);
+        RecordingEmitter healthy = subscribe();
+        RecordingEmitter broken = new RecordingEmitter();
+        broken.failure = new IOException("Broken pipe");
+        broadcaster.subscribe(broken);
+
+        broadcaster.onRoomChanged(event(RoomChangedEvent.Type.MEMBERS_CHANGED, 1L, 2L));
+        executor.runAll();
+
+        assertThat(healthy.events).hasSize(1);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("rooms.lobby_stream.dropped").tag("reason", "error").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("A subscriber stuck on a write is dropped without blocking the others")
+    void testBroadcast_DropsSlowSubscriber() throws Exception {
+        ThreadPoolExecutor threads = pool(2);
+        broadcaster = broadcaster(threads, 16, 0);
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.block = new CountDownLatch(1);
+        broadcaster.subscribe(slow);
+        RecordingEmitter fast = subscribe();
+
+        broadcaster.onRoomChanged(event(RoomChangedEvent.Type.MEMBERS_CHANGED, 1L, 2L));
+        assertThat(slow.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fast.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(20);
+        broadcaster.sweep();
+        slow.block.countDown();
+
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("rooms.lobby_stream.dropped").tag("reason", "slow").counter().count())
+                .isEqualTo(1.0);
+        threads.shutdown();
+        assertThat(threads.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fast.events).contains("members-changed");
+    }
+
+    @Test
+    @DisplayName("A sender thread blocked on a slow subscriber is replaced, so others keep receiving")
+    void testBroadcast_BlockedWriteDoesNotStallOthers() throws Exception {
+        // Given - a single sender thread, stuck writing to the slow subscriber
+        ThreadPoolExecutor threads = pool(1);
+        broadcaster = broadcaster(threads, 16, 0);
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.block = new CountDownLatch(1);
+        broadcaster.subscribe(slow);
+        broadcaster.onRoomChanged(event(RoomChangedEvent.Type.MEMBERS_CHANGED, 1L, 2L));
+        assertThat(slow.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        RecordingEmitter fast = subscribe();
+        broadcaster.onRoomChanged(event(RoomChangedEvent.Type.MEMBERS_CHANGED, 2L, 3L));
+        assertThat(fast.entered.await(100, TimeUnit.MILLISECONDS)).isFalse();
+
+        // When
+        Thread.sleep(20);
+        broadcaster.sweep();
+
+        // Then
+        assertThat(fast.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fast.events).contains("members-changed");
+        assertThat(meterRegistry.get("rooms.lobby_stream.stalled_writers").gauge().value()).isEqualTo(1.0);
+        slow.block.countDown();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (threads.getCorePoolSize() != 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(threads.getCorePoolSize()).isEqualTo(1);
+        assertThat(meterRegistry.get("rooms.lobby_stream.stalled_writers").gauge().value()).isZero();
+        threads.shutdown();
+        assertThat(threads.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static ThreadPoolExecutor pool(int threads) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    }
+
+    private LobbyBroadcaster broadcaster(ThreadPoolExecutor senders, int maxPending, long slowConsumerTimeout) {
+        return new LobbyBroadcaster(objectMapper, meterRegistry, senders, 60_000, 100, maxPending,
+                slowConsumerTimeout, 8);
+    }
+
+    private RecordingEmitter subscribe() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(emitter);
+        return emitter;
+    }
+
+    private static RoomChangedEvent event(RoomChangedEvent.Type type, long roomId, long memberCount) {
+        return new RoomChangedEvent(type, new LobbyRoomDTO(roomId, 1L, "owner", "Room " + roomId,
+                STATUS.OPENING, false, Room.DEFAULT_CAPACITY, (int) memberCount, new Date(roomId * 1000L)));
+    }
+
+    /** Captures event names and payloads instead of writing to a response. */
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final List<String> payloads = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        volatile CountDownLatch block;
+        volatile IOException failure;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            if (failure != null) {
+                throw failure;
+            }
+            if (block != null) {
+                try {
+                    block.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String raw = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining());
+            if (raw.startsWith(":")) {
+                return;
+            }
+            events.add(raw.substring("event:".length(), raw.indexOf('\n')));
+            payloads.add(raw);
+        }
+    }
+
+    /** Runs submitted tasks only when asked, so tests control when queues are drained. */
+    private static final class ManualExecutor extends ThreadPoolExecutor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        ManualExecutor() {
+            super(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+    }
+}
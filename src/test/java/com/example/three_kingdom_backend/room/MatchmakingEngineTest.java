@@ -0,0 +1,164 @@
+package com.example.three_kingdom_backend.room;
+
+import com.example.three_kingdom_backend.game.GameService;
+import com.example.three_kingdom_backend.user.User;
+import com.example.three_kingdom_backend.user.UserRepository;
+import com.example.three_kingdom_backend.util.response.StandardResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MatchmakingEngine Tests")
+class MatchmakingEngineTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private GameService gameService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong roomIds = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private RoomRegistry roomRegistry;
+    private MatchmakingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        roomRegistry = new RoomRegistry(jdbcTemplate, meterRegistry);
+        RoomService roomService = new RoomService(roomRepository, userRepository, roomRegistry, gameService,
+                eventPublisher);
+        engine = new MatchmakingEngine(roomService, roomRegistry, meterRegistry, 10_000, 100);
+
+        // Room changes reach the engine the way the application context would deliver them
+        doAnswer(invocation -> {
+            engine.onRoomChanged(invocation.getArgument(0));
+            return null;
+        }).when(eventPublisher).publishEvent(any(Object.class));
+        when(userRepository.findById(anyLong())).thenAnswer(invocation -> Optional.of(user(invocation.getArgument(0))));
+        when(roomRepository.save(any(Room.class))).thenAnswer(invocation -> {
+            Room room = invocation.getArgument(0);
+            room.setId(roomIds.incrementAndGet());
+            return room;
+        });
+    }
+
+    @Test
+    @DisplayName("Waiting users fill one new room before another is created")
+    void testQuickJoin_FillsCreatedRoomFirst() {
+        DeferredResult<StandardResponse<RoomDTO>>[] results = new DeferredResult[5];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = engine.quickJoin(10L + i, 4);
+        }
+
+        engine.drain();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(roomOf(results[i])).isEqualTo(1L);
+        }
+        assertThat(roomOf(results[4])).isEqualTo(2L);
+        assertThat(roomRegistry.find(1L).memberCount()).isEqualTo(4);
+        verify(roomRepository, times(2)).save(any(Room.class));
+        assertThat(meterRegistry.get("rooms.matchmaking.time_to_match").timer().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("rooms.matchmaking.waiting").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Ticket joins the fullest compatible open room")
+    void testQuickJoin_JoinsFullestRoom() {
+        LiveRoom emptier = register(4, null);
+        LiveRoom fuller = register(4, null);
+        roomRegistry.join(fuller, 50L, null);
+        roomRegistry.join(fuller, 51L, null);
+        LiveRoom otherSize = register(8, null);
+        roomRegistry.join(otherSize, 52L, null);
+        roomRegistry.join(otherSize, 53L, null);
+        roomRegistry.join(otherSize, 54L, null);
+        engine.seed();
+        engine.drain();
+
+        DeferredResult<StandardResponse<RoomDTO>> result = engine.quickJoin(99L, 4);
+        engine.drain();
+
+        assertThat(roomOf(result)).isEqualTo(fuller.getId());
+        assertThat(emptier.hasMember(99L)).isFalse();
+        verify(roomRepository, times(3)).save(any(Room.class));
+    }
+
+    @Test
+    @DisplayName("Password protected rooms are never matched")
+    void testQuickJoin_SkipsPasswordRooms() {
+        LiveRoom locked = register(4, "secret");
+        engine.seed();
+        engine.drain();
+
+        DeferredResult<StandardResponse<RoomDTO>> result = engine.quickJoin(99L, 4);
+        engine.drain();
+
+        assertThat(roomOf(result)).isNotEqualTo(locked.getId());
+        assertThat(locked.hasMember(99L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("A user cannot wait twice and must ask for a valid player count")
+    void testQuickJoin_RejectsInvalidRequests() {
+        engine.quickJoin(7L, null);
+
+        assertThrows(IllegalStateException.class, () -> engine.quickJoin(7L, null));
+        assertThrows(IllegalArgumentException.class, () -> engine.quickJoin(8L, 1));
+        assertThrows(IllegalArgumentException.class, () -> engine.quickJoin(8L, Room.MAX_CAPACITY + 1));
+    }
+
+    private LiveRoom register(int capacity, String password) {
+        Room room = new Room();
+        room.setCapacity(capacity);
+        room.setPassword(password);
+        room.setStatus(STATUS.OPENING);
+        roomRepository.save(room);
+        room.setOwner(user(1000L + room.getId()));
+        return roomRegistry.register(room, "owner");
+    }
+
+    private static Long roomOf(DeferredResult<StandardResponse<RoomDTO>> result) {
+        @SuppressWarnings("unchecked")
+        StandardResponse<RoomDTO> response = (StandardResponse<RoomDTO>) result.getResult();
+        assertThat(response.getCode()).isEqualTo("200");
+        return response.getData().getId();
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        return user;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.three_kingdom_backend.room;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MemberCountReconciler Tests")
+class MemberCountReconcilerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MemberCountReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        reconciler = new MemberCountReconciler(jdbcTemplate, transactionManager, meterRegistry, 2);
+    }
+
+    @Test
+    @DisplayName("Walks rooms in id batches and repairs only the locked range")
+    void testReconcile_WalksBatches() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(-1L), eq(2)))
+                .thenReturn(List.of(1L, 4L));
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(4L), eq(2)))
+                .thenReturn(List.of(7L));
+        when(jdbcTemplate.update(contains("UPDATE rooms"), eq(1L), eq(4L))).thenReturn(1);
+        when(jdbcTemplate.update(contains("UPDATE rooms"), eq(7L), eq(7L))).thenReturn(0);
+
+        reconciler.reconcile();
+
+        verify(transactionManager, times(2)).commit(any());
+        assertThat(meterRegistry.get("rooms.member_count.repaired").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Empty table finishes without repairs")
+    void testReconcile_NoRooms() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(-1L), eq(2))).thenReturn(List.of());
+
+        reconciler.reconcile();
+
+        verify(jdbcTemplate, never()).update(anyString(), any(), any());
+        assertThat(meterRegistry.get("rooms.member_count.repaired").counter().count()).isZero();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.three_kingdom_backend.room;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OpenRoomIndex Tests")
+class OpenRoomIndexTest {
+
+    private final OpenRoomIndex index = new OpenRoomIndex();
+
+    @Test
+    @DisplayName("Fullest room with a free seat wins, oldest first on ties")
+    void testFullest_PrefersFullestThenOldest() {
+        index.update(room(1L, 4, 1, false));
+        index.update(room(2L, 4, 3, false));
+        index.update(room(3L, 4, 3, false));
+        index.update(room(4L, 8, 7, false));
+
+        assertThat(index.fullest(4)).isEqualTo(2L);
+        assertThat(index.fullest(8)).isEqualTo(4L);
+        assertThat(index.fullest(2)).isEqualTo(-1L);
+    }
+
+    @Test
+    @DisplayName("Full, password protected and non-opening rooms are not matchable")
+    void testUpdate_SkipsUnmatchableRooms() {
+        index.update(room(1L, 4, 4, false));
+        index.update(room(2L, 4, 1, true));
+        LobbyRoomDTO playing = room(3L, 4, 1, false);
+        playing.setStatus(STATUS.PLAYING);
+        index.update(playing);
+
+        assertThat(index.fullest(4)).isEqualTo(-1L);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("A room moves between buckets as its member count changes")
+    void testUpdate_MovesRoom() {
+        index.update(room(1L, 4, 1, false));
+        index.update(room(2L, 4, 2, false));
+        index.update(room(1L, 4, 3, false));
+
+        assertThat(index.fullest(4)).isEqualTo(1L);
+
+        index.update(room(1L, 4, 4, false));
+        assertThat(index.fullest(4)).isEqualTo(2L);
+
+        index.remove(2L);
+        assertThat(index.fullest(4)).isEqualTo(-1L);
+    }
+
+    private static LobbyRoomDTO room(long id, int capacity, int members, boolean password) {
+        return new LobbyRoomDTO(id, 1L, "owner", null, STATUS.OPENING, password, capacity, members, new Date());
+    }
+}
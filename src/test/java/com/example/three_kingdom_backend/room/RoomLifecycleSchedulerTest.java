@@ -0,0 +1,175 @@
+package com.example.three_kingdom_backend.room;
+
+import com.example.three_kingdom_backend.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoomLifecycleScheduler Tests")
+class RoomLifecycleSchedulerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RoomRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new RoomRegistry(jdbcTemplate, meterRegistry);
+    }
+
+    private LiveRoom register(long id, STATUS status) {
+        User owner = new User();
+        owner.setId(1L);
+        owner.setUsername("owner");
+        Room entity = new Room();
+        entity.setId(id);
+        entity.setOwner(owner);
+        entity.setStatus(status);
+        entity.createdAt = new Date(1000L * id);
+        return registry.register(entity, "owner");
+    }
+
+    private RoomLifecycleScheduler scheduler(long emptyTimeout, long idleTimeout) {
+        return new RoomLifecycleScheduler(registry, jdbcTemplate, eventPublisher, meterRegistry, emptyTimeout,
+                idleTimeout);
+    }
+
+    private double reaped(String reason) {
+        return meterRegistry.counter("rooms.lifecycle.reaped", "reason", reason).count();
+    }
+
+    @Test
+    @DisplayName("Empty OPENING room past the timeout is closed, marked DONE and announced")
+    void testSweep_ClosesEmptyRoom() {
+        // Given
+        LiveRoom room = register(10L, STATUS.OPENING);
+        registry.leave(room, 1L);
+
+        // When
+        scheduler(0, Long.MAX_VALUE).sweep();
+
+        // Then
+        assertThat(registry.find(10L)).isNull();
+        assertThat(registry.byStatus(STATUS.OPENING)).isEmpty();
+        assertThat(registry.join(room, 2L, null)).isEqualTo(RoomRegistry.JoinResult.CLOSED);
+        assertThat(reaped("empty")).isEqualTo(1.0);
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("status = 'DONE'"), batch.capture());
+        assertThat(batch.getValue()).hasSize(1);
+        assertThat(batch.getValue().get(0)[1]).isEqualTo(10L);
+        ArgumentCaptor<RoomChangedEvent> event = ArgumentCaptor.forClass(RoomChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().type()).isEqualTo(RoomChangedEvent.Type.CLOSED);
+        assertThat(event.getValue().room().getId()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Pending membership changes are flushed before the room is closed")
+    void testSweep_FlushesBeforeClosing() {
+        // Given
+        LiveRoom room = register(10L, STATUS.OPENING);
+        registry.leave(room, 1L);
+
+        // When
+        scheduler(0, Long.MAX_VALUE).sweep();
+
+        // Then
+        var order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).batchUpdate(contains("DELETE FROM room_members"), anyList());
+        order.verify(jdbcTemplate).batchUpdate(contains("status = 'DONE'"), anyList());
+    }
+
+    @Test
+    @DisplayName("Occupied room is closed only once it has been idle past the idle timeout")
+    void testSweep_IdleRoom() {
+        // Given
+        register(10L, STATUS.OPENING);
+
+        // When
+        scheduler(0, Long.MAX_VALUE).sweep();
+
+        // Then
+        assertThat(registry.find(10L)).isNotNull();
+        verify(jdbcTemplate, never()).batchUpdate(contains("status = 'DONE'"), anyList());
+
+        // When
+        scheduler(Long.MAX_VALUE, 0).sweep();
+
+        // Then
+        assertThat(registry.find(10L)).isNull();
+        assertThat(reaped("idle")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Active rooms and PLAYING rooms are left alone")
+    void testSweep_LeavesActiveRooms() {
+        // Given
+        LiveRoom playing = register(10L, STATUS.PLAYING);
+        registry.leave(playing, 1L);
+        register(11L, STATUS.OPENING);
+
+        // When
+        scheduler(60_000, 60_000).sweep();
+
+        // Then
+        assertThat(registry.find(10L)).isNotNull();
+        assertThat(registry.find(11L)).isNotNull();
+        verify(eventPublisher, never()).publishEvent(any());
+        assertThat(meterRegistry.timer("rooms.lifecycle.sweep").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Failed update keeps the room closed in the registry and retries on the next sweep")
+    void testSweep_RetriesAfterFailure() {
+        // Given
+        LiveRoom room = register(10L, STATUS.OPENING);
+        registry.leave(room, 1L);
+        lenient().when(jdbcTemplate.batchUpdate(contains("status = 'DONE'"), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[] { 1 });
+        RoomLifecycleScheduler scheduler = scheduler(0, Long.MAX_VALUE);
+
+        // When
+        scheduler.sweep();
+
+        // Then
+        assertThat(registry.find(10L)).isSameAs(room);
+        assertThat(room.isClosed()).isTrue();
+        verify(eventPublisher, never()).publishEvent(any());
+
+        // When
+        registry.join(room, 2L, null);
+        scheduler.sweep();
+
+        // Then
+        assertThat(registry.find(10L)).isNull();
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("status = 'DONE'"), anyList());
+        verify(eventPublisher).publishEvent(any(RoomChangedEvent.class));
+        verify(jdbcTemplate, never()).batchUpdate(contains("INSERT INTO room_members"), anyList());
+    }
+}
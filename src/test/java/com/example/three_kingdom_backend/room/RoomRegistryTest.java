@@ -0,0 +1,214 @@
+package com.example.three_kingdom_backend.room;
+
+import com.example.three_kingdom_backend.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoomRegistry Tests")
+class RoomRegistryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RoomRegistry registry;
+    private LiveRoom room;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new RoomRegistry(jdbcTemplate, meterRegistry);
+
+        User owner = new User();
+        owner.setId(1L);
+        owner.setUsername("owner");
+        Room entity = new Room();
+        entity.setId(10L);
+        entity.setOwner(owner);
+        entity.setStatus(STATUS.OPENING);
+        entity.createdAt = new Date(1000L);
+        room = registry.register(entity, "owner");
+        registry.flush();
+        clearInvocations(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Members stay sorted and unique")
+    void testMembers_AddRemove() {
+        assertThat(room.addMember(5L)).isTrue();
+        assertThat(room.addMember(3L)).isTrue();
+        assertThat(room.addMember(5L)).isFalse();
+        assertThat(room.removeMember(1L)).isTrue();
+        assertThat(room.removeMember(1L)).isFalse();
+
+        assertThat(room.memberCount()).isEqualTo(2);
+        assertThat(room.hasMember(3L)).isTrue();
+        assertThat(room.hasMember(5L)).isTrue();
+        assertThat(room.hasMember(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Hundreds of simultaneous joiners never over-fill a room")
+    void testJoin_ConcurrentJoinersRespectCapacity() throws Exception {
+        int joiners = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RoomRegistry.JoinResult>> results = new ArrayList<>();
+        for (int i = 0; i < joiners; i++) {
+            long userId = 100L + i;
+            results.add(pool.submit(() -> {
+                start.await();
+                return registry.join(room, userId, null);
+            }));
+        }
+        start.countDown();
+
+        Map<RoomRegistry.JoinResult, Long> outcomes = new EnumMap<>(RoomRegistry.JoinResult.class);
+        for (Future<RoomRegistry.JoinResult> result : results) {
+            outcomes.merge(result.get(10, TimeUnit.SECONDS), 1L, Long::sum);
+        }
+        pool.shutdown();
+
+        // The owner already holds one seat
+        assertThat(room.memberCount()).isEqualTo(Room.DEFAULT_CAPACITY);
+        assertThat(outcomes.get(RoomRegistry.JoinResult.JOINED)).isEqualTo(Room.DEFAULT_CAPACITY - 1L);
+        assertThat(outcomes.get(RoomRegistry.JoinResult.FULL)).isEqualTo(joiners - (Room.DEFAULT_CAPACITY - 1L));
+
+        registry.flush();
+        ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO room_members"), inserts.capture());
+        assertThat(inserts.getValue()).hasSize(Room.DEFAULT_CAPACITY - 1);
+    }
+
+    @Test
+    @DisplayName("Join then leave before a flush only writes the final state")
+    void testFlush_CoalescesChanges() {
+        registry.join(room, 2L, null);
+        registry.leave(room, 2L);
+        registry.join(room, 3L, null);
+
+        registry.flush();
+
+        ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Object[]>> deletes = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO room_members"), inserts.capture());
+        verify(jdbcTemplate).batchUpdate(contains("DELETE FROM room_members"), deletes.capture());
+        assertThat(inserts.getValue()).singleElement().satisfies(row -> assertThat(row[1]).isEqualTo(3L));
+        assertThat(deletes.getValue()).singleElement().satisfies(row -> assertThat(row[1]).isEqualTo(2L));
+        verify(jdbcTemplate).batchUpdate(contains("member_count = member_count + 1"), anyList());
+        verify(jdbcTemplate).batchUpdate(contains("member_count = member_count - 1"), anyList());
+
+        registry.flush();
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Failed flush keeps the changes for the next attempt")
+    void testFlush_RetriesAfterFailure() {
+        registry.join(room, 2L, null);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[] { 1 });
+
+        registry.flush();
+        registry.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("INSERT INTO room_members"), anyList());
+        assertThat(meterRegistry.get("rooms.registry.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Flush waits for a batch already in flight instead of returning early")
+    void testFlush_WaitsForInFlightBatch() throws Exception {
+        // Given
+        registry.join(room, 2L, null);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new int[] { 1 };
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<?> scheduled = pool.submit(registry::flush);
+        assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        Future<?> caller = pool.submit(registry::flush);
+
+        // Then
+        Thread.sleep(100);
+        assertThat(caller.isDone()).isFalse();
+        release.countDown();
+        scheduled.get(10, TimeUnit.SECONDS);
+        caller.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO room_members"), anyList());
+    }
+
+    @Test
+    @DisplayName("Rows the database rejects are dropped without blocking the batch")
+    void testFlush_DropsRejectedRows() {
+        registry.join(room, 2L, null);
+        registry.join(room, 3L, null);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("fk_room_members_user"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataIntegrityViolationException("fk_room_members_user"))
+                .thenReturn(1);
+
+        registry.flush();
+
+        verify(jdbcTemplate, times(2)).update(contains("INSERT INTO room_members"), any(Object[].class));
+        assertThat(meterRegistry.get("rooms.registry.dropped").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("rooms.registry.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Lobby page continues strictly after the cursor")
+    void testPage_AfterCursor() {
+        User owner = new User();
+        owner.setId(1L);
+        for (long id = 11; id <= 13; id++) {
+            Room entity = new Room();
+            entity.setId(id);
+            entity.setOwner(owner);
+            entity.setStatus(STATUS.OPENING);
+            entity.createdAt = new Date(id * 1000L);
+            registry.register(entity, "owner");
+        }
+
+        List<LiveRoom> page = registry.page(STATUS.OPENING, new LobbyCursor(new Date(12_000L), 12L), 10);
+
+        assertThat(page).extracting(LiveRoom::getId).containsExactly(11L, 10L);
+        assertThat(registry.page(STATUS.PLAYING, null, 10)).isEmpty();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.three_kingdom_backend.room;
 
+import com.example.three_kingdom_backend.game.GameFinishedEvent;
+import com.example.three_kingdom_backend.game.GameService;
+import com.example.three_kingdom_backend.game.Role;
 import com.example.three_kingdom_backend.user.User;
 import com.example.three_kingdom_backend.user.UserRepository;
 import com.example.three_kingdom_backend.util.response.StandardResponse;
@@ -7,18 +10,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,9 +42,15 @@ class RoomServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private RoomMemberRepository roomMemberRepository;
+    private JdbcTemplate jdbcTemplate;
 
-    @InjectMocks
+    @Mock
+    private GameService gameService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RoomRegistry roomRegistry;
     private RoomService roomService;
 
     private User owner;
@@ -44,6 +60,9 @@ class RoomServiceTest {
 
     @BeforeEach
     void setUp() {
+        roomRegistry = new RoomRegistry(jdbcTemplate, new SimpleMeterRegistry());
+        roomService = new RoomService(roomRepository, userRepository, roomRegistry, gameService, eventPublisher);
+
         owner = new User();
         owner.setId(1L);
         owner.setUsername("owner");
@@ -78,7 +97,6 @@ class RoomServiceTest {
             savedRoom.setId(1L);
             return savedRoom;
         });
-        when(roomMemberRepository.save(any(RoomMember.class))).thenReturn(new RoomMember());
 
         // When
         StandardResponse<RoomDTO> response = roomService.createRoom(createRoomRequest, 1L);
@@ -94,7 +112,8 @@ class RoomServiceTest {
 
         verify(userRepository, times(1)).findById(1L);
         verify(roomRepository, times(1)).save(any(Room.class));
-        verify(roomMemberRepository, times(1)).save(any(RoomMember.class));
+        assertThat(roomRegistry.find(1L)).isNotNull();
+        verify(eventPublisher).publishEvent(any(RoomChangedEvent.class));
 
         // Verify room was created with correct properties
         ArgumentCaptor<Room> roomCaptor = ArgumentCaptor.forClass(Room.class);
@@ -104,6 +123,26 @@ class RoomServiceTest {
         assertThat(savedRoom.getDescription()).isEqualTo("Test room");
         assertThat(savedRoom.getStatus()).isEqualTo(STATUS.OPENING);
         assertThat(savedRoom.getOwner()).isEqualTo(owner);
+        assertThat(savedRoom.getCapacity()).isEqualTo(Room.DEFAULT_CAPACITY);
+    }
+
+    @Test
+    @DisplayName("Create room with a custom capacity")
+    void testCreateRoom_WithCapacity() {
+        // Given
+        createRoomRequest.setCapacity(4);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(roomRepository.save(any(Room.class))).thenAnswer(invocation -> {
+            Room savedRoom = invocation.getArgument(0);
+            savedRoom.setId(1L);
+            return savedRoom;
+        });
+
+        // When
+        StandardResponse<RoomDTO> response = roomService.createRoom(createRoomRequest, 1L);
+
+        // Then
+        assertThat(response.getData().getCapacity()).isEqualTo(4);
     }
 
     @Test
@@ -120,7 +159,7 @@ class RoomServiceTest {
         assertThat(exception.getMessage()).isEqualTo("User not found");
         verify(userRepository, times(1)).findById(1L);
         verify(roomRepository, never()).save(any(Room.class));
-        verify(roomMemberRepository, never()).save(any(RoomMember.class));
+        assertThat(roomRegistry.find(1L)).isNull();
     }
 
     @Test
@@ -135,7 +174,6 @@ class RoomServiceTest {
             savedRoom.setId(1L);
             return savedRoom;
         });
-        when(roomMemberRepository.save(any(RoomMember.class))).thenReturn(new RoomMember());
 
         // When
         StandardResponse<RoomDTO> response = roomService.createRoom(createRoomRequest, 1L);
@@ -152,6 +190,22 @@ class RoomServiceTest {
         assertThat(savedRoom.getDescription()).isNull();
     }
 
+    @Test
+    @DisplayName("Get live room by id is served from the registry")
+    void testGetRoomById_FromRegistry() {
+        // Given
+        roomRegistry.register(room, "owner");
+
+        // When
+        StandardResponse<RoomDTO> response = roomService.getRoomById(1L);
+
+        // Then
+        assertThat(response.getCode()).isEqualTo("200");
+        assertThat(response.getData().getOwnerUsername()).isEqualTo("owner");
+        assertThat(response.getData().getDescription()).isEqualTo("Test room");
+        verifyNoInteractions(roomRepository);
+    }
+
     @Test
     @DisplayName("Get room by id successfully")
     void testGetRoomById_Success() {
@@ -193,19 +247,19 @@ class RoomServiceTest {
         // Given
         Room room1 = new Room();
         room1.setId(1L);
-        room1.setStatus(STATUS.OPENING);
+        room1.setStatus(STATUS.DONE);
         room1.setOwner(owner);
 
         Room room2 = new Room();
         room2.setId(2L);
-        room2.setStatus(STATUS.OPENING);
+        room2.setStatus(STATUS.DONE);
         room2.setOwner(owner);
 
         List<Room> rooms = Arrays.asList(room1, room2);
-        when(roomRepository.findByStatus(STATUS.OPENING)).thenReturn(rooms);
+        when(roomRepository.findByStatus(STATUS.DONE)).thenReturn(rooms);
 
         // When
-        StandardResponse<List<RoomDTO>> response = roomService.getRoomsByStatus(STATUS.OPENING);
+        StandardResponse<List<RoomDTO>> response = roomService.getRoomsByStatus(STATUS.DONE);
 
         // Then
         assertThat(response).isNotNull();
@@ -213,17 +267,119 @@ class RoomServiceTest {
         assertThat(response.getData()).isNotNull();
         assertThat(response.getData()).hasSize(2);
 
-        verify(roomRepository, times(1)).findByStatus(STATUS.OPENING);
+        verify(roomRepository, times(1)).findByStatus(STATUS.DONE);
+    }
+
+    @Test
+    @DisplayName("Get live rooms by status is served from the registry")
+    void testGetRoomsByStatus_FromRegistry() {
+        // Given
+        roomRegistry.register(room, "owner");
+
+        // When
+        StandardResponse<List<RoomDTO>> response = roomService.getRoomsByStatus(STATUS.OPENING);
+
+        // Then
+        assertThat(response.getData()).extracting(RoomDTO::getId).containsExactly(1L);
+        verifyNoInteractions(roomRepository);
+    }
+
+    @Test
+    @DisplayName("Lobby of live rooms is paged from the registry, newest first")
+    void testGetLobby_FromRegistry() {
+        // Given
+        for (long id = 1; id <= 3; id++) {
+            roomRegistry.register(openRoom(id, id * 1000L), "owner");
+        }
+
+        // When
+        StandardResponse<LobbyPageDTO> first = roomService.getLobby(STATUS.OPENING, null, 2);
+        StandardResponse<LobbyPageDTO> second = roomService.getLobby(STATUS.OPENING,
+                first.getData().getNextCursor(), 2);
+
+        // Then
+        assertThat(first.getData().getRooms()).extracting(LobbyRoomDTO::getId).containsExactly(3L, 2L);
+        assertThat(first.getData().getRooms()).extracting(LobbyRoomDTO::getMemberCount).containsOnly(1L);
+        assertThat(second.getData().getRooms()).extracting(LobbyRoomDTO::getId).containsExactly(1L);
+        assertThat(second.getData().getNextCursor()).isNull();
+        verifyNoInteractions(roomRepository);
+    }
+
+    @Test
+    @DisplayName("Lobby first page returns a cursor when more rooms exist")
+    void testGetLobby_FirstPageHasNextCursor() {
+        // Given
+        List<LobbyRoomDTO> rows = List.of(lobbyRoom(3L, 3000L), lobbyRoom(2L, 2000L), lobbyRoom(1L, 1000L));
+        when(roomRepository.findLobby(STATUS.DONE, Limit.of(3))).thenReturn(rows);
+
+        // When
+        StandardResponse<LobbyPageDTO> response = roomService.getLobby(STATUS.DONE, null, 2);
+
+        // Then
+        assertThat(response.getCode()).isEqualTo("200");
+        assertThat(response.getData().getRooms()).extracting(LobbyRoomDTO::getId).containsExactly(3L, 2L);
+        assertThat(response.getData().getNextCursor()).isEqualTo(LobbyCursor.after(rows.get(1)).encode());
+        verify(roomRepository, never()).findByStatus(any());
+    }
+
+    @Test
+    @DisplayName("Lobby next page continues after the cursor and ends without one")
+    void testGetLobby_NextPageFromCursor() {
+        // Given
+        String cursor = new LobbyCursor(new Date(2000L), 2L).encode();
+        when(roomRepository.findLobbyAfter(eq(STATUS.DONE), eq(new Date(2000L)), eq(2L), eq(Limit.of(3))))
+                .thenReturn(List.of(lobbyRoom(1L, 1000L)));
+
+        // When
+        StandardResponse<LobbyPageDTO> response = roomService.getLobby(STATUS.DONE, cursor, 2);
+
+        // Then
+        assertThat(response.getData().getRooms()).extracting(LobbyRoomDTO::getId).containsExactly(1L);
+        assertThat(response.getData().getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Lobby page size is clamped")
+    void testGetLobby_ClampsPageSize() {
+        when(roomRepository.findLobby(eq(STATUS.DONE), any(Limit.class))).thenReturn(List.of());
+
+        roomService.getLobby(STATUS.DONE, null, 10_000);
+        roomService.getLobby(STATUS.DONE, null, null);
+
+        verify(roomRepository).findLobby(STATUS.DONE, Limit.of(RoomService.MAX_LOBBY_PAGE_SIZE + 1));
+        verify(roomRepository).findLobby(STATUS.DONE, Limit.of(RoomService.DEFAULT_LOBBY_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Lobby rejects a malformed cursor")
+    void testGetLobby_InvalidCursor() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> roomService.getLobby(STATUS.OPENING, "not-a-cursor", 20));
+
+        assertThat(exception.getMessage()).isEqualTo("Invalid cursor");
+        verifyNoInteractions(roomRepository);
+    }
+
+    private Room openRoom(Long id, long createdAtMillis) {
+        Room opening = new Room();
+        opening.setId(id);
+        opening.setOwner(owner);
+        opening.setStatus(STATUS.OPENING);
+        opening.setDescription("Room " + id);
+        opening.createdAt = new Date(createdAtMillis);
+        return opening;
+    }
+
+    private LobbyRoomDTO lobbyRoom(Long id, long createdAtMillis) {
+        return new LobbyRoomDTO(id, owner.getId(), owner.getUsername(), "Room " + id, STATUS.OPENING,
+                false, Room.DEFAULT_CAPACITY, 1, new Date(createdAtMillis));
     }
 
     @Test
     @DisplayName("Join room successfully with correct password")
     void testJoinRoom_Success_WithPassword() {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(member));
-        when(roomMemberRepository.findByRoomIdAndUserId(1L, 2L)).thenReturn(Optional.empty());
-        when(roomMemberRepository.save(any(RoomMember.class))).thenReturn(new RoomMember());
+        roomRegistry.register(room, "owner");
 
         // When
         StandardResponse<RoomDTO> response = roomService.joinRoom(1L, "roompassword", 2L);
@@ -233,11 +389,13 @@ class RoomServiceTest {
         assertThat(response.getCode()).isEqualTo("200");
         assertThat(response.getMessage()).isEqualTo("Joined room successfully");
         assertThat(response.getData()).isNotNull();
+        assertThat(roomRegistry.find(1L).hasMember(2L)).isTrue();
 
-        verify(roomRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findById(2L);
-        verify(roomMemberRepository, times(1)).findByRoomIdAndUserId(1L, 2L);
-        verify(roomMemberRepository, times(1)).save(any(RoomMember.class));
+        verifyNoInteractions(roomRepository, userRepository);
+        ArgumentCaptor<RoomChangedEvent> eventCaptor = ArgumentCaptor.forClass(RoomChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().type()).isEqualTo(RoomChangedEvent.Type.MEMBERS_CHANGED);
+        assertThat(eventCaptor.getValue().room().getMemberCount()).isEqualTo(2L);
     }
 
     @Test
@@ -245,10 +403,7 @@ class RoomServiceTest {
     void testJoinRoom_Success_NoPassword() {
         // Given
         room.setPassword(null);
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(member));
-        when(roomMemberRepository.findByRoomIdAndUserId(1L, 2L)).thenReturn(Optional.empty());
-        when(roomMemberRepository.save(any(RoomMember.class))).thenReturn(new RoomMember());
+        roomRegistry.register(room, "owner");
 
         // When
         StandardResponse<RoomDTO> response = roomService.joinRoom(1L, null, 2L);
@@ -257,52 +412,26 @@ class RoomServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getCode()).isEqualTo("200");
         assertThat(response.getMessage()).isEqualTo("Joined room successfully");
-
-        verify(roomMemberRepository, times(1)).save(any(RoomMember.class));
+        assertThat(roomRegistry.find(1L).memberCount()).isEqualTo(2);
     }
 
     @Test
     @DisplayName("Join room fails when room not found")
     void testJoinRoom_RoomNotFound() {
-        // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.empty());
-
         // When & Then
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
                 () -> roomService.joinRoom(1L, "password", 2L));
 
         assertThat(exception.getMessage()).isEqualTo("Room not found");
-        verify(roomRepository, times(1)).findById(1L);
-        verify(roomMemberRepository, never()).save(any(RoomMember.class));
-    }
-
-    @Test
-    @DisplayName("Join room fails when user not found")
-    void testJoinRoom_UserNotFound() {
-        // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
-        when(userRepository.findById(2L)).thenReturn(Optional.empty());
-
-        // When & Then
-        RuntimeException exception = assertThrows(
-                RuntimeException.class,
-                () -> roomService.joinRoom(1L, "password", 2L));
-
-        assertThat(exception.getMessage()).isEqualTo("User not found");
-        verify(roomRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findById(2L);
-        verify(roomMemberRepository, never()).save(any(RoomMember.class));
     }
 
     @Test
     @DisplayName("Join room fails when user is already a member")
     void testJoinRoom_AlreadyMember() {
         // Given
-        RoomMember existingMember = new RoomMember();
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(member));
-        when(roomMemberRepository.findByRoomIdAndUserId(1L, 2L)).thenReturn(Optional.of(existingMember));
+        roomRegistry.register(room, "owner");
+        roomService.joinRoom(1L, "roompassword", 2L);
 
         // When
         StandardResponse<RoomDTO> response = roomService.joinRoom(1L, "roompassword", 2L);
@@ -312,18 +441,31 @@ class RoomServiceTest {
         assertThat(response.getCode()).isEqualTo("400");
         assertThat(response.getMessage()).isEqualTo("User is already a member of this room");
         assertThat(response.getData()).isNotNull();
+        assertThat(roomRegistry.find(1L).memberCount()).isEqualTo(2);
+    }
 
-        verify(roomMemberRepository, times(1)).findByRoomIdAndUserId(1L, 2L);
-        verify(roomMemberRepository, never()).save(any(RoomMember.class));
+    @Test
+    @DisplayName("Join room fails when every seat is taken")
+    void testJoinRoom_Full() {
+        // Given
+        room.setCapacity(2);
+        roomRegistry.register(room, "owner");
+        roomService.joinRoom(1L, "roompassword", 2L);
+
+        // When
+        StandardResponse<RoomDTO> response = roomService.joinRoom(1L, "roompassword", 3L);
+
+        // Then
+        assertThat(response.getCode()).isEqualTo("409");
+        assertThat(response.getMessage()).isEqualTo("Room is full");
+        assertThat(roomRegistry.find(1L).memberCount()).isEqualTo(2);
     }
 
     @Test
     @DisplayName("Join room fails with invalid password")
     void testJoinRoom_InvalidPassword() {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(member));
-        when(roomMemberRepository.findByRoomIdAndUserId(1L, 2L)).thenReturn(Optional.empty());
+        roomRegistry.register(room, "owner");
 
         // When
         StandardResponse<RoomDTO> response = roomService.joinRoom(1L, "wrongpassword", 2L);
@@ -333,18 +475,15 @@ class RoomServiceTest {
         assertThat(response.getCode()).isEqualTo("401");
         assertThat(response.getMessage()).isEqualTo("Invalid password");
         assertThat(response.getData()).isNull();
-
-        verify(roomMemberRepository, times(1)).findByRoomIdAndUserId(1L, 2L);
-        verify(roomMemberRepository, never()).save(any(RoomMember.class));
+        assertThat(roomRegistry.find(1L).hasMember(2L)).isFalse();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
     @DisplayName("Join room with empty password when room has password")
     void testJoinRoom_EmptyPassword_WhenRoomHasPassword() {
         // Given
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(member));
-        when(roomMemberRepository.findByRoomIdAndUserId(1L, 2L)).thenReturn(Optional.empty());
+        roomRegistry.register(room, "owner");
 
         // When
         StandardResponse<RoomDTO> response = roomService.joinRoom(1L, "", 2L);
@@ -353,19 +492,15 @@ class RoomServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getCode()).isEqualTo("401");
         assertThat(response.getMessage()).isEqualTo("Invalid password");
-
-        verify(roomMemberRepository, never()).save(any(RoomMember.class));
+        assertThat(roomRegistry.find(1L).hasMember(2L)).isFalse();
     }
 
     @Test
     @DisplayName("Leave room successfully")
     void testLeaveRoom_Success() {
         // Given
-        RoomMember roomMember = new RoomMember();
-        roomMember.setRoom(room);
-        roomMember.setUser(member);
-        when(roomMemberRepository.findByRoomIdAndUserId(1L, 2L)).thenReturn(Optional.of(roomMember));
-        doNothing().when(roomMemberRepository).delete(any(RoomMember.class));
+        roomRegistry.register(room, "owner");
+        roomService.joinRoom(1L, "roompassword", 2L);
 
         // When
         StandardResponse<RoomDTO> response = roomService.leaveRoom(1L, 2L);
@@ -375,16 +510,16 @@ class RoomServiceTest {
         assertThat(response.getCode()).isEqualTo("200");
         assertThat(response.getMessage()).isEqualTo("Left room successfully");
         assertThat(response.getData()).isNull(); // createMessage returns null data
+        assertThat(roomRegistry.find(1L).hasMember(2L)).isFalse();
 
-        verify(roomMemberRepository, times(1)).findByRoomIdAndUserId(1L, 2L);
-        verify(roomMemberRepository, times(1)).delete(roomMember);
+        verifyNoInteractions(jdbcTemplate);
     }
 
     @Test
     @DisplayName("Leave room fails when user is not a member")
     void testLeaveRoom_NotMember() {
         // Given
-        when(roomMemberRepository.findByRoomIdAndUserId(1L, 2L)).thenReturn(Optional.empty());
+        roomRegistry.register(room, "owner");
 
         // When & Then
         RuntimeException exception = assertThrows(
@@ -392,8 +527,51 @@ class RoomServiceTest {
                 () -> roomService.leaveRoom(1L, 2L));
 
         assertThat(exception.getMessage()).isEqualTo("User is not a member of this room");
-        verify(roomMemberRepository, times(1)).findByRoomIdAndUserId(1L, 2L);
-        verify(roomMemberRepository, never()).delete(any(RoomMember.class));
+    }
+
+    @Test
+    @DisplayName("Leave room is refused once the game started")
+    void testLeaveRoom_Playing() {
+        // Given
+        when(roomRepository.updateStatus(1L, STATUS.OPENING, STATUS.PLAYING)).thenReturn(1);
+        LiveRoom live = roomRegistry.register(room, "owner");
+        live.addMember(2L);
+        roomService.startGame(1L, 1L);
+
+        // When
+        StandardResponse<RoomDTO> response = roomService.leaveRoom(1L, 2L);
+
+        // Then
+        assertThat(response.getCode()).isEqualTo("409");
+        assertThat(response.getMessage()).isEqualTo("Game already started");
+        assertThat(live.hasMember(2L)).isTrue();
+        assertThat(live.memberCount()).isEqualTo(2);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Leave finished room falls back to the database")
+    void testLeaveRoom_FinishedRoom() {
+        // Given
+        when(jdbcTemplate.update(contains("DELETE FROM room_members"), eq(1L), eq(2L))).thenReturn(1);
+
+        // When
+        StandardResponse<RoomDTO> response = roomService.leaveRoom(1L, 2L);
+
+        // Then
+        assertThat(response.getCode()).isEqualTo("200");
+        verify(jdbcTemplate).update(contains("member_count = member_count - 1"), eq(1L), eq(2L));
+    }
+
+    @Test
+    @DisplayName("Leave finished room fails when user is not a member")
+    void testLeaveRoom_FinishedRoomNotMember() {
+        // Given
+        when(jdbcTemplate.update(contains("DELETE FROM room_members"), eq(1L), eq(2L))).thenReturn(0);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> roomService.leaveRoom(1L, 2L));
+        assertThat(exception.getMessage()).isEqualTo("User is not a member of this room");
     }
 
     @Test
@@ -406,15 +584,155 @@ class RoomServiceTest {
             savedRoom.setId(1L);
             return savedRoom;
         });
-        when(roomMemberRepository.save(any(RoomMember.class))).thenReturn(new RoomMember());
 
         // When
         roomService.createRoom(createRoomRequest, 1L);
+        roomRegistry.flush();
+
+        // Then
+        assertThat(roomRegistry.find(1L).hasMember(1L)).isTrue();
+        ArgumentCaptor<List<Object[]>> rowsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO room_members"), rowsCaptor.capture());
+        assertThat(rowsCaptor.getValue()).hasSize(1);
+        assertThat(rowsCaptor.getValue().get(0)[1]).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Owner starts the game: room moves to PLAYING and its members are seated")
+    void testStartGame_Success() {
+        // Given
+        when(roomRepository.updateStatus(1L, STATUS.OPENING, STATUS.PLAYING)).thenReturn(1);
+        LiveRoom live = roomRegistry.register(room, "owner");
+        live.addMember(2L);
+
+        // When
+        StandardResponse<RoomDTO> response = roomService.startGame(1L, 1L);
+
+        // Then
+        assertThat(response.getCode()).isEqualTo("200");
+        assertThat(response.getData().getStatus()).isEqualTo(STATUS.PLAYING);
+        assertThat(roomRegistry.byStatus(STATUS.OPENING)).isEmpty();
+        assertThat(roomRegistry.byStatus(STATUS.PLAYING)).containsExactly(live);
+        verify(roomRepository).updateStatus(1L, STATUS.OPENING, STATUS.PLAYING);
+        verify(gameService).start(eq(1L), eq(new long[] { 1L, 2L }));
+        assertThat(roomService.joinRoom(1L, "roompassword", 3L).getCode()).isEqualTo("409");
+    }
+
+    @Test
+    @DisplayName("Only the owner of a room with enough players can start it, once")
+    void testStartGame_Refused() {
+        // Given
+        LiveRoom live = roomRegistry.register(room, "owner");
+        when(roomRepository.updateStatus(1L, STATUS.OPENING, STATUS.PLAYING)).thenReturn(1);
+
+        // When & Then
+        assertThat(roomService.startGame(1L, 1L).getCode()).isEqualTo("409");
+        live.addMember(2L);
+        assertThat(roomService.startGame(1L, 2L).getCode()).isEqualTo("403");
+        assertThat(roomService.startGame(1L, 1L).getCode()).isEqualTo("200");
+        assertThat(roomService.startGame(1L, 1L).getCode()).isEqualTo("409");
+        verify(gameService, times(1)).start(anyLong(), any(long[].class));
+    }
+
+    @Test
+    @DisplayName("Room stays OPENING in memory when the database refuses to start it")
+    void testStartGame_DatabaseRefuses() {
+        // Given
+        LiveRoom live = roomRegistry.register(room, "owner");
+        live.addMember(2L);
+        when(roomRepository.updateStatus(1L, STATUS.OPENING, STATUS.PLAYING)).thenReturn(0);
+
+        // When
+        StandardResponse<RoomDTO> response = roomService.startGame(1L, 1L);
+
+        // Then
+        assertThat(response.getCode()).isEqualTo("409");
+        assertThat(live.getStatus()).isEqualTo(STATUS.OPENING);
+        assertThat(roomRegistry.byStatus(STATUS.OPENING)).containsExactly(live);
+        verifyNoInteractions(gameService, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Start is rolled back in the database when the room was closed meanwhile")
+    void testStartGame_ClosedMeanwhile() {
+        // Given
+        LiveRoom live = roomRegistry.register(room, "owner");
+        live.addMember(2L);
+        when(roomRepository.updateStatus(1L, STATUS.OPENING, STATUS.PLAYING)).thenAnswer(invocation -> {
+            live.close();
+            return 1;
+        });
+
+        // When
+        StandardResponse<RoomDTO> response = roomService.startGame(1L, 1L);
+
+        // Then
+        assertThat(response.getCode()).isEqualTo("409");
+        verify(roomRepository).updateStatus(1L, STATUS.PLAYING, STATUS.OPENING);
+        verifyNoInteractions(gameService, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Finished game marks the room DONE and drops it from the registry")
+    void testOnGameFinished_ClosesRoom() {
+        // Given
+        when(roomRepository.updateStatus(1L, STATUS.OPENING, STATUS.PLAYING)).thenReturn(1);
+        LiveRoom live = roomRegistry.register(room, "owner");
+        live.addMember(2L);
+        roomService.startGame(1L, 1L);
+
+        // When
+        roomService.onGameFinished(new GameFinishedEvent(1L, Role.LORD));
+        assertThat(roomRegistry.find(1L)).isNotNull();
+        roomService.finishRooms();
+
+        // Then
+        assertThat(roomRegistry.find(1L)).isNull();
+        verify(roomRepository).updateStatus(1L, STATUS.PLAYING, STATUS.DONE);
+        ArgumentCaptor<RoomChangedEvent> events = ArgumentCaptor.forClass(RoomChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getValue().type()).isEqualTo(RoomChangedEvent.Type.CLOSED);
+    }
+
+    @Test
+    @DisplayName("A room whose DONE update fails stays PLAYING and is retried")
+    void testFinishRooms_RetriesAfterFailure() {
+        // Given
+        LiveRoom live = roomRegistry.register(room, "owner");
+        live.addMember(2L);
+        when(roomRepository.updateStatus(1L, STATUS.OPENING, STATUS.PLAYING)).thenReturn(1);
+        roomService.startGame(1L, 1L);
+        roomService.onGameFinished(new GameFinishedEvent(1L, Role.LORD));
+        when(roomRepository.updateStatus(1L, STATUS.PLAYING, STATUS.DONE))
+                .thenThrow(new RuntimeException("connection reset"))
+                .thenReturn(1);
+
+        // When
+        roomService.finishRooms();
+
+        // Then
+        assertThat(roomRegistry.find(1L)).isSameAs(live);
+        roomService.finishRooms();
+        assertThat(roomRegistry.find(1L)).isNull();
+        roomService.finishRooms();
+        verify(roomRepository, times(2)).updateStatus(1L, STATUS.PLAYING, STATUS.DONE);
+    }
+
+    @Test
+    @DisplayName("PLAYING rooms whose game ended before a restart are closed on startup")
+    void testResumeFinishing() {
+        // Given
+        room.setStatus(STATUS.PLAYING);
+        roomRegistry.register(room, "owner");
+        when(gameService.isOver(1L)).thenReturn(true);
+        when(roomRepository.updateStatus(1L, STATUS.PLAYING, STATUS.DONE)).thenReturn(1);
+
+        // When
+        roomService.resumeFinishing();
+        roomService.finishRooms();
 
         // Then
-        ArgumentCaptor<RoomMember> memberCaptor = ArgumentCaptor.forClass(RoomMember.class);
-        verify(roomMemberRepository).save(memberCaptor.capture());
-        RoomMember savedMember = memberCaptor.getValue();
-        assertThat(savedMember.getUser()).isEqualTo(owner);
+        assertThat(roomRegistry.find(1L)).isNull();
+        verify(roomRepository).updateStatus(1L, STATUS.PLAYING, STATUS.DONE);
     }
 }
@@ -27,6 +27,9 @@ class UserServiceTest {
     @Mock
     private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
 
+    @Mock
+    private org.springframework.context.ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -61,6 +64,7 @@ class UserServiceTest {
         verify(userRepository, times(1)).findByUsername("testuser");
         verify(userRepository, times(1)).findByEmail("test@example.com");
         verify(userRepository, times(1)).save(user);
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
@@ -83,6 +87,7 @@ class UserServiceTest {
         verify(userRepository, times(1)).findByUsername("testuser");
         verify(userRepository, never()).findByEmail(anyString());
         verify(userRepository, never()).save(any(User.class));
+        verify(eventPublisher, never()).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test